@@ -2,6 +2,7 @@ plugins {
     id("java-library")
     id("com.gradleup.shadow") version "8.3.5"
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.xenderz"
@@ -33,6 +34,9 @@ dependencies {
     testImplementation("org.mockito:mockito-core:5.14.2")
     testImplementation("org.mockito:mockito-junit-jupiter:5.14.2")
     testImplementation("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
+
+    // JMH benchmarks (./gradlew jmh)
+    jmh("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
 }
 
 java {
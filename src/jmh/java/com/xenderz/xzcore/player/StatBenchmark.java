@@ -0,0 +1,82 @@
+package com.xenderz.xzcore.player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares counting a custom stat through the metadata map with the typed stat registry.
+ * 
+ * <p>Run with {@code ./gradlew jmh}; add {@code -prof gc} to the JMH arguments to
+ * see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatBenchmark {
+    
+    private PlayerData data;
+    private LongStatKey kills;
+    
+    @Setup
+    public void setup() {
+        StatRegistry registry = new StatRegistry();
+        // Realistic registry size so the key is not on the first page
+        for (int i = 0; i < 100; i++) {
+            registry.registerLong("filler_" + i);
+        }
+        kills = registry.registerLong("kills");
+        
+        data = new PlayerData(UUID.randomUUID(), "Bench");
+        data.setMetadata("kills", 0L);
+        data.setStat(kills, 0L);
+    }
+    
+    @Benchmark
+    public long metadataIncrement() {
+        long value = data.getMetadata("kills", 0L) + 1;
+        data.setMetadata("kills", value);
+        return value;
+    }
+    
+    @Benchmark
+    public long statIncrement() {
+        return data.addStat(kills, 1);
+    }
+    
+    @Benchmark
+    public long metadataRead() {
+        return data.getMetadata("kills", 0L);
+    }
+    
+    @Benchmark
+    public long statRead() {
+        return data.getStat(kills);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public long metadataIncrementContended() {
+        return metadataIncrement();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public long statIncrementContended() {
+        return statIncrement();
+    }
+}
@@ -2,12 +2,17 @@ package com.xenderz.xzcore.api;
 
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.leaderboard.LeaderboardService;
 
 import com.xenderz.xzcore.player.PlayerData;
 import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.player.StatRegistry;
+import com.xenderz.xzcore.scheduler.MainThreadExecutor;
+import com.xenderz.xzcore.scheduler.TickWorkScheduler;
 import org.bukkit.entity.Player;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Public API for XzCore services.
@@ -25,7 +30,7 @@ import java.util.UUID;
  * data.addExperience(ExperienceSource.PVP_KILL, 100);
  * 
  * // Listen to events
- * core.getEventBus().subscribe(this, PlayerLevelUpEvent.class, event -> {
+ * core.getEventBus().subscribe(this, PlayerLevelChangeEvent.class, event -> {
  *     player.sendMessage("Level up! " + event.getNewLevel());
  * });
  * 
@@ -57,10 +62,33 @@ public interface XzCoreAPI {
      */
     PlayerDataManager getPlayerDataManager();
     
+    /**
+     * Get the shared experience, level and play time leaderboards.
+     * 
+     * @return LeaderboardService instance
+     */
+    LeaderboardService getLeaderboards();
+    
+    /**
+     * Get the executor that runs tasks on the server thread, drained once per tick.
+     * 
+     * @return MainThreadExecutor instance
+     */
+    MainThreadExecutor getMainThreadExecutor();
+    
+    /**
+     * Get the scheduler that spreads bulk main-thread work over several ticks.
+     * 
+     * @return TickWorkScheduler instance
+     */
+    TickWorkScheduler getTickWorkScheduler();
+    
     /**
      * Get player data for a specific player.
      * 
-     * <p>This will load data from database if not cached.
+     * <p>This will load data from database if not cached, blocking the
+     * calling thread. Use {@link #getPlayerDataAsync(UUID)} for players who
+     * may be offline.
      * 
      * @param uuid player UUID
      * @return PlayerData instance
@@ -69,6 +97,27 @@ public interface XzCoreAPI {
         return getPlayerDataManager().getPlayerData(uuid);
     }
     
+    /**
+     * Get player data without blocking.
+     * 
+     * <p>Concurrent requests for the same uncached player share one database load.
+     * 
+     * @param uuid player UUID
+     * @return future with the PlayerData, or null if the player has never joined
+     */
+    default CompletableFuture<PlayerData> getPlayerDataAsync(UUID uuid) {
+        return getPlayerDataManager().getPlayerDataAsync(uuid);
+    }
+    
+    /**
+     * Get the registry of typed player stats.
+     * 
+     * @return StatRegistry instance
+     */
+    default StatRegistry getStatRegistry() {
+        return getPlayerDataManager().getStatRegistry();
+    }
+    
     /**
      * Get player data for a specific player.
      * 
@@ -2,7 +2,10 @@ package com.xenderz.xzcore.api;
 
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.leaderboard.LeaderboardService;
 import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.scheduler.MainThreadExecutor;
+import com.xenderz.xzcore.scheduler.TickWorkScheduler;
 import com.xenderz.xzcore.service.EmbeddedServiceContainer;
 import com.xenderz.xzcore.service.ServiceContainer;
 
@@ -45,6 +48,21 @@ public class XzCoreAPIImpl implements XzCoreAPI {
         return services.getPlayerDataManager();
     }
     
+    @Override
+    public LeaderboardService getLeaderboards() {
+        return services.getLeaderboardService();
+    }
+    
+    @Override
+    public MainThreadExecutor getMainThreadExecutor() {
+        return services.getMainThreadExecutor();
+    }
+    
+    @Override
+    public TickWorkScheduler getTickWorkScheduler() {
+        return services.getTickWorkScheduler();
+    }
+    
     @Override
     public boolean isReady() {
         return services.getDatabaseManager().isInitialized() &&
@@ -64,6 +82,9 @@ public class XzCoreAPIImpl implements XzCoreAPI {
         DatabaseManager getDatabaseManager();
         EventBus getEventBus();
         PlayerDataManager getPlayerDataManager();
+        LeaderboardService getLeaderboardService();
+        TickWorkScheduler getTickWorkScheduler();
+        MainThreadExecutor getMainThreadExecutor();
     }
     
     private record ServiceContainerAdapter(ServiceContainer container) implements ServiceProvider {
@@ -81,6 +102,21 @@ public class XzCoreAPIImpl implements XzCoreAPI {
         public PlayerDataManager getPlayerDataManager() {
             return container.getPlayerDataManager();
         }
+        
+        @Override
+        public LeaderboardService getLeaderboardService() {
+            return container.getLeaderboardService();
+        }
+        
+        @Override
+        public TickWorkScheduler getTickWorkScheduler() {
+            return container.getTickWorkScheduler();
+        }
+        
+        @Override
+        public MainThreadExecutor getMainThreadExecutor() {
+            return container.getMainThreadExecutor();
+        }
     }
     
     private record EmbeddedServiceContainerAdapter(EmbeddedServiceContainer container) implements ServiceProvider {
@@ -98,5 +134,20 @@ public class XzCoreAPIImpl implements XzCoreAPI {
         public PlayerDataManager getPlayerDataManager() {
             return container.getPlayerDataManager();
         }
+        
+        @Override
+        public LeaderboardService getLeaderboardService() {
+            return container.getLeaderboardService();
+        }
+        
+        @Override
+        public TickWorkScheduler getTickWorkScheduler() {
+            return container.getTickWorkScheduler();
+        }
+        
+        @Override
+        public MainThreadExecutor getMainThreadExecutor() {
+            return container.getMainThreadExecutor();
+        }
     }
 }
@@ -1,6 +1,9 @@
 package com.xenderz.xzcore.commands;
 
 import com.xenderz.xzcore.XzCore;
+import com.xenderz.xzcore.database.QueryMetrics;
+import com.xenderz.xzcore.events.HandlerTiming;
+import com.xenderz.xzcore.scheduler.TickJob;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -62,6 +65,32 @@ public class XzCoreCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(Component.text(""));
         sender.sendMessage(Component.text("Version: ", NamedTextColor.GRAY).append(Component.text(plugin.getDescription().getVersion(), NamedTextColor.WHITE)));
         sender.sendMessage(Component.text("Services: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getActiveServices(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("DB pool: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getDatabaseManager().getPoolStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("DB executor: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getDatabaseManager().getExecutorStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("DB queries: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getDatabaseManager().getQueryMetrics().getStats(), NamedTextColor.WHITE)));
+        for (QueryMetrics.StatementStats stats : plugin.getServiceContainer().getDatabaseManager().getQueryMetrics().getSlowestStatements(3)) {
+            sender.sendMessage(Component.text("  " + stats, NamedTextColor.DARK_GRAY));
+        }
+        if (plugin.getServiceContainer().getDatabaseManager().isSingleWriter()) {
+            sender.sendMessage(Component.text("DB writer: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getDatabaseManager().getWriterStats(), NamedTextColor.WHITE)));
+        }
+        sender.sendMessage(Component.text("Main thread: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getMainThreadExecutor().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Tick work: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getTickWorkScheduler().getStats(), NamedTextColor.WHITE)));
+        for (TickJob job : plugin.getServiceContainer().getTickWorkScheduler().getJobs().stream().limit(3).toList()) {
+            sender.sendMessage(Component.text("  " + job, NamedTextColor.DARK_GRAY));
+        }
+        sender.sendMessage(Component.text("Save queue: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getPlayerDataManager().getSaveQueue().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Preload: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getPlayerDataManager().getPreloads().getStats() + ", Login timeouts: " + plugin.getServiceContainer().getPlayerDataManager().getLoginTimeouts(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Autosave: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getPlayerDataManager().getAutosave().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Offline cache: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getPlayerDataManager().getOfflineCache().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Leaderboards: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getLeaderboardService().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Events: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getEventBus().getStats(), NamedTextColor.WHITE)));
+        sender.sendMessage(Component.text("Event timing: ", NamedTextColor.GRAY).append(Component.text(plugin.getServiceContainer().getEventBus().getTimingStats(), NamedTextColor.WHITE)));
+        if (plugin.getServiceContainer().getEventBus().isTimingEnabled()) {
+            for (HandlerTiming timing : plugin.getServiceContainer().getEventBus().getTimings(3)) {
+                sender.sendMessage(Component.text("  " + timing, NamedTextColor.DARK_GRAY));
+            }
+        }
         sender.sendMessage(Component.text(""));
     }
     
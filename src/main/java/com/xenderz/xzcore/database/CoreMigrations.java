@@ -0,0 +1,252 @@
+package com.xenderz.xzcore.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Schema history of the core tables.
+ * 
+ * <p>Never edit a released migration; append a new version instead.
+ * Versions 1 and 2 use {@code IF NOT EXISTS} so that databases created before
+ * migrations were tracked are adopted as-is.
+ */
+final class CoreMigrations {
+    
+    static final String NAMESPACE = "xzcore";
+    
+    // Rows per insert batch when converting tables
+    private static final int COPY_BATCH_SIZE = 1000;
+    
+    // Tables keyed on player UUID, parent first
+    private static final List<String> UUID_TABLES =
+        List.of("xzcore_players", "xzcore_experience", "xzcore_player_metadata");
+    
+    private CoreMigrations() {
+    }
+    
+    static List<Migration> all() {
+        return List.of(
+            Migration.of(1, "Create player, experience and plugin data tables", CoreMigrations::baseline),
+            Migration.of(2, "Create player metadata tables", CoreMigrations::metadata),
+            Migration.of(3, "Store player UUIDs as 16 bytes", CoreMigrations::binaryUuids),
+            Migration.sql(4, "Add username, play time and total XP indexes",
+                "CREATE INDEX idx_xzcore_players_username ON xzcore_players (username)",
+                "CREATE INDEX idx_xzcore_players_play_time ON xzcore_players (play_time)",
+                "CREATE INDEX idx_xzcore_experience_total_xp ON xzcore_experience (total_xp)"),
+            Migration.sql(5, "Add level leaderboard index",
+                "CREATE INDEX idx_xzcore_experience_level ON xzcore_experience (level, total_xp)")
+        );
+    }
+    
+    private static void baseline(Connection conn, SqlDialect dialect) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(playersTable("xzcore_players", "VARCHAR(36)"));
+            stmt.execute(experienceTable("xzcore_experience", "VARCHAR(36)", true));
+            
+            stmt.execute(pluginDataTable("xzcore_plugin_data", "VARCHAR(36)"));
+        }
+    }
+    
+    private static void metadata(Connection conn, SqlDialect dialect) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS xzcore_metadata_keys (" +
+                "id " + dialect.getAutoIncrementPrimaryKey() + "," +
+                "name VARCHAR(128) NOT NULL UNIQUE" +
+                ")");
+            stmt.execute(metadataTable("xzcore_player_metadata", "VARCHAR(36)", true));
+        }
+    }
+    
+    /**
+     * Rebuild the UUID-keyed tables with 16-byte keys.
+     * 
+     * <p>Rows are converted in Java rather than with {@code unhex}, which
+     * SQLite only has from 3.41 and the server may load an older driver. Rows
+     * whose key is not a well-formed UUID string cannot be addressed by the
+     * plugin and are dropped. On MySQL the swap is not transactional; a re-run
+     * after a partial failure skips the copy once the live tables are binary
+     * and only finishes the cleanup.
+     */
+    private static void binaryUuids(Connection conn, SqlDialect dialect) throws SQLException {
+        boolean sqlite = dialect == SqlDialect.SQLITE;
+        
+        try (Statement stmt = conn.createStatement()) {
+            if (!hasBinaryUuid(conn, "xzcore_players")) {
+                String uuidType = dialect.getUuidType();
+                for (String table : UUID_TABLES) {
+                    stmt.execute("DROP TABLE IF EXISTS " + table + "_new");
+                }
+                // MySQL cannot reference the old parent with a different key
+                // type, so its foreign keys are added after the swap
+                stmt.execute(playersTable("xzcore_players_new", uuidType));
+                stmt.execute(experienceTable("xzcore_experience_new", uuidType, sqlite));
+                stmt.execute(metadataTable("xzcore_player_metadata_new", uuidType, sqlite));
+                
+                copyWithBinaryUuid(conn, "xzcore_players", "username", "first_join", "last_join", "play_time");
+                copyWithBinaryUuid(conn, "xzcore_experience", "total_xp", "level", "last_updated");
+                copyWithBinaryUuid(conn, "xzcore_player_metadata", "key_id", "value");
+                
+                if (sqlite) {
+                    // Children first, then rename the replacements in place;
+                    // their foreign keys already name xzcore_players
+                    for (int i = UUID_TABLES.size() - 1; i >= 0; i--) {
+                        stmt.execute("DROP TABLE " + UUID_TABLES.get(i));
+                    }
+                    for (String table : UUID_TABLES) {
+                        stmt.execute("ALTER TABLE " + table + "_new RENAME TO " + table);
+                    }
+                } else {
+                    // One atomic swap, so readers never see a missing table
+                    StringBuilder rename = new StringBuilder("RENAME TABLE ");
+                    for (int i = 0; i < UUID_TABLES.size(); i++) {
+                        String table = UUID_TABLES.get(i);
+                        if (i > 0) {
+                            rename.append(", ");
+                        }
+                        rename.append(table).append(" TO ").append(table).append("_old, ")
+                            .append(table).append("_new TO ").append(table);
+                    }
+                    stmt.execute(rename.toString());
+                }
+            }
+            
+            if (!sqlite) {
+                for (int i = UUID_TABLES.size() - 1; i >= 0; i--) {
+                    stmt.execute("DROP TABLE IF EXISTS " + UUID_TABLES.get(i) + "_old");
+                }
+                addPlayerForeignKey(conn, stmt, "xzcore_experience");
+                addPlayerForeignKey(conn, stmt, "xzcore_player_metadata");
+            }
+            
+            // Not tied to the player tables: rebuilt on its own
+            if (!hasBinaryUuid(conn, "xzcore_plugin_data")) {
+                stmt.execute("DROP TABLE IF EXISTS xzcore_plugin_data_new");
+                stmt.execute(pluginDataTable("xzcore_plugin_data_new", dialect.getUuidType()));
+                copyWithBinaryUuid(conn, "xzcore_plugin_data", "plugin_name", "`key`", "value", "updated_at");
+                stmt.execute("DROP TABLE xzcore_plugin_data");
+                stmt.execute(sqlite
+                    ? "ALTER TABLE xzcore_plugin_data_new RENAME TO xzcore_plugin_data"
+                    : "RENAME TABLE xzcore_plugin_data_new TO xzcore_plugin_data");
+            }
+        }
+    }
+    
+    private static boolean hasBinaryUuid(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, "uuid")) {
+            if (!rs.next()) {
+                return false;
+            }
+            String type = rs.getString("TYPE_NAME").toUpperCase(Locale.ROOT);
+            return type.contains("BINARY") || type.contains("BLOB");
+        }
+    }
+    
+    private static void addPlayerForeignKey(Connection conn, Statement stmt, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getImportedKeys(conn.getCatalog(), null, table)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        stmt.execute("ALTER TABLE " + table + " ADD CONSTRAINT fk_" + table + "_player " +
+            "FOREIGN KEY (uuid) REFERENCES xzcore_players(uuid) ON DELETE CASCADE");
+    }
+    
+    private static void copyWithBinaryUuid(Connection conn, String table, String... columns) throws SQLException {
+        String list = String.join(", ", columns);
+        String insert = "INSERT INTO " + table + "_new (uuid, " + list + ") VALUES (?" + ", ?".repeat(columns.length) + ")";
+        
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery("SELECT uuid, " + list + " FROM " + table);
+             PreparedStatement stmt = conn.prepareStatement(insert)) {
+            int batched = 0;
+            while (rs.next()) {
+                // Only SQLite can hold NULL uuids (global plugin data): it allows
+                // NULL in a non-integer primary key, MySQL makes the column NOT NULL
+                String text = rs.getString(1);
+                UUID uuid = text != null ? parseUuid(text) : null;
+                if (text != null && uuid == null) {
+                    continue;
+                }
+                stmt.setBytes(1, uuid != null ? Uuids.toBytes(uuid) : null);
+                for (int i = 0; i < columns.length; i++) {
+                    stmt.setObject(i + 2, rs.getObject(i + 2));
+                }
+                stmt.addBatch();
+                if (++batched == COPY_BATCH_SIZE) {
+                    stmt.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Parse a UUID column value, with or without dashes.
+     * 
+     * @return the UUID, or null if the value is malformed
+     */
+    private static UUID parseUuid(String text) {
+        String hex = text.replace("-", "");
+        if (hex.length() != 32) {
+            return null;
+        }
+        try {
+            return new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static String pluginDataTable(String name, String uuidType) {
+        // "key" is reserved in MySQL; backticks are accepted by SQLite too
+        return "CREATE TABLE IF NOT EXISTS " + name + " (" +
+            "plugin_name VARCHAR(64) NOT NULL," +
+            "`key` VARCHAR(128) NOT NULL," +
+            "uuid " + uuidType + "," +
+            "value TEXT," +
+            "updated_at BIGINT DEFAULT 0," +
+            "PRIMARY KEY (plugin_name, `key`, uuid)" +
+            ")";
+    }
+    
+    private static String playersTable(String name, String uuidType) {
+        return "CREATE TABLE IF NOT EXISTS " + name + " (" +
+            "uuid " + uuidType + " NOT NULL PRIMARY KEY," +
+            "username VARCHAR(16) NOT NULL," +
+            "first_join BIGINT DEFAULT 0," +
+            "last_join BIGINT DEFAULT 0," +
+            "play_time BIGINT DEFAULT 0" +
+            ")";
+    }
+    
+    private static String experienceTable(String name, String uuidType, boolean foreignKey) {
+        return "CREATE TABLE IF NOT EXISTS " + name + " (" +
+            "uuid " + uuidType + " NOT NULL PRIMARY KEY," +
+            "total_xp BIGINT DEFAULT 0," +
+            "level INT DEFAULT 1," +
+            "last_updated BIGINT DEFAULT 0" +
+            (foreignKey ? ",FOREIGN KEY (uuid) REFERENCES xzcore_players(uuid) ON DELETE CASCADE" : "") +
+            ")";
+    }
+    
+    private static String metadataTable(String name, String uuidType, boolean foreignKey) {
+        return "CREATE TABLE IF NOT EXISTS " + name + " (" +
+            "uuid " + uuidType + " NOT NULL," +
+            "key_id INT NOT NULL," +
+            "value MEDIUMBLOB NOT NULL," +
+            "PRIMARY KEY (uuid, key_id)" +
+            (foreignKey ? ",FOREIGN KEY (uuid) REFERENCES xzcore_players(uuid) ON DELETE CASCADE" : "") +
+            ")";
+    }
+}
@@ -0,0 +1,216 @@
+package com.xenderz.xzcore.database;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor for async database work with queue metrics.
+ * 
+ * <p>Two modes are available:
+ * <ul>
+ *   <li>{@link Mode#PLATFORM} - a fixed pool of platform threads with an
+ *       unbounded queue (the original behaviour)</li>
+ *   <li>{@link Mode#VIRTUAL} - one virtual thread per task, gated by a
+ *       semaphore sized to the connection pool, so work never queues behind a
+ *       slow statement while connections are idle</li>
+ * </ul>
+ * 
+ * <p>In both modes a task counts as queued from submission until it starts
+ * running (for virtual threads: until it holds a permit).
+ */
+public final class DatabaseExecutor extends AbstractExecutorService {
+    
+    /**
+     * Execution mode.
+     */
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL;
+        
+        /**
+         * Parse a mode from config, falling back to {@link #PLATFORM}.
+         */
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return PLATFORM;
+            }
+        }
+    }
+    
+    private final Mode mode;
+    private final int concurrency;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    
+    // Statistics
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    
+    private DatabaseExecutor(Mode mode, int concurrency, ExecutorService delegate, Semaphore permits) {
+        this.mode = mode;
+        this.concurrency = concurrency;
+        this.delegate = delegate;
+        this.permits = permits;
+    }
+    
+    /**
+     * Create a fixed pool of platform threads.
+     * 
+     * @param threads number of threads
+     * @param threadName name for the worker threads
+     * @return executor
+     */
+    public static DatabaseExecutor platform(int threads, String threadName) {
+        int size = Math.max(1, threads);
+        ExecutorService pool = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        });
+        return new DatabaseExecutor(Mode.PLATFORM, size, pool, null);
+    }
+    
+    /**
+     * Create a virtual-thread-per-task executor.
+     * 
+     * @param maxConcurrency maximum tasks running at once (normally the connection pool size)
+     * @param threadName name prefix for the virtual threads
+     * @return executor
+     */
+    public static DatabaseExecutor virtual(int maxConcurrency, String threadName) {
+        int size = Math.max(1, maxConcurrency);
+        ExecutorService pool = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name(threadName + "-", 0).factory()
+        );
+        return new DatabaseExecutor(Mode.VIRTUAL, size, pool, new Semaphore(size, true));
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> run(task, submitted));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+    
+    private void run(Runnable task, long submitted) {
+        if (permits != null) {
+            // Uninterruptible: a task that never runs would leave its future incomplete
+            permits.acquireUninterruptibly();
+        }
+        
+        long wait = System.nanoTime() - submitted;
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        totalWaitNanos.add(wait);
+        maxWaitNanos.accumulateAndGet(wait, Math::max);
+        
+        try {
+            task.run();
+        } finally {
+            running.decrementAndGet();
+            completed.increment();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+    
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+    
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+    
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+    
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    /**
+     * Number of tasks submitted but not yet running.
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+    
+    /**
+     * Number of tasks currently running.
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+    
+    /**
+     * Total number of tasks completed since startup.
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+    
+    /**
+     * Average time from submission to start, in milliseconds.
+     */
+    public double getAverageWaitMillis() {
+        long count = completed.sum() + running.get();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / (count * 1_000_000.0);
+    }
+    
+    /**
+     * Longest time from submission to start, in milliseconds.
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+    
+    /**
+     * Get executor statistics.
+     */
+    public String getStats() {
+        return String.format("Mode: %s, Queued: %d, Running: %d/%d, Completed: %d, Wait: %.2fms avg / %.2fms max",
+            mode.name().toLowerCase(Locale.ROOT),
+            queued.get(),
+            running.get(),
+            concurrency,
+            completed.sum(),
+            getAverageWaitMillis(),
+            getMaxWaitMillis()
+        );
+    }
+}
@@ -11,9 +11,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.logging.Level;
@@ -29,7 +28,7 @@ import java.util.logging.Level;
  * // Synchronous query
  * try (Connection conn = db.getConnection();
  *      PreparedStatement stmt = conn.prepareStatement("SELECT * FROM players WHERE uuid = ?")) {
- *     stmt.setString(1, uuid.toString());
+ *     stmt.setBytes(1, Uuids.toBytes(uuid));
  *     ResultSet rs = stmt.executeQuery();
  *     // Process results
  * }
@@ -39,11 +38,11 @@ import java.util.logging.Level;
  *     rs -> { 
  *         // Process on async thread
  *     }, 
- *     uuid.toString()
+ *     Uuids.toBytes(uuid)
  * );
  * 
  * // Async update with callback
- * db.executeAsync("UPDATE players SET kills = kills + 1 WHERE uuid = ?", uuid.toString())
+ * db.executeAsync("UPDATE players SET kills = kills + 1 WHERE uuid = ?", Uuids.toBytes(uuid))
  *     .thenRun(() -> player.sendMessage("Stats updated!"));
  * }</pre>
  */
@@ -54,7 +53,10 @@ public class DatabaseManager implements Service {
     
     private HikariDataSource dataSource;
     private DatabaseType databaseType;
-    private ExecutorService asyncExecutor;
+    private DatabaseExecutor asyncExecutor;
+    private SqliteWriter writer;
+    private QueryMetrics metrics;
+    private SchemaMigrator migrator;
     private boolean initialized = false;
     
     public DatabaseManager(JavaPlugin plugin, ConfigurationManager config) {
@@ -67,26 +69,39 @@ public class DatabaseManager implements Service {
         String dbType = config.getString("database.type", "SQLITE").toUpperCase();
         this.databaseType = DatabaseType.valueOf(dbType);
         
-        this.asyncExecutor = Executors.newFixedThreadPool(
-            config.getInt("database.async-threads", 2),
-            r -> {
-                Thread t = new Thread(r, "XzCore-DB");
-                t.setDaemon(true);
-                return t;
-            }
-        );
-        
         setupDataSource();
+        this.metrics = new QueryMetrics(plugin.getLogger(), config.getLong("database.slow-query-threshold-ms", 250));
         
-        // Mark as initialized before creating tables so getConnection() works
+        DatabaseExecutor.Mode mode = DatabaseExecutor.Mode.parse(config.getString("database.executor", "platform"));
+        if (mode == DatabaseExecutor.Mode.VIRTUAL) {
+            // One permit per pooled connection: tasks never wait on an idle pool
+            this.asyncExecutor = DatabaseExecutor.virtual(dataSource.getMaximumPoolSize(), "XzCore-DB");
+        } else {
+            this.asyncExecutor = DatabaseExecutor.platform(config.getInt("database.async-threads", 2), "XzCore-DB");
+        }
+        
+        // Mark as initialized before migrating so getConnection() works
         initialized = true;
-        createCoreTables();
+        this.migrator = new SchemaMigrator(this::getConnection, getDialect(), plugin.getLogger());
+        migrator.migrate(CoreMigrations.NAMESPACE, CoreMigrations.all());
+        
+        if (databaseType == DatabaseType.SQLITE && config.getBoolean("database.sqlite.single-writer", true)) {
+            this.writer = new SqliteWriter(this::getConnection, asyncExecutor, plugin.getLogger(),
+                config.getInt("database.sqlite.max-group-commit", 256));
+            writer.start();
+        }
         
-        plugin.getLogger().info("Database initialized: " + databaseType + " with HikariCP pool");
+        plugin.getLogger().info("Database initialized: " + databaseType + " with HikariCP pool ("
+            + mode.name().toLowerCase() + " executor)");
     }
     
     @Override
     public void shutdown() {
+        if (writer != null) {
+            writer.shutdown(10, TimeUnit.SECONDS);
+            writer = null;
+        }
+        
         if (asyncExecutor != null) {
             asyncExecutor.shutdown();
             try {
@@ -165,45 +180,22 @@ public class DatabaseManager implements Service {
         this.dataSource = new HikariDataSource(hikariConfig);
     }
     
-    private void createCoreTables() throws SQLException {
-        try (Connection conn = getConnection()) {
-            // Player data table
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "CREATE TABLE IF NOT EXISTS xzcore_players (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "username VARCHAR(16) NOT NULL," +
-                "first_join BIGINT DEFAULT 0," +
-                "last_join BIGINT DEFAULT 0," +
-                "play_time BIGINT DEFAULT 0" +
-                ")")) {
-                stmt.execute();
-            }
-            
-            // Experience/progression table
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "CREATE TABLE IF NOT EXISTS xzcore_experience (" +
-                "uuid VARCHAR(36) PRIMARY KEY," +
-                "total_xp BIGINT DEFAULT 0," +
-                "level INT DEFAULT 1," +
-                "last_updated BIGINT DEFAULT 0," +
-                "FOREIGN KEY (uuid) REFERENCES xzcore_players(uuid) ON DELETE CASCADE" +
-                ")")) {
-                stmt.execute();
-            }
-            
-            // Plugin metadata table
-            try (PreparedStatement stmt = conn.prepareStatement(
-                "CREATE TABLE IF NOT EXISTS xzcore_plugin_data (" +
-                "plugin_name VARCHAR(64) NOT NULL," +
-                "key VARCHAR(128) NOT NULL," +
-                "uuid VARCHAR(36)," +
-                "value TEXT," +
-                "updated_at BIGINT DEFAULT 0," +
-                "PRIMARY KEY (plugin_name, key, uuid)" +
-                ")")) {
-                stmt.execute();
-            }
+    /**
+     * Apply schema migrations for a plugin's own tables.
+     * 
+     * <p>Versions already recorded for the namespace are skipped, so this is
+     * safe to call on every startup. Runs on the calling thread.
+     * 
+     * @param namespace owner of the migrations, normally the plugin name
+     * @param migrations migrations with unique versions
+     * @return number of migrations applied
+     * @throws SQLException if a migration fails
+     */
+    public int migrate(String namespace, List<Migration> migrations) throws SQLException {
+        if (CoreMigrations.NAMESPACE.equalsIgnoreCase(namespace)) {
+            throw new IllegalArgumentException("Migration namespace '" + namespace + "' is reserved");
         }
+        return migrator.migrate(namespace, migrations);
     }
     
     /**
@@ -228,22 +220,14 @@ public class DatabaseManager implements Service {
      * @return CompletableFuture for chaining
      */
     public CompletableFuture<Void> queryAsync(String sql, Consumer<ResultSet> resultHandler, Object... params) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i + 1, params[i]);
-                }
-                
+        return submitRead("Async query failed: " + sql, metrics.start(sql, params.length), conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bind(stmt, params);
                 ResultSet rs = stmt.executeQuery();
                 resultHandler.accept(rs);
-                
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Async query failed: " + sql, e);
-                throw new RuntimeException(e);
+                return null;
             }
-        }, asyncExecutor);
+        });
     }
     
     /**
@@ -254,21 +238,12 @@ public class DatabaseManager implements Service {
      * @return CompletableFuture with row count
      */
     public CompletableFuture<Integer> executeAsync(String sql, Object... params) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                for (int i = 0; i < params.length; i++) {
-                    stmt.setObject(i + 1, params[i]);
-                }
-                
+        return submitWrite("Async execute failed: " + sql, metrics.start(sql, params.length), false, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bind(stmt, params);
                 return stmt.executeUpdate();
-                
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Async execute failed: " + sql, e);
-                throw new RuntimeException(e);
             }
-        }, asyncExecutor);
+        });
     }
     
     /**
@@ -279,50 +254,153 @@ public class DatabaseManager implements Service {
      * @return CompletableFuture with int array of update counts
      */
     public CompletableFuture<int[]> executeBatchAsync(String sql, java.util.List<Object[]> batchParams) {
+        int bindCount = 0;
+        for (Object[] params : batchParams) {
+            bindCount += params.length;
+        }
+        return submitWrite("Async batch failed: " + sql, metrics.start(sql, bindCount), false,
+            conn -> executeBatch(conn, sql, batchParams));
+    }
+    
+    /**
+     * Run work against a pooled connection asynchronously and return its result.
+     * 
+     * <p>Use this when a read needs several statements or maps rows into objects:
+     * <pre>{@code
+     * db.withConnectionAsync(conn -> loadStats(conn, uuid))
+     *     .thenAccept(stats -> ...);
+     * }</pre>
+     * 
+     * @param <T> result type
+     * @param work work to run; the connection is closed afterwards
+     * @return CompletableFuture with the work's result
+     */
+    public <T> CompletableFuture<T> withConnectionAsync(SqlFunction<Connection, T> work) {
+        return submitRead("Async connection work failed", metrics.start("<connection>", -1), work);
+    }
+    
+    /**
+     * Execute a transaction asynchronously.
+     * 
+     * <p>With the SQLite single-writer lane enabled, the operations run in a
+     * savepoint of a group commit shared with other queued writes; they must
+     * not commit or roll back the connection themselves.
+     * 
+     * @param operations transaction operations
+     * @return CompletableFuture
+     */
+    public CompletableFuture<Void> transactionAsync(Consumer<Connection> operations) {
+        return submitWrite("Async transaction failed", metrics.start("<transaction>", -1), true, conn -> {
+            operations.accept(conn);
+            return null;
+        });
+    }
+    
+    /**
+     * Run write work in a transaction asynchronously and return its result.
+     * 
+     * <p>The future completes once the work has been committed. With the
+     * SQLite single-writer lane enabled, the work shares a group commit like
+     * {@link #transactionAsync}.
+     * 
+     * @param <T> result type
+     * @param work work to run; must not commit or roll back the connection
+     * @return CompletableFuture with the work's result
+     */
+    public <T> CompletableFuture<T> writeAsync(SqlFunction<Connection, T> work) {
+        return submitWrite("Async write failed", metrics.start("<write>", -1), true, work);
+    }
+    
+    /**
+     * Run read work on the async executor, timing queue wait, connection
+     * acquire and execution.
+     */
+    private <T> CompletableFuture<T> submitRead(String failureMessage, QueryMetrics.Sample sample,
+                                                SqlFunction<Connection, T> work) {
         return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                
-                for (Object[] params : batchParams) {
-                    for (int i = 0; i < params.length; i++) {
-                        stmt.setObject(i + 1, params[i]);
-                    }
-                    stmt.addBatch();
-                }
-                
-                return stmt.executeBatch();
-                
+            sample.started();
+            try (Connection conn = getConnection()) {
+                sample.acquired();
+                return work.apply(conn);
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Async batch failed: " + sql, e);
+                plugin.getLogger().log(Level.WARNING, failureMessage, e);
                 throw new RuntimeException(e);
+            } finally {
+                sample.finish();
             }
         }, asyncExecutor);
     }
     
     /**
-     * Execute a transaction asynchronously.
+     * Run write work through the SQLite writer lane if enabled, otherwise on
+     * the async executor (in a transaction if requested).
      * 
-     * @param operations transaction operations
-     * @return CompletableFuture
+     * <p>In the writer lane, queue wait ends when the writer takes the work
+     * into a group, and acquire covers the group's connection plus the writes
+     * ahead of it in the group.
      */
-    public CompletableFuture<Void> transactionAsync(Consumer<Connection> operations) {
-        return CompletableFuture.runAsync(() -> {
+    private <T> CompletableFuture<T> submitWrite(String failureMessage, QueryMetrics.Sample sample,
+                                                 boolean transactional, SqlFunction<Connection, T> work) {
+        if (writer != null) {
+            return writer.submit(failureMessage, sample, work);
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            sample.started();
             try (Connection conn = getConnection()) {
+                sample.acquired();
+                if (!transactional) {
+                    return work.apply(conn);
+                }
+                
                 conn.setAutoCommit(false);
                 try {
-                    operations.accept(conn);
+                    T result = work.apply(conn);
                     conn.commit();
-                } catch (Exception e) {
+                    return result;
+                } catch (SQLException | RuntimeException e) {
                     conn.rollback();
                     throw e;
                 }
             } catch (SQLException e) {
-                plugin.getLogger().log(Level.WARNING, "Async transaction failed", e);
+                plugin.getLogger().log(Level.WARNING, failureMessage, e);
                 throw new RuntimeException(e);
+            } finally {
+                sample.finish();
             }
         }, asyncExecutor);
     }
     
+    private static void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+    
+    private static int[] executeBatch(Connection conn, String sql, java.util.List<Object[]> batchParams) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Object[] params : batchParams) {
+                bind(stmt, params);
+                stmt.addBatch();
+            }
+            return stmt.executeBatch();
+        }
+    }
+    
+    /**
+     * Check if SQLite writes go through the single-writer lane.
+     */
+    public boolean isSingleWriter() {
+        return writer != null;
+    }
+    
+    /**
+     * Get SQLite single-writer statistics.
+     */
+    public String getWriterStats() {
+        return writer != null ? writer.getStats() : "Disabled";
+    }
+    
     /**
      * Get the database type.
      */
@@ -330,6 +408,13 @@ public class DatabaseManager implements Service {
         return databaseType;
     }
     
+    /**
+     * Get the SQL dialect for the configured database type.
+     */
+    public SqlDialect getDialect() {
+        return SqlDialect.forType(databaseType);
+    }
+    
     /**
      * Check if connection pool is healthy.
      */
@@ -341,6 +426,30 @@ public class DatabaseManager implements Service {
         }
     }
     
+    /**
+     * Get the async executor, for queue depth and wait time metrics.
+     */
+    public DatabaseExecutor getExecutor() {
+        return asyncExecutor;
+    }
+    
+    /**
+     * Get async executor statistics.
+     */
+    public String getExecutorStats() {
+        if (asyncExecutor == null) {
+            return "Not initialized";
+        }
+        return asyncExecutor.getStats();
+    }
+    
+    /**
+     * Get per-statement latency histograms and slow-query counts.
+     */
+    public QueryMetrics getQueryMetrics() {
+        return metrics;
+    }
+    
     /**
      * Get connection pool statistics.
      */
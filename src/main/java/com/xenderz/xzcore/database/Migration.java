@@ -0,0 +1,94 @@
+package com.xenderz.xzcore.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * One versioned schema change.
+ * 
+ * <p>Versions are positive and unique within a namespace. A migration runs
+ * once per database: {@link SchemaMigrator} records applied versions and skips
+ * them on later startups.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * db.migrate("myplugin", List.of(
+ *     Migration.sql(1, "Create stats table",
+ *         "CREATE TABLE myplugin_stats (uuid " + db.getDialect().getUuidType() + " PRIMARY KEY, kills INT DEFAULT 0)"),
+ *     Migration.sql(2, "Index kills",
+ *         "CREATE INDEX idx_myplugin_stats_kills ON myplugin_stats (kills)")
+ * ));
+ * }</pre>
+ */
+public final class Migration {
+    
+    private final int version;
+    private final String description;
+    private final Step step;
+    
+    private Migration(int version, String description, Step step) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be positive: " + version);
+        }
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+    
+    /**
+     * Create a migration from code.
+     * 
+     * @param version schema version this migration produces
+     * @param description short description, recorded with the version
+     * @param step schema change
+     * @return migration
+     */
+    public static Migration of(int version, String description, Step step) {
+        return new Migration(version, description, step);
+    }
+    
+    /**
+     * Create a migration that runs fixed statements in order.
+     * 
+     * @param version schema version this migration produces
+     * @param description short description, recorded with the version
+     * @param statements SQL statements
+     * @return migration
+     */
+    public static Migration sql(int version, String description, String... statements) {
+        List<String> sql = List.of(statements);
+        return new Migration(version, description, (conn, dialect) -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : sql) {
+                    stmt.execute(statement);
+                }
+            }
+        });
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    void apply(Connection conn, SqlDialect dialect) throws SQLException {
+        step.apply(conn, dialect);
+    }
+    
+    /**
+     * Schema change body.
+     * 
+     * <p>Runs inside a transaction that the migrator commits together with the
+     * version record. MySQL commits DDL implicitly, so MySQL steps should be
+     * safe to re-run after a partial failure.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn, SqlDialect dialect) throws SQLException;
+    }
+}
@@ -0,0 +1,451 @@
+package com.xenderz.xzcore.database;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Latency histograms per normalized SQL statement, plus a slow-query log.
+ * 
+ * <p>Every async operation is timed in three phases: queue wait (submission
+ * until a worker picks it up), connection acquire, and execution. Statements
+ * are grouped by their SQL with literals replaced by {@code ?} and repeated
+ * placeholder lists collapsed, so {@code IN (?, ?, ?)} and {@code IN (?, ?)}
+ * share a histogram. Operations without a single statement (transactions,
+ * connection work) are grouped under a label instead.
+ * 
+ * <p>Histograms use power-of-two microsecond buckets: recording is a few
+ * atomic increments with no allocation. The submitting thread, often the
+ * main thread, only takes a timestamp and, while the slow-query log is
+ * enabled, walks a few stack frames to find the calling class: statements
+ * are normalized on the worker.
+ */
+public final class QueryMetrics {
+    
+    private static final int MAX_STATEMENTS = 256;
+    private static final int MAX_NORMALIZED_CACHE = 1024;
+    private static final String OTHER = "<other>";
+    private static final long SLOW_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    
+    private static final Pattern COMMA = Pattern.compile("\\s*,\\s*");
+    private static final Pattern VALUE_ROWS = Pattern.compile("\\((\\?(?:, \\?)*)\\)(?:, \\(\\1\\))+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:, \\?)+");
+    
+    private static final String XZCORE_PACKAGE = "com.xenderz.xzcore.";
+    private static final String DATABASE_PACKAGE = "com.xenderz.xzcore.database.";
+    // Enough to get from DatabaseManager through the API facade into the caller
+    private static final int MAX_CALLER_FRAMES = 12;
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
+    private final Logger logger;
+    private final long slowThresholdNanos;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    // Least recently used SQL strings are evicted, so varying literals cannot defeat the cache
+    private final Map<String, String> normalized = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_NORMALIZED_CACHE;
+        }
+    };
+    private final LongAdder slowQueries = new LongAdder();
+    
+    /**
+     * Create query metrics.
+     * 
+     * @param logger logger for the slow-query log
+     * @param slowThresholdMillis execution time at which a statement is logged (0 disables the log)
+     */
+    QueryMetrics(Logger logger, long slowThresholdMillis) {
+        this.logger = logger;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, slowThresholdMillis));
+    }
+    
+    /**
+     * Start timing an operation. Must be called on the submitting thread.
+     * 
+     * @param sql SQL statement, or a label such as {@code "<transaction>"}
+     * @param bindCount number of bind parameters, or -1 if unknown
+     * @return sample to complete on the worker thread
+     */
+    Sample start(String sql, int bindCount) {
+        // Only the slow-query log reads the caller
+        Class<?> caller = slowThresholdNanos > 0 ? findCaller() : null;
+        return new Sample(sql, bindCount, caller);
+    }
+    
+    private StatementStats statsFor(String sql) {
+        String key = normalize(sql);
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= MAX_STATEMENTS) {
+            key = OTHER;
+        }
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+    
+    private String normalize(String sql) {
+        String cached;
+        synchronized (normalized) {
+            cached = normalized.get(sql);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        String result = normalizeSql(sql);
+        synchronized (normalized) {
+            normalized.put(sql, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Normalize SQL for grouping: collapse whitespace, replace string and
+     * numeric literals with {@code ?}, and collapse repeated placeholder rows
+     * and lists.
+     */
+    static String normalizeSql(String sql) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), 512));
+        boolean pendingSpace = false;
+        
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && out.length() > 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            
+            if (c == '\'') {
+                // String literal, with '' as an escaped quote
+                i++;
+                while (i < sql.length()) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i + 1 < sql.length() && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+            }
+        }
+        
+        String result = COMMA.matcher(out).replaceAll(", ");
+        result = VALUE_ROWS.matcher(result).replaceAll("($1), ...");
+        return PLACEHOLDER_LIST.matcher(result).replaceAll("?, ...");
+    }
+    
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+    
+    /**
+     * Find the first class outside XzCore within a few frames of the
+     * submission, or else the first XzCore class outside this package.
+     */
+    private static Class<?> findCaller() {
+        return WALKER.walk(frames -> {
+            Class<?> internal = null;
+            Iterator<StackWalker.StackFrame> it = frames.limit(MAX_CALLER_FRAMES).iterator();
+            while (it.hasNext()) {
+                Class<?> type = it.next().getDeclaringClass();
+                String name = type.getName();
+                if (name.startsWith("java.") || name.startsWith("jdk.")) {
+                    continue;
+                }
+                if (!name.startsWith(XZCORE_PACKAGE)) {
+                    return type;
+                }
+                if (internal == null && !name.startsWith(DATABASE_PACKAGE)) {
+                    internal = type;
+                }
+            }
+            return internal;
+        });
+    }
+    
+    private void onComplete(Sample sample, long waitNanos, long acquireNanos, long executeNanos) {
+        StatementStats stats = statsFor(sample.sql);
+        stats.queueWait.record(waitNanos);
+        stats.acquire.record(acquireNanos);
+        stats.execute.record(executeNanos);
+        
+        if (slowThresholdNanos > 0 && executeNanos >= slowThresholdNanos) {
+            slowQueries.increment();
+            stats.slow.increment();
+            logSlow(stats, sample, waitNanos, acquireNanos, executeNanos);
+        }
+    }
+    
+    private void logSlow(StatementStats stats, Sample sample, long waitNanos, long acquireNanos, long executeNanos) {
+        long now = System.nanoTime();
+        long last = stats.lastSlowLog.get();
+        // At most one line per statement every SLOW_LOG_INTERVAL_NANOS
+        if (last != 0 && now - last < SLOW_LOG_INTERVAL_NANOS || !stats.lastSlowLog.compareAndSet(last, now)) {
+            return;
+        }
+        
+        long total = stats.slow.sum();
+        long suppressed = total - stats.slowLogged.getAndSet(total) - 1;
+        logger.log(Level.WARNING, String.format(
+            "Slow query (%.1fms execute, %.1fms queue, %.1fms acquire) from %s, %s: %s%s",
+            executeNanos / 1_000_000.0,
+            waitNanos / 1_000_000.0,
+            acquireNanos / 1_000_000.0,
+            sample.caller != null ? describeCaller(sample.caller) : "unknown caller",
+            sample.bindCount >= 0 ? sample.bindCount + " bind parameters" : "unknown bind parameters",
+            stats.sql,
+            suppressed > 0 ? " (" + suppressed + " more since last report)" : ""
+        ));
+    }
+    
+    private static String describeCaller(Class<?> caller) {
+        try {
+            return JavaPlugin.getProvidingPlugin(caller).getName() + " (" + caller.getName() + ")";
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return caller.getName();
+        }
+    }
+    
+    /**
+     * Get the tracked statements, slowest (by 99th percentile execution time) first.
+     * 
+     * @param limit maximum number of statements
+     * @return statement statistics
+     */
+    public List<StatementStats> getSlowestStatements(int limit) {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(Comparator.comparingLong((StatementStats s) -> s.execute.percentileMicros(0.99)).reversed());
+        return list.subList(0, Math.min(limit, list.size()));
+    }
+    
+    /**
+     * Number of statements that exceeded the slow-query threshold.
+     */
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+    
+    /**
+     * Clear all histograms.
+     */
+    public void reset() {
+        statements.clear();
+        slowQueries.reset();
+    }
+    
+    /**
+     * Get query metrics summary.
+     */
+    public String getStats() {
+        long operations = 0;
+        for (StatementStats stats : statements.values()) {
+            operations += stats.execute.getCount();
+        }
+        return String.format("Statements: %d, Operations: %d, Slow: %d (threshold %s)",
+            statements.size(),
+            operations,
+            slowQueries.sum(),
+            slowThresholdNanos > 0 ? TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos) + "ms" : "off"
+        );
+    }
+    
+    /**
+     * Timing of one operation, completed by the worker thread.
+     */
+    final class Sample {
+        private final String sql;
+        private final int bindCount;
+        private final Class<?> caller;
+        private final long submitted = System.nanoTime();
+        private long started;
+        private long acquired;
+        
+        private Sample(String sql, int bindCount, Class<?> caller) {
+            this.sql = sql;
+            this.bindCount = bindCount;
+            this.caller = caller;
+        }
+        
+        /**
+         * The operation has been picked up by a worker.
+         */
+        void started() {
+            started = System.nanoTime();
+            acquired = started;
+        }
+        
+        /**
+         * A connection has been acquired.
+         */
+        void acquired() {
+            acquired = System.nanoTime();
+        }
+        
+        /**
+         * The operation has finished, successfully or not.
+         */
+        void finish() {
+            long now = System.nanoTime();
+            if (started == 0) {
+                started = now;
+                acquired = now;
+            }
+            onComplete(this, started - submitted, acquired - started, now - acquired);
+        }
+    }
+    
+    /**
+     * Latency histograms for one normalized statement.
+     */
+    public static final class StatementStats {
+        private final String sql;
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram execute = new LatencyHistogram();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong lastSlowLog = new AtomicLong();
+        private final AtomicLong slowLogged = new AtomicLong();
+        
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+        
+        public String getSql() {
+            return sql;
+        }
+        
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+        
+        public LatencyHistogram getAcquire() {
+            return acquire;
+        }
+        
+        public LatencyHistogram getExecute() {
+            return execute;
+        }
+        
+        public long getSlowCount() {
+            return slow.sum();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s | n=%d exec p50/p99/max=%s/%s/%.1fms wait p99=%s acquire p99=%s",
+                sql,
+                execute.getCount(),
+                formatMicros(execute.percentileMicros(0.5)),
+                formatMicros(execute.percentileMicros(0.99)),
+                execute.getMaxMillis(),
+                formatMicros(queueWait.percentileMicros(0.99)),
+                formatMicros(acquire.percentileMicros(0.99))
+            );
+        }
+        
+        private static String formatMicros(long micros) {
+            return String.format("%.1fms", micros / 1000.0);
+        }
+    }
+    
+    /**
+     * Histogram with power-of-two microsecond buckets.
+     * 
+     * <p>Percentiles are reported as the upper bound of their bucket, so they
+     * overestimate by at most a factor of two.
+     */
+    public static final class LatencyHistogram {
+        private static final int BUCKETS = 40;
+        
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        
+        void record(long nanos) {
+            long value = Math.max(0L, nanos);
+            long micros = value / 1000;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            totalNanos.add(value);
+            if (value > maxNanos.get()) {
+                maxNanos.accumulateAndGet(value, Math::max);
+            }
+        }
+        
+        public long getCount() {
+            return count.sum();
+        }
+        
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : totalNanos.sum() / (n * 1_000_000.0);
+        }
+        
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+        
+        /**
+         * Estimate a percentile.
+         * 
+         * @param quantile quantile between 0 and 1
+         * @return upper bound of the bucket holding the quantile, in microseconds
+         */
+        public long percentileMicros(double quantile) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    // Bucket i holds values in [2^(i-1), 2^i) microseconds
+                    return i == 0 ? 0 : 1L << i;
+                }
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.xenderz.xzcore.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Versioned schema migrations.
+ * 
+ * <p>Applied versions are recorded per namespace in
+ * {@code xzcore_schema_version}; startup only runs versions that are missing.
+ * Each migration runs in its own transaction together with its version
+ * record, so on SQLite a failed migration leaves no trace. On SQLite foreign
+ * key enforcement is switched off while a migration runs so that tables can
+ * be rebuilt, and checked again before the version is recorded. On MySQL an
+ * advisory lock keeps servers sharing the database from migrating at the same
+ * time.
+ */
+final class SchemaMigrator {
+    
+    private static final String VERSION_TABLE = "xzcore_schema_version";
+    private static final String MYSQL_LOCK = "xzcore_schema_migration";
+    private static final int MYSQL_LOCK_TIMEOUT_SECONDS = 60;
+    private static final int MAX_NAMESPACE_LENGTH = 64;
+    
+    private final SqliteWriter.ConnectionSource connections;
+    private final SqlDialect dialect;
+    private final Logger logger;
+    
+    SchemaMigrator(SqliteWriter.ConnectionSource connections, SqlDialect dialect, Logger logger) {
+        this.connections = connections;
+        this.dialect = dialect;
+        this.logger = logger;
+    }
+    
+    /**
+     * Apply every migration that has not been applied yet, in version order.
+     * 
+     * @param namespace owner of the migrations, e.g. a plugin name
+     * @param migrations migrations with unique versions
+     * @return number of migrations applied
+     * @throws SQLException if a migration fails; later versions are not attempted
+     */
+    synchronized int migrate(String namespace, List<Migration> migrations) throws SQLException {
+        if (namespace == null || namespace.isEmpty() || namespace.length() > MAX_NAMESPACE_LENGTH) {
+            throw new IllegalArgumentException("Migration namespace must be 1-" + MAX_NAMESPACE_LENGTH + " characters");
+        }
+        
+        List<Migration> ordered = new ArrayList<>(migrations);
+        ordered.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < ordered.size(); i++) {
+            if (ordered.get(i).getVersion() == ordered.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + ordered.get(i).getVersion()
+                    + " in namespace " + namespace);
+            }
+        }
+        
+        try (Connection conn = connections.getConnection()) {
+            createVersionTable(conn);
+            lock(conn);
+            try {
+                Set<Integer> applied = appliedVersions(conn, namespace);
+                int count = 0;
+                for (Migration migration : ordered) {
+                    if (!applied.contains(migration.getVersion())) {
+                        apply(conn, namespace, migration);
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                unlock(conn);
+            }
+        }
+    }
+    
+    private void apply(Connection conn, String namespace, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        boolean sqlite = dialect == SqlDialect.SQLITE;
+        
+        // Has no effect inside a transaction, so it must be set first
+        if (sqlite) {
+            execute(conn, "PRAGMA foreign_keys = OFF");
+        }
+        conn.setAutoCommit(false);
+        try {
+            migration.apply(conn, dialect);
+            if (sqlite) {
+                checkForeignKeys(conn, namespace, migration);
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + VERSION_TABLE + " (namespace, version, description, applied_at) VALUES (?, ?, ?, ?)")) {
+                stmt.setString(1, namespace);
+                stmt.setInt(2, migration.getVersion());
+                stmt.setString(3, migration.getDescription());
+                stmt.setLong(4, System.currentTimeMillis());
+                stmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + namespace + " v" + migration.getVersion()
+                + " (" + migration.getDescription() + ") failed", e);
+        } finally {
+            conn.setAutoCommit(true);
+            if (sqlite) {
+                execute(conn, "PRAGMA foreign_keys = ON");
+            }
+        }
+        
+        logger.info("Applied schema migration " + namespace + " v" + migration.getVersion() + ": "
+            + migration.getDescription() + " (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms)");
+    }
+    
+    private void checkForeignKeys(Connection conn, String namespace, Migration migration) throws SQLException {
+        int violations = 0;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA foreign_key_check")) {
+            while (rs.next()) {
+                violations++;
+            }
+        }
+        if (violations > 0) {
+            // Pre-existing orphans must not block startup; report them instead
+            logger.warning("Schema migration " + namespace + " v" + migration.getVersion()
+                + " left " + violations + " rows violating foreign keys");
+        }
+    }
+    
+    private void createVersionTable(Connection conn) throws SQLException {
+        execute(conn,
+            "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+            "namespace VARCHAR(64) NOT NULL," +
+            "version INT NOT NULL," +
+            "description VARCHAR(255)," +
+            "applied_at BIGINT DEFAULT 0," +
+            "PRIMARY KEY (namespace, version)" +
+            ")");
+    }
+    
+    private Set<Integer> appliedVersions(Connection conn, String namespace) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+            "SELECT version FROM " + VERSION_TABLE + " WHERE namespace = ?")) {
+            stmt.setString(1, namespace);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    versions.add(rs.getInt(1));
+                }
+            }
+        }
+        return versions;
+    }
+    
+    private void lock(Connection conn) throws SQLException {
+        if (dialect != SqlDialect.MYSQL) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, MYSQL_LOCK);
+            stmt.setInt(2, MYSQL_LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+    
+    private void unlock(Connection conn) throws SQLException {
+        if (dialect != SqlDialect.MYSQL) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, MYSQL_LOCK);
+            stmt.executeQuery().close();
+        }
+    }
+    
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
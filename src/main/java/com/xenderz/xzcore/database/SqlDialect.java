@@ -0,0 +1,200 @@
+package com.xenderz.xzcore.database;
+
+import java.util.List;
+
+/**
+ * SQL syntax differences between the supported database types.
+ * 
+ * <p>Generates in-place upserts so that existing rows are updated rather than
+ * deleted and re-inserted (which would fire {@code ON DELETE CASCADE} and
+ * rewrite every index on the row).
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * SqlDialect dialect = db.getDialect();
+ * String sql = dialect.upsert("stats",
+ *     List.of("uuid"),
+ *     List.of("uuid", "kills", "deaths"),
+ *     List.of("kills"),
+ *     rows);
+ * }</pre>
+ */
+public enum SqlDialect {
+    
+    /**
+     * SQLite 3.24+ ({@code ON CONFLICT ... DO UPDATE}).
+     * 
+     * <p>Uses the 999 bind parameter limit of SQLite before 3.32, since the
+     * server may load an older driver than the bundled one.
+     */
+    SQLITE(999, "INTEGER PRIMARY KEY", "BLOB") {
+        @Override
+        protected void appendConflictClause(StringBuilder sql, List<String> keyColumns, List<String> updateColumns) {
+            sql.append(" ON CONFLICT (").append(String.join(", ", keyColumns)).append(")");
+            if (updateColumns.isEmpty()) {
+                sql.append(" DO NOTHING");
+                return;
+            }
+            sql.append(" DO UPDATE SET ");
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                String column = updateColumns.get(i);
+                sql.append(column).append(" = excluded.").append(column);
+            }
+        }
+    },
+    
+    /**
+     * MySQL / MariaDB ({@code ON DUPLICATE KEY UPDATE}).
+     */
+    MYSQL(65535, "INT AUTO_INCREMENT PRIMARY KEY", "BINARY(16)") {
+        @Override
+        protected void appendConflictClause(StringBuilder sql, List<String> keyColumns, List<String> updateColumns) {
+            sql.append(" ON DUPLICATE KEY UPDATE ");
+            if (updateColumns.isEmpty()) {
+                // No-op assignment keeps the existing row without INSERT IGNORE's error suppression
+                String key = keyColumns.get(0);
+                sql.append(key).append(" = ").append(key);
+                return;
+            }
+            for (int i = 0; i < updateColumns.size(); i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                String column = updateColumns.get(i);
+                sql.append(column).append(" = VALUES(").append(column).append(")");
+            }
+        }
+    };
+    
+    private final int maxBindParameters;
+    private final String autoIncrementPrimaryKey;
+    private final String uuidType;
+    
+    SqlDialect(int maxBindParameters, String autoIncrementPrimaryKey, String uuidType) {
+        this.maxBindParameters = maxBindParameters;
+        this.autoIncrementPrimaryKey = autoIncrementPrimaryKey;
+        this.uuidType = uuidType;
+    }
+    
+    /**
+     * Get the dialect for a database type.
+     * 
+     * @param type database type
+     * @return matching dialect
+     */
+    public static SqlDialect forType(DatabaseType type) {
+        return switch (type) {
+            case SQLITE -> SQLITE;
+            case MYSQL -> MYSQL;
+        };
+    }
+    
+    /**
+     * Maximum number of {@code ?} placeholders allowed in one statement.
+     */
+    public int getMaxBindParameters() {
+        return maxBindParameters;
+    }
+    
+    /**
+     * Column type and constraints for a generated integer primary key.
+     */
+    public String getAutoIncrementPrimaryKey() {
+        return autoIncrementPrimaryKey;
+    }
+    
+    /**
+     * Column type for a UUID stored as 16 bytes.
+     * 
+     * @see Uuids
+     */
+    public String getUuidType() {
+        return uuidType;
+    }
+    
+    /**
+     * Maximum number of rows a multi-row statement can carry.
+     * 
+     * @param columnsPerRow bind parameters per row
+     * @return rows per statement (at least 1)
+     */
+    public int getMaxRowsPerStatement(int columnsPerRow) {
+        return Math.max(1, maxBindParameters / Math.max(1, columnsPerRow));
+    }
+    
+    /**
+     * Build a single-row upsert.
+     * 
+     * @see #upsert(String, List, List, List, int)
+     */
+    public String upsert(String table, List<String> keyColumns, List<String> insertColumns, List<String> updateColumns) {
+        return upsert(table, keyColumns, insertColumns, updateColumns, 1);
+    }
+    
+    /**
+     * Build a multi-row upsert.
+     * 
+     * <p>Parameters are bound row by row in {@code insertColumns} order. Rows
+     * that already exist only have {@code updateColumns} overwritten; all other
+     * columns keep their stored values.
+     * 
+     * @param table table name
+     * @param keyColumns primary or unique key columns that detect the conflict
+     * @param insertColumns columns supplied for every row
+     * @param updateColumns subset of {@code insertColumns} to overwrite on conflict
+     * @param rows number of value tuples
+     * @return SQL statement
+     */
+    public String upsert(String table, List<String> keyColumns, List<String> insertColumns,
+                         List<String> updateColumns, int rows) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Upsert requires at least one key column");
+        }
+        if (rows < 1) {
+            throw new IllegalArgumentException("Upsert requires at least one row");
+        }
+        
+        StringBuilder sql = new StringBuilder(64 + rows * (insertColumns.size() * 3 + 4));
+        appendInsert(sql, table, insertColumns, rows);
+        appendConflictClause(sql, keyColumns, updateColumns);
+        return sql.toString();
+    }
+    
+    /**
+     * Build a multi-row plain {@code INSERT}.
+     * 
+     * @param table table name
+     * @param columns columns supplied for every row
+     * @param rows number of value tuples
+     * @return SQL statement
+     */
+    public String insert(String table, List<String> columns, int rows) {
+        StringBuilder sql = new StringBuilder(32 + rows * (columns.size() * 3 + 4));
+        appendInsert(sql, table, columns, rows);
+        return sql.toString();
+    }
+    
+    protected abstract void appendConflictClause(StringBuilder sql, List<String> keyColumns, List<String> updateColumns);
+    
+    private static void appendInsert(StringBuilder sql, String table, List<String> columns, int rows) {
+        sql.append("INSERT INTO ").append(table)
+            .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int col = 0; col < columns.size(); col++) {
+                if (col > 0) {
+                    sql.append(", ");
+                }
+                sql.append('?');
+            }
+            sql.append(')');
+        }
+    }
+}
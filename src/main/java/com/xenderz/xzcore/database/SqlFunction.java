@@ -0,0 +1,15 @@
+package com.xenderz.xzcore.database;
+
+import java.sql.SQLException;
+
+/**
+ * Function that may throw {@link SQLException}, used for connection-scoped work.
+ * 
+ * @param <T> input type
+ * @param <R> result type
+ */
+@FunctionalInterface
+public interface SqlFunction<T, R> {
+    
+    R apply(T t) throws SQLException;
+}
@@ -0,0 +1,279 @@
+package com.xenderz.xzcore.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-writer lane for SQLite.
+ * 
+ * <p>SQLite allows one writer at a time; concurrent writers on separate pool
+ * connections only serialize through {@code busy_timeout}, stalling for
+ * seconds or failing with {@code SQLITE_BUSY}. This lane runs every write on
+ * one dedicated thread and group-commits whatever is queued into a shared
+ * transaction. Each write runs inside its own savepoint, so one failing write
+ * is rolled back alone and does not affect the others in its group.
+ * 
+ * <p>The writer borrows a single pool connection per group; the remaining pool
+ * connections are left to WAL readers. Futures are completed on the
+ * completion executor so that callbacks never stall the writer thread.
+ */
+final class SqliteWriter {
+    
+    private final ConnectionSource connections;
+    private final Executor completions;
+    private final Logger logger;
+    private final int maxGroupSize;
+    private final BlockingQueue<WriteTask<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    
+    // Statistics
+    private final AtomicLong groups = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedGroups = new AtomicLong();
+    private volatile int lastGroupSize = 0;
+    private volatile long lastCommitMillis = 0;
+    
+    SqliteWriter(ConnectionSource connections, Executor completions, Logger logger, int maxGroupSize) {
+        this.connections = connections;
+        this.completions = completions;
+        this.logger = logger;
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.thread = new Thread(this::run, "XzCore-DB-Writer");
+        this.thread.setDaemon(true);
+    }
+    
+    void start() {
+        thread.start();
+    }
+    
+    /**
+     * Queue a write.
+     * 
+     * <p>The returned future completes once the group containing the write has
+     * been committed. The work must not commit, roll back or change auto-commit
+     * on the connection.
+     * 
+     * <p>The sample, if given, is started when the writer picks the write up
+     * for a group, and acquired once the group's connection is open and the
+     * writes ahead of it in the group are done.
+     * 
+     * @param failureMessage message logged if the write fails
+     * @param sample timing of the write, or null
+     * @param work write to run
+     * @return future with the work's result
+     */
+    <T> CompletableFuture<T> submit(String failureMessage, QueryMetrics.Sample sample, SqlFunction<Connection, T> work) {
+        WriteTask<T> task = new WriteTask<>(failureMessage, sample, work);
+        if (!running) {
+            task.future.completeExceptionally(new RejectedExecutionException("SQLite writer is shut down"));
+            return task.future;
+        }
+        queue.add(task);
+        
+        // Raced with shutdown(): if the task is still queued nobody will take it.
+        // Otherwise the writer picked it up or shutdown() failed it.
+        if (!running && queue.remove(task)) {
+            task.future.completeExceptionally(new RejectedExecutionException("SQLite writer is shut down"));
+        }
+        return task.future;
+    }
+    
+    /**
+     * Stop accepting writes and commit everything already queued.
+     * 
+     * @param timeout maximum time to wait for queued writes
+     * @param unit time unit
+     */
+    void shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        try {
+            thread.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Anything left was submitted too late or the writer timed out
+        List<WriteTask<?>> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (WriteTask<?> task : leftover) {
+            task.future.completeExceptionally(new RejectedExecutionException("SQLite writer is shut down"));
+        }
+    }
+    
+    private void run() {
+        List<WriteTask<?>> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            WriteTask<?> first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            
+            group.add(first);
+            queue.drainTo(group, maxGroupSize - 1);
+            for (WriteTask<?> task : group) {
+                task.started();
+            }
+            commitGroup(group);
+            group.clear();
+        }
+    }
+    
+    private void commitGroup(List<WriteTask<?>> group) {
+        long start = System.nanoTime();
+        
+        try (Connection conn = connections.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (WriteTask<?> task : group) {
+                    task.acquired();
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        task.apply(conn);
+                        conn.releaseSavepoint(savepoint);
+                    } catch (SQLException | RuntimeException e) {
+                        conn.rollback(savepoint);
+                        task.fail(e, logger);
+                    } finally {
+                        task.finished();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            failedGroups.incrementAndGet();
+            logger.log(Level.WARNING, "SQLite group commit of " + group.size() + " writes failed", e);
+            for (WriteTask<?> task : group) {
+                task.fail(e, null);
+                task.finished();
+            }
+        } finally {
+            lastGroupSize = group.size();
+            lastCommitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            groups.incrementAndGet();
+            writes.addAndGet(group.size());
+        }
+        
+        // Failures too, so that no callback runs on the writer thread
+        List<WriteTask<?>> done = List.copyOf(group);
+        try {
+            completions.execute(() -> done.forEach(WriteTask::complete));
+        } catch (RejectedExecutionException e) {
+            done.forEach(WriteTask::complete);
+        }
+    }
+    
+    /**
+     * Number of writes waiting for the next group.
+     */
+    int getQueueDepth() {
+        return queue.size();
+    }
+    
+    /**
+     * Get writer statistics.
+     */
+    String getStats() {
+        long groupCount = groups.get();
+        return String.format("Queued: %d, Groups: %d (%d failed), Writes: %d (%.1f/group), Last: %d in %dms",
+            queue.size(),
+            groupCount,
+            failedGroups.get(),
+            writes.get(),
+            groupCount == 0 ? 0.0 : (double) writes.get() / groupCount,
+            lastGroupSize,
+            lastCommitMillis
+        );
+    }
+    
+    /**
+     * Source of pooled connections.
+     */
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+    
+    private static final class WriteTask<T> {
+        private final String failureMessage;
+        private final QueryMetrics.Sample sample;
+        private final SqlFunction<Connection, T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Exception error;
+        private boolean finished;
+        
+        private WriteTask(String failureMessage, QueryMetrics.Sample sample, SqlFunction<Connection, T> work) {
+            this.failureMessage = failureMessage;
+            this.sample = sample;
+            this.work = work;
+        }
+        
+        private void started() {
+            if (sample != null) {
+                sample.started();
+            }
+        }
+        
+        private void acquired() {
+            if (sample != null) {
+                sample.acquired();
+            }
+        }
+        
+        /**
+         * Finish the sample once, whether the write ran or its group failed first.
+         */
+        private void finished() {
+            if (sample != null && !finished) {
+                finished = true;
+                sample.finish();
+            }
+        }
+        
+        private void apply(Connection conn) throws SQLException {
+            result = work.apply(conn);
+        }
+        
+        private void complete() {
+            if (error != null) {
+                future.completeExceptionally(error instanceof RuntimeException ? error : new RuntimeException(error));
+            } else {
+                future.complete(result);
+            }
+        }
+        
+        /**
+         * Record a failure; the first one wins. The future is completed by {@link #complete}.
+         */
+        private void fail(Exception e, Logger logger) {
+            if (error != null) {
+                return;
+            }
+            if (logger != null) {
+                logger.log(Level.WARNING, failureMessage, e);
+            }
+            error = e;
+        }
+    }
+}
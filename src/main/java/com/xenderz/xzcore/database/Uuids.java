@@ -0,0 +1,61 @@
+package com.xenderz.xzcore.database;
+
+import java.util.UUID;
+
+/**
+ * Conversion between {@link UUID}s and their 16-byte column form.
+ * 
+ * <p>Bytes are big-endian: most significant bits first. The binary UUID
+ * migration converts text columns through {@link #toBytes}, so migrated rows
+ * have this same layout and compare equal to rows written later.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * stmt.setBytes(1, Uuids.toBytes(player.getUniqueId()));
+ * UUID uuid = Uuids.fromBytes(rs.getBytes("uuid"));
+ * }</pre>
+ */
+public final class Uuids {
+    
+    public static final int BYTES = 16;
+    
+    private Uuids() {
+    }
+    
+    /**
+     * Encode a UUID.
+     * 
+     * @param uuid UUID
+     * @return 16 bytes
+     */
+    public static byte[] toBytes(UUID uuid) {
+        byte[] bytes = new byte[BYTES];
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (msb >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (lsb >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+    
+    /**
+     * Decode a UUID.
+     * 
+     * @param bytes 16 bytes
+     * @return UUID
+     * @throws IllegalArgumentException if the array is not 16 bytes long
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("UUID column must be " + BYTES + " bytes");
+        }
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (bytes[i] & 0xff);
+            lsb = (lsb << 8) | (bytes[i + 8] & 0xff);
+        }
+        return new UUID(msb, lsb);
+    }
+}
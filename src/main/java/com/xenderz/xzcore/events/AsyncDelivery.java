@@ -0,0 +1,230 @@
+package com.xenderz.xzcore.events;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Queues events for one asynchronous subscriber.
+ * 
+ * <p>{@link SubscriptionOptions.Mode#ASYNC} uses a single queue drained by at
+ * most one worker at a time, so the pool never holds more than one task per
+ * subscriber. {@link SubscriptionOptions.Mode#ASYNC_ORDERED} keeps a serial
+ * lane per key in the same way, and a lane is removed as soon as it is empty,
+ * so keys such as player UUIDs do not accumulate.
+ */
+final class AsyncDelivery {
+    
+    // Events a worker handles before yielding a busy lane back to the pool
+    private static final int LANE_BATCH = 64;
+    private static final Object NULL_KEY = new Object();
+    
+    private final SubscriptionOptions<?> options;
+    private final Function<Object, ?> key;
+    private final Executor executor;
+    private final Consumer<Object> target;
+    
+    // ASYNC
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    // Whether a worker owns the pending queue
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // ASYNC_ORDERED
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    
+    // Statistics
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxLaneDepth = new AtomicInteger();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    @SuppressWarnings("unchecked")
+    AsyncDelivery(SubscriptionOptions<?> options, Executor executor, Consumer<Object> target) {
+        this.options = options;
+        this.key = (Function<Object, ?>) options.getKey();
+        this.executor = executor;
+        this.target = target;
+    }
+    
+    void submit(Object event) {
+        if (options.getMode() == SubscriptionOptions.Mode.ASYNC_ORDERED) {
+            submitOrdered(event);
+        } else {
+            submitUnordered(event);
+        }
+    }
+    
+    private void submitUnordered(Object event) {
+        int depth = queued.incrementAndGet();
+        if (depth > options.getQueueCapacity()) {
+            if (options.getDropPolicy() == SubscriptionOptions.DropPolicy.DROP_NEWEST || pending.poll() == null) {
+                queued.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            queued.decrementAndGet();
+            dropped.increment();
+            depth--;
+        }
+        pending.add(event);
+        recordDepth(depth);
+        
+        if (scheduled.compareAndSet(false, true)) {
+            execute(this::drainPending);
+        }
+    }
+    
+    private void drainPending() {
+        int handled = 0;
+        while (true) {
+            Object next = pending.poll();
+            if (next == null) {
+                scheduled.set(false);
+                // An event added after the poll but before the release has no worker yet
+                if (pending.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            queued.decrementAndGet();
+            run(next);
+            
+            // Same yielding as ordered lanes
+            if (++handled == LANE_BATCH) {
+                try {
+                    executor.execute(this::drainPending);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    handled = 0;
+                }
+            }
+        }
+    }
+    
+    private void submitOrdered(Object event) {
+        Object laneKey = key.apply(event);
+        if (laneKey == null) {
+            laneKey = NULL_KEY;
+        }
+        
+        boolean[] schedule = {false};
+        Lane lane = lanes.compute(laneKey, (k, current) -> {
+            Lane l = current != null ? current : new Lane(k);
+            if (l.queue.size() >= options.getQueueCapacity()) {
+                dropped.increment();
+                if (options.getDropPolicy() == SubscriptionOptions.DropPolicy.DROP_NEWEST) {
+                    return l;
+                }
+                l.queue.poll();
+                queued.decrementAndGet();
+            }
+            l.queue.add(event);
+            queued.incrementAndGet();
+            recordDepth(l.queue.size());
+            if (!l.scheduled) {
+                l.scheduled = true;
+                schedule[0] = true;
+            }
+            return l;
+        });
+        
+        if (schedule[0]) {
+            execute(() -> drain(lane));
+        }
+    }
+    
+    private void drain(Lane lane) {
+        Object[] next = new Object[1];
+        int handled = 0;
+        while (true) {
+            // Polling under the map lock keeps submit from seeing a lane that is being retired
+            next[0] = null;
+            lanes.computeIfPresent(lane.key, (k, l) -> {
+                next[0] = l.queue.poll();
+                if (next[0] == null) {
+                    l.scheduled = false;
+                    return null;
+                }
+                return l;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            run(next[0]);
+            
+            // Still busy: requeue so other lanes get a turn. While the bus
+            // shuts down the pool takes no new tasks, so finish the lane here.
+            if (++handled == LANE_BATCH) {
+                try {
+                    executor.execute(() -> drain(lane));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    handled = 0;
+                }
+            }
+        }
+    }
+    
+    private void run(Object event) {
+        target.accept(event);
+        delivered.increment();
+    }
+    
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Bus is shut down; the event is lost
+            dropped.increment();
+        }
+    }
+    
+    private void recordDepth(int depth) {
+        int max;
+        while (depth > (max = maxLaneDepth.get())) {
+            if (maxLaneDepth.compareAndSet(max, depth)) {
+                break;
+            }
+        }
+    }
+    
+    int getLaneCount() {
+        return options.getMode() == SubscriptionOptions.Mode.ASYNC_ORDERED ? lanes.size() : 1;
+    }
+    
+    int getQueued() {
+        return Math.max(0, queued.get());
+    }
+    
+    int getMaxLaneDepth() {
+        return maxLaneDepth.get();
+    }
+    
+    long getDelivered() {
+        return delivered.sum();
+    }
+    
+    long getDropped() {
+        return dropped.sum();
+    }
+    
+    private static final class Lane {
+        final Object key;
+        final ArrayDeque<Object> queue = new ArrayDeque<>();
+        // Whether a worker owns this lane; only changed under the map lock
+        boolean scheduled;
+        
+        Lane(Object key) {
+            this.key = key;
+        }
+    }
+}
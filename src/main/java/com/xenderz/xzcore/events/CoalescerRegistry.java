@@ -0,0 +1,159 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The coalescible event classes of a bus and the per-tick flush that
+ * delivers their merged events.
+ * 
+ * <p>The tick task only runs while at least one class is registered.
+ */
+final class CoalescerRegistry {
+    
+    /**
+     * Runs a task once per tick, on the server thread.
+     */
+    @FunctionalInterface
+    interface Ticker {
+        /**
+         * @param task task to run every tick
+         * @return cancels the task
+         */
+        Runnable everyTick(Runnable task);
+    }
+    
+    private final Map<Class<?>, EventCoalescer<?>> coalescers = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+    private final Consumer<Object> dispatcher;
+    
+    // Guarded by this
+    private Runnable cancelTick;
+    
+    /**
+     * @param ticker starts the per-tick flush
+     * @param dispatcher delivers a merged event to its subscribers
+     */
+    CoalescerRegistry(Ticker ticker, Consumer<Object> dispatcher) {
+        this.ticker = ticker;
+        this.dispatcher = dispatcher;
+    }
+    
+    /**
+     * Merge an event into its class's pending events, if the class is coalesced.
+     * 
+     * @return false if the event must be delivered directly
+     */
+    boolean offer(Object event) {
+        if (coalescers.isEmpty()) {
+            return false;
+        }
+        EventCoalescer<?> coalescer = coalescers.get(event.getClass());
+        if (coalescer == null) {
+            return false;
+        }
+        coalescer.add(event);
+        return true;
+    }
+    
+    <T> void register(Plugin plugin, Class<T> eventClass, Function<? super T, ?> key, BinaryOperator<T> merge) {
+        EventCoalescer<T> coalescer = new EventCoalescer<>(plugin, eventClass, key, merge);
+        if (coalescers.putIfAbsent(eventClass, coalescer) != null) {
+            throw new IllegalArgumentException(eventClass.getName() + " is already coalesced");
+        }
+        
+        synchronized (this) {
+            if (cancelTick == null) {
+                cancelTick = ticker.everyTick(this::flush);
+            }
+        }
+    }
+    
+    /**
+     * Stop coalescing a class and deliver its pending events.
+     */
+    void unregister(Class<?> eventClass) {
+        EventCoalescer<?> coalescer = coalescers.remove(eventClass);
+        if (coalescer != null) {
+            coalescer.flush(dispatcher);
+            stopIdleTick();
+        }
+    }
+    
+    /**
+     * Drop every class registered by a plugin. Pending events are discarded:
+     * their classes belong to the plugin.
+     */
+    void unregisterAll(Plugin plugin) {
+        if (coalescers.values().removeIf(coalescer -> coalescer.plugin == plugin)) {
+            stopIdleTick();
+        }
+    }
+    
+    /**
+     * Deliver every pending merged event.
+     */
+    void flush() {
+        for (EventCoalescer<?> coalescer : coalescers.values()) {
+            coalescer.flush(dispatcher);
+        }
+    }
+    
+    /**
+     * Stop the tick task, deliver what was merged since the last tick and
+     * drop every registration.
+     */
+    void shutdown() {
+        synchronized (this) {
+            if (cancelTick != null) {
+                cancelTick.run();
+                cancelTick = null;
+            }
+        }
+        flush();
+        coalescers.clear();
+    }
+    
+    /**
+     * Cancel the per-tick flush once no event class is coalesced.
+     */
+    private synchronized void stopIdleTick() {
+        if (coalescers.isEmpty() && cancelTick != null) {
+            cancelTick.run();
+            cancelTick = null;
+        }
+    }
+    
+    boolean isEmpty() {
+        return coalescers.isEmpty();
+    }
+    
+    int getPending() {
+        int pending = 0;
+        for (EventCoalescer<?> coalescer : coalescers.values()) {
+            pending += coalescer.getPending();
+        }
+        return pending;
+    }
+    
+    long getPosted() {
+        long posted = 0;
+        for (EventCoalescer<?> coalescer : coalescers.values()) {
+            posted += coalescer.getPosted();
+        }
+        return posted;
+    }
+    
+    long getDelivered() {
+        long delivered = 0;
+        for (EventCoalescer<?> coalescer : coalescers.values()) {
+            delivered += coalescer.getDelivered();
+        }
+        return delivered;
+    }
+}
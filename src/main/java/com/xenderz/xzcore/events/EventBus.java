@@ -1,21 +1,32 @@
 package com.xenderz.xzcore.events;
 
 import org.bukkit.plugin.java.JavaPlugin;
+import com.xenderz.xzcore.config.ConfigurationManager;
 import com.xenderz.xzcore.service.Service;
 import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
-import org.bukkit.plugin.EventExecutor;
-import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
-import java.util.logging.Level;
+import java.util.function.Function;
+import java.util.logging.Logger;
 
 /**
  * Event bus for inter-plugin communication within the XzPlugin suite.
@@ -31,22 +42,114 @@ import java.util.logging.Level;
  * });
  * }</pre>
  * 
- * <p>Events are posted on the Bukkit event bus for compatibility.
+ * <p>{@link XzEvent}s are dispatched directly: each subscriber runs exactly
+ * once from an immutable handler array, without Bukkit's {@code HandlerList}
+ * locking. They reach Bukkit listeners only through an opt-in
+ * {@link #bridgeToBukkit bridge}. Bukkit events are posted on the Bukkit
+ * event bus, and subscriptions to them are Bukkit registrations.
+ * 
+ * <p>A subscription to an XzEvent class also receives its subclasses, and a
+ * subscription to an interface receives every XzEvent implementing it. The
+ * subscribers for each concrete event class are resolved on its first post
+ * and cached, ordered by {@link EventPriority}, until the next subscribe or
+ * unsubscribe.
+ * 
+ * <p>Subscribers may also run off the posting thread (see
+ * {@link SubscriptionOptions}): asynchronous subscribers are queued on a
+ * small worker pool, optionally in serial lanes per key so that events for
+ * one player keep their order. Lane depth and drops are reported by
+ * {@link #getLaneStats()}.
+ * 
+ * <p>Every subscription and bridge is indexed by its owning plugin and
+ * removed when that plugin is disabled, together with cached references to
+ * the plugin's event classes, so reloading a dependent plugin leaves no stale
+ * handlers or classloaders behind.
+ * 
+ * <p>High-frequency XzEvents can be registered as coalescible with
+ * {@link #registerCoalescing}: posts are merged per key and delivered once
+ * per tick.
+ * 
+ * <p>Optional timing ({@code events.timing} in config.yml, or
+ * {@link #setTimingEnabled}) records invocation counts and times per
+ * subscriber and logs handlers that exceed a budget. When it is off, a
+ * delivery costs one extra volatile read.
  */
 public class EventBus implements Service, Listener {
     
+    private static final EventSubscriber<?>[] NO_SUBSCRIBERS = new EventSubscriber<?>[0];
+    
     private final JavaPlugin plugin;
+    private final ConfigurationManager config;
+    private final Logger logger;
+    private volatile ExecutorService asyncExecutor;
     private boolean initialized = false;
     
-    // Store subscribers for XzCore events
-    private final Map<Class<?>, Set<Consumer<?>>> subscribers = new ConcurrentHashMap<>();
+    // XzEvent subscribers by subscribed class, guarded by the bus
+    private final Map<Class<?>, List<EventSubscriber<?>>> subscribers = new HashMap<>();
+    // Resolved subscribers by posted class; arrays are never modified
+    private final Map<Class<?>, EventSubscriber<?>[]> dispatch = new ConcurrentHashMap<>();
+    private long subscriberSequence = 0;
+    // All subscriptions (XzEvent and Bukkit) by owning plugin, guarded by the bus
+    private final Map<Plugin, List<EventSubscriber<?>>> pluginSubscribers = new HashMap<>();
+    // Opt-in conversions of XzEvents for Bukkit listeners
+    private final Map<Class<?>, BukkitBridge> bukkitBridges = new ConcurrentHashMap<>();
+    // Coalescible event classes, flushed every tick while any are registered
+    private final CoalescerRegistry coalescing;
+    
+    // Handler timing
+    private static final long SLOW_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    volatile boolean timingEnabled;
+    private volatile long timingBudgetNanos;
     
-    public EventBus(JavaPlugin plugin) {
+    public EventBus(JavaPlugin plugin, ConfigurationManager config) {
         this.plugin = plugin;
+        this.config = config;
+        this.logger = plugin.getLogger();
+        this.coalescing = new CoalescerRegistry(task -> {
+            BukkitTask tick = plugin.getServer().getScheduler().runTaskTimer(plugin, task, 1L, 1L);
+            return tick::cancel;
+        }, this::deliver);
+    }
+    
+    /**
+     * Create a running bus that is not registered with Bukkit.
+     * 
+     * <p>Only XzEvents can be posted and subscribed; coalescing needs
+     * {@link #EventBus(Logger, ExecutorService, CoalescerRegistry.Ticker)}
+     * and Bukkit bridges need the full service.
+     */
+    EventBus(Logger logger, ExecutorService asyncExecutor) {
+        this(logger, asyncExecutor, task -> {
+            throw new IllegalStateException("Coalescing needs a tick source");
+        });
+    }
+    
+    /**
+     * Create a running bus that is not registered with Bukkit and flushes
+     * coalesced events from the given tick source.
+     */
+    EventBus(Logger logger, ExecutorService asyncExecutor, CoalescerRegistry.Ticker ticker) {
+        this.plugin = null;
+        this.config = null;
+        this.logger = logger;
+        this.asyncExecutor = asyncExecutor;
+        this.coalescing = new CoalescerRegistry(ticker, this::deliver);
+        this.initialized = true;
     }
     
     @Override
     public void initialize() {
+        timingEnabled = config.getBoolean("events.timing.enabled", false);
+        timingBudgetNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(1L, config.getLong("events.timing.budget-micros", 1000)));
+        
+        int threads = Math.max(1, config.getInt("events.async-threads", 2));
+        AtomicInteger threadCount = new AtomicInteger();
+        asyncExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "XzCore-Events-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        
         // Register as Bukkit listener for compatibility
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
         initialized = true;
@@ -54,8 +157,33 @@ public class EventBus implements Service, Listener {
     
     @Override
     public void shutdown() {
+        // Deliver what was merged since the last tick
+        coalescing.shutdown();
+        
         // Unregister all subscribers
-        subscribers.clear();
+        synchronized (this) {
+            for (List<EventSubscriber<?>> owned : new ArrayList<>(pluginSubscribers.values())) {
+                for (EventSubscriber<?> subscriber : new ArrayList<>(owned)) {
+                    remove(subscriber);
+                }
+            }
+        }
+        bukkitBridges.clear();
+        
+        // Let queued async deliveries finish
+        ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    logger.warning("Async event subscribers did not finish within 5 seconds");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
         initialized = false;
     }
     
@@ -70,74 +198,447 @@ public class EventBus implements Service, Listener {
     }
     
     /**
-     * Post an event to all subscribers.
+     * Post an XzEvent to its subscribers.
      * 
-     * <p>This calls Bukkit's event system for maximum compatibility.
+     * <p>Each subscriber receives the event exactly once; synchronous
+     * subscribers run on the calling thread before this returns. If a Bukkit
+     * bridge is registered for the event class, the converted event is then
+     * posted to Bukkit.
+     * 
+     * <p>Events of a {@link #registerCoalescing coalescible} class are merged
+     * and delivered on the next tick instead.
      * 
      * @param <T> event type
      * @param event the event to post
      */
-    public <T extends Event> void post(T event) {
+    public <T extends XzEvent> void post(T event) {
         if (!initialized) {
             throw new IllegalStateException("EventBus not initialized");
         }
         
-        // Post to Bukkit event system
-        plugin.getServer().getPluginManager().callEvent(event);
+        if (coalescing.offer(event)) {
+            return;
+        }
+        deliver(event);
+    }
+    
+    private void deliver(Object event) {
+        EventSubscriber<?>[] eventSubscribers = dispatch.get(event.getClass());
+        if (eventSubscribers == null) {
+            eventSubscribers = resolve(event.getClass());
+        }
+        for (EventSubscriber<?> subscriber : eventSubscribers) {
+            subscriber.deliver(event);
+        }
         
-        // Also notify XzCore subscribers
-        @SuppressWarnings("unchecked")
-        Set<Consumer<T>> eventSubscribers = (Set<Consumer<T>>) (Set<?>) subscribers.get(event.getClass());
-        if (eventSubscribers != null) {
-            for (Consumer<T> subscriber : eventSubscribers) {
-                try {
-                    subscriber.accept(event);
-                } catch (Exception e) {
-                    plugin.getLogger().log(Level.WARNING, 
-                        "Error in event subscriber for " + event.getClass().getSimpleName() + ": " + e.getMessage(), e);
-                }
+        if (!bukkitBridges.isEmpty()) {
+            BukkitBridge bridge = bukkitBridges.get(event.getClass());
+            if (bridge != null) {
+                plugin.getServer().getPluginManager().callEvent(bridge.converter().apply(event));
             }
         }
     }
     
+    /**
+     * Build the dispatch array for a posted class from every subscribed
+     * supertype and interface.
+     */
+    private synchronized EventSubscriber<?>[] resolve(Class<?> eventClass) {
+        // Invalidation also holds the lock, so a cached array is never stale
+        EventSubscriber<?>[] resolved = dispatch.get(eventClass);
+        if (resolved != null) {
+            return resolved;
+        }
+        
+        List<EventSubscriber<?>> matching = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<EventSubscriber<?>>> entry : subscribers.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClass)) {
+                matching.addAll(entry.getValue());
+            }
+        }
+        matching.sort(EventSubscriber.ORDER);
+        resolved = matching.isEmpty() ? NO_SUBSCRIBERS : matching.toArray(EventSubscriber<?>[]::new);
+        dispatch.put(eventClass, resolved);
+        return resolved;
+    }
+    
+    /**
+     * Post a Bukkit event.
+     * 
+     * <p>This calls Bukkit's event system; subscribers registered through
+     * {@link #subscribe} for Bukkit events are Bukkit listeners and run there.
+     * 
+     * @param <T> event type
+     * @param event the event to post
+     */
+    public <T extends Event> void post(T event) {
+        if (!initialized) {
+            throw new IllegalStateException("EventBus not initialized");
+        }
+        
+        plugin.getServer().getPluginManager().callEvent(event);
+    }
+    
+    /**
+     * Subscribe to events of a specific type at {@link EventPriority#NORMAL}.
+     * 
+     * @param <T> event type
+     * @param plugin the subscribing plugin (for lifecycle management)
+     * @param eventClass the event class to subscribe to
+     * @param handler the event handler
+     * @return handle to unsubscribe with
+     */
+    public <T> Subscription subscribe(Plugin plugin, Class<T> eventClass, Consumer<T> handler) {
+        return subscribe(plugin, eventClass, SubscriptionOptions.sync(), handler);
+    }
+    
     /**
      * Subscribe to events of a specific type.
      * 
+     * <p>{@link XzEvent} classes and interfaces use the direct dispatcher;
+     * Bukkit {@link Event} classes are registered with Bukkit. Subscribers
+     * run from {@link EventPriority#LOWEST} to {@link EventPriority#MONITOR},
+     * in subscription order within a priority.
+     * 
+     * @param <T> event type
+     * @param plugin the subscribing plugin (for lifecycle management)
+     * @param eventClass the event class to subscribe to
+     * @param priority the dispatch priority
+     * @param handler the event handler
+     * @return handle to unsubscribe with
+     */
+    public <T> Subscription subscribe(Plugin plugin, Class<T> eventClass, EventPriority priority, Consumer<T> handler) {
+        return subscribe(plugin, eventClass, SubscriptionOptions.<T>sync().withPriority(priority), handler);
+    }
+    
+    /**
+     * Subscribe to events of a specific type with an execution mode.
+     * 
+     * <p>Asynchronous subscribers must not touch the Bukkit API; Bukkit
+     * events handed to them may still be modified by later listeners.
+     * 
      * @param <T> event type
      * @param plugin the subscribing plugin (for lifecycle management)
      * @param eventClass the event class to subscribe to
+     * @param options execution mode, priority and queueing
      * @param handler the event handler
+     * @return handle to unsubscribe with
      */
-    public <T extends Event> void subscribe(Plugin plugin, Class<T> eventClass, Consumer<T> handler) {
-        subscribers.computeIfAbsent(eventClass, k -> new CopyOnWriteArraySet<>()).add(handler);
+    public <T> Subscription subscribe(Plugin plugin, Class<T> eventClass, SubscriptionOptions<T> options, Consumer<T> handler) {
+        boolean bukkitEvent = Event.class.isAssignableFrom(eventClass);
+        if (!bukkitEvent && !XzEvent.class.isAssignableFrom(eventClass) && !eventClass.isInterface()) {
+            throw new IllegalArgumentException(eventClass.getName() + " is neither an XzEvent nor a Bukkit event");
+        }
         
-        // Also register with Bukkit for compatibility
-        plugin.getServer().getPluginManager().registerEvent(
+        synchronized (this) {
+            EventSubscriber<T> subscriber = new EventSubscriber<>(this, plugin, eventClass, options, handler, 
+                subscriberSequence++, logger);
+            if (bukkitEvent) {
+                subscribeBukkit(subscriber);
+            } else {
+                subscribers.computeIfAbsent(eventClass, type -> new ArrayList<>()).add(subscriber);
+                dispatch.clear();
+            }
+            pluginSubscribers.computeIfAbsent(plugin, owner -> new ArrayList<>()).add(subscriber);
+            return subscriber;
+        }
+    }
+    
+    private void subscribeBukkit(EventSubscriber<?> subscriber) {
+        // One listener per subscription so that it can be unregistered on its own
+        Listener listener = new Listener() {};
+        Class<? extends Event> eventClass = subscriber.eventClass.asSubclass(Event.class);
+        subscriber.plugin.getServer().getPluginManager().registerEvent(
             eventClass, 
-            new Listener() {}, 
-            EventPriority.NORMAL, 
-            (listener, event) -> {
+            listener, 
+            subscriber.priority, 
+            (registered, event) -> {
                 if (eventClass.isInstance(event)) {
-                    handler.accept(eventClass.cast(event));
+                    subscriber.deliver(event);
                 }
             }, 
-            plugin
+            subscriber.plugin
         );
+        subscriber.bukkitListener = listener;
+    }
+    
+    void executeAsync(Runnable task) {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            throw new RejectedExecutionException("EventBus not initialized");
+        }
+        executor.execute(task);
     }
     
     /**
      * Unsubscribe a handler from events.
      * 
+     * <p>Prefer {@link Subscription#unsubscribe()}; this removes every
+     * subscription of the handler to the class.
+     * 
      * @param <T> event type
      * @param eventClass the event class
      * @param handler the handler to remove
      */
-    public <T extends Event> void unsubscribe(Class<T> eventClass, Consumer<T> handler) {
-        @SuppressWarnings("unchecked")
-        Set<Consumer<T>> eventSubscribers = (Set<Consumer<T>>) (Set<?>) subscribers.get(eventClass);
-        if (eventSubscribers != null) {
-            eventSubscribers.remove(handler);
+    public <T> void unsubscribe(Class<T> eventClass, Consumer<T> handler) {
+        List<EventSubscriber<?>> matching = new ArrayList<>();
+        synchronized (this) {
+            for (List<EventSubscriber<?>> owned : pluginSubscribers.values()) {
+                for (EventSubscriber<?> subscriber : owned) {
+                    if (subscriber.eventClass == eventClass && subscriber.handler == handler) {
+                        matching.add(subscriber);
+                    }
+                }
+            }
+            for (EventSubscriber<?> subscriber : matching) {
+                remove(subscriber);
+            }
+        }
+    }
+    
+    /**
+     * Remove every subscription owned by a plugin.
+     * 
+     * <p>Called automatically when the plugin is disabled.
+     * 
+     * @param plugin the owning plugin
+     * @return number of subscriptions removed
+     */
+    public synchronized int unsubscribeAll(Plugin plugin) {
+        List<EventSubscriber<?>> owned = pluginSubscribers.get(plugin);
+        if (owned == null) {
+            return 0;
+        }
+        List<EventSubscriber<?>> removed = new ArrayList<>(owned);
+        for (EventSubscriber<?> subscriber : removed) {
+            remove(subscriber);
+        }
+        return removed.size();
+    }
+    
+    /**
+     * Get the active subscriptions owned by a plugin.
+     * 
+     * @param plugin the owning plugin
+     * @return snapshot of the plugin's subscriptions
+     */
+    public synchronized List<Subscription> getSubscriptions(Plugin plugin) {
+        List<EventSubscriber<?>> owned = pluginSubscribers.get(plugin);
+        return owned == null ? List.of() : List.copyOf(owned);
+    }
+    
+    synchronized void remove(EventSubscriber<?> subscriber) {
+        if (!subscriber.active) {
+            return;
+        }
+        subscriber.active = false;
+        
+        if (subscriber.bukkitListener != null) {
+            HandlerList.unregisterAll(subscriber.bukkitListener);
+        } else {
+            List<EventSubscriber<?>> eventSubscribers = subscribers.get(subscriber.eventClass);
+            if (eventSubscribers != null && eventSubscribers.remove(subscriber)) {
+                if (eventSubscribers.isEmpty()) {
+                    subscribers.remove(subscriber.eventClass);
+                }
+                dispatch.clear();
+            }
+        }
+        
+        List<EventSubscriber<?>> owned = pluginSubscribers.get(subscriber.plugin);
+        if (owned != null && owned.remove(subscriber) && owned.isEmpty()) {
+            pluginSubscribers.remove(subscriber.plugin);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        Plugin disabled = event.getPlugin();
+        // Pending merged events are dropped: their classes belong to the disabled plugin
+        coalescing.unregisterAll(disabled);
+        
+        int removed = unsubscribeAll(disabled);
+        if (removed > 0) {
+            logger.fine("Removed " + removed + " event subscriptions of " + disabled.getName());
         }
+        forgetClasses(disabled);
+    }
+    
+    /**
+     * Drop the bridges of a disabled plugin and every cached reference to a
+     * class it loaded, so its classloader can be collected after a reload.
+     */
+    private synchronized void forgetClasses(Plugin disabled) {
+        ClassLoader loader = disabled.getClass().getClassLoader();
+        bukkitBridges.entrySet().removeIf(entry -> entry.getValue().plugin() == disabled
+            || entry.getKey().getClassLoader() == loader);
+        // Classes the plugin only posted are cached here without any subscriber
+        dispatch.keySet().removeIf(eventClass -> eventClass.getClassLoader() == loader);
+    }
+    
+    /**
+     * Also post an XzEvent to Bukkit, converted to a Bukkit event.
+     * 
+     * <p>Only needed when plugins outside the XzPlugin suite must see the
+     * event through regular {@code @EventHandler}s; bridged posts pay Bukkit's
+     * dispatch cost. The bridge is removed when the plugin is disabled.
+     * 
+     * @param <T> event type
+     * @param plugin the plugin that owns the bridge
+     * @param eventClass the XzEvent class to bridge
+     * @param converter creates the Bukkit event for each post
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends XzEvent> void bridgeToBukkit(Plugin plugin, Class<T> eventClass, 
+                                                  Function<? super T, ? extends Event> converter) {
+        bukkitBridges.put(eventClass, new BukkitBridge(plugin, (Function<Object, ? extends Event>) converter));
+    }
+    
+    /**
+     * Check whether posts of an XzEvent class are also posted to Bukkit.
+     */
+    boolean isBridged(Class<?> eventClass) {
+        return bukkitBridges.containsKey(eventClass);
+    }
+    
+    /**
+     * Check whether the dispatch array of a posted class is cached.
+     */
+    boolean isResolved(Class<?> eventClass) {
+        return dispatch.containsKey(eventClass);
+    }
+    
+    /**
+     * Merge posts of an XzEvent class per key and deliver them once per tick.
+     * 
+     * <p>Each post is folded into the pending event with the same key, and
+     * subscribers receive the merged event when the next tick starts, on the
+     * main thread. Use this for events that fire many times per tick where
+     * only the net effect matters, such as XP gained per player:
+     * <pre>{@code
+     * core.getEventBus().registerCoalescing(this, XpGainEvent.class,
+     *     XpGainEvent::getPlayerId,
+     *     (first, second) -> new XpGainEvent(first.getPlayerId(), first.getAmount() + second.getAmount()));
+     * }</pre>
+     * 
+     * <p>Merged events are delivered in no particular order across keys. The
+     * registration is removed when the plugin is disabled.
+     * 
+     * @param <T> event type (posted with exactly this class)
+     * @param plugin the plugin that owns the event class
+     * @param eventClass the event class to coalesce
+     * @param key extracts the merge key, for example the player UUID
+     * @param merge combines the pending event with a newer one
+     */
+    public <T extends XzEvent> void registerCoalescing(Plugin plugin, Class<T> eventClass, 
+                                                       Function<? super T, ?> key, BinaryOperator<T> merge) {
+        coalescing.register(plugin, eventClass, key, merge);
+    }
+    
+    /**
+     * Stop coalescing an event class. Pending merged events are delivered.
+     * 
+     * @param eventClass the event class
+     */
+    public void unregisterCoalescing(Class<? extends XzEvent> eventClass) {
+        coalescing.unregister(eventClass);
+    }
+    
+    /**
+     * Turn per-subscriber timing on or off. Collected timings are kept.
+     */
+    public void setTimingEnabled(boolean enabled) {
+        timingEnabled = enabled;
+    }
+    
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+    
+    /**
+     * Set the time a single handler invocation may take before it is
+     * reported as over budget.
+     */
+    public void setTimingBudget(long budget, TimeUnit unit) {
+        timingBudgetNanos = Math.max(1L, unit.toNanos(budget));
+    }
+    
+    void recordTiming(EventSubscriber<?> subscriber, Object event, long nanos) {
+        HandlerTiming timing = subscriber.timing;
+        if (!timing.record(nanos, timingBudgetNanos)) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        long last = timing.lastSlowLog.get();
+        // At most one line per subscriber every SLOW_LOG_INTERVAL_NANOS
+        if (last != 0 && now - last < SLOW_LOG_INTERVAL_NANOS || !timing.lastSlowLog.compareAndSet(last, now)) {
+            return;
+        }
+        long total = timing.getOverBudgetCount();
+        long suppressed = total - timing.slowLogged.getAndSet(total) - 1;
+        logger.warning(String.format(
+            "Slow event subscriber (%.2fms, budget %.2fms) of %s for %s on %s%s",
+            nanos / 1_000_000.0,
+            timingBudgetNanos / 1_000_000.0,
+            subscriber.plugin.getName(),
+            event instanceof XzEvent xzEvent ? xzEvent.getEventName() : event.getClass().getSimpleName(),
+            Thread.currentThread().getName(),
+            suppressed > 0 ? " (" + suppressed + " more since last report)" : ""
+        ));
+    }
+    
+    /**
+     * Get subscriber timings, highest total time first.
+     * 
+     * @param limit maximum number of subscribers
+     * @return timings (empty counts for subscribers never timed)
+     */
+    public List<HandlerTiming> getTimings(int limit) {
+        List<HandlerTiming> timings = new ArrayList<>();
+        synchronized (this) {
+            for (List<EventSubscriber<?>> owned : pluginSubscribers.values()) {
+                for (EventSubscriber<?> subscriber : owned) {
+                    timings.add(subscriber.timing);
+                }
+            }
+        }
+        timings.sort(Comparator.comparingLong(HandlerTiming::getTotalNanos).reversed());
+        return timings.subList(0, Math.min(limit, timings.size()));
+    }
+    
+    /**
+     * Clear all subscriber timings.
+     */
+    public synchronized void resetTimings() {
+        for (List<EventSubscriber<?>> owned : pluginSubscribers.values()) {
+            for (EventSubscriber<?> subscriber : owned) {
+                subscriber.timing.reset();
+            }
+        }
+    }
+    
+    /**
+     * Get subscriber timing summary.
+     */
+    public String getTimingStats() {
+        if (!timingEnabled) {
+            return "off";
+        }
+        long invocations = 0;
+        long totalNanos = 0;
+        long overBudget = 0;
+        int slowHandlers = 0;
+        for (HandlerTiming timing : getTimings(Integer.MAX_VALUE)) {
+            invocations += timing.getCount();
+            totalNanos += timing.getTotalNanos();
+            overBudget += timing.getOverBudgetCount();
+            if (timing.getOverBudgetCount() > 0) {
+                slowHandlers++;
+            }
+        }
+        return String.format("Invocations: %d, Total: %.1fms, Over budget: %d in %d handlers (budget %.2fms)", 
+            invocations, totalNanos / 1_000_000.0, overBudget, slowHandlers, timingBudgetNanos / 1_000_000.0);
     }
     
     /**
@@ -158,4 +659,60 @@ public class EventBus implements Service, Listener {
     public void unregisterListener(Listener listener) {
         HandlerList.unregisterAll(listener);
     }
+    
+    /**
+     * Queue statistics for every asynchronous subscriber.
+     */
+    public List<LaneStats> getLaneStats() {
+        List<EventSubscriber<?>> all = new ArrayList<>();
+        synchronized (this) {
+            for (List<EventSubscriber<?>> owned : pluginSubscribers.values()) {
+                all.addAll(owned);
+            }
+        }
+        
+        List<LaneStats> stats = new ArrayList<>();
+        for (EventSubscriber<?> subscriber : all) {
+            AsyncDelivery async = subscriber.async;
+            if (async != null) {
+                SubscriptionOptions<?> options = subscriber.options;
+                stats.add(new LaneStats(subscriber.plugin.getName(), subscriber.eventClass, options.getMode(), 
+                    options.getDropPolicy(), options.getQueueCapacity(), async.getLaneCount(), async.getQueued(), 
+                    async.getMaxLaneDepth(), async.getDelivered(), async.getDropped()));
+            }
+        }
+        return stats;
+    }
+    
+    /**
+     * Get event bus statistics.
+     */
+    public String getStats() {
+        int subscriberCount;
+        int pluginCount;
+        synchronized (this) {
+            subscriberCount = pluginSubscribers.values().stream().mapToInt(List::size).sum();
+            pluginCount = pluginSubscribers.size();
+        }
+        
+        List<LaneStats> lanes = getLaneStats();
+        int queued = 0;
+        int maxDepth = 0;
+        long dropped = 0;
+        for (LaneStats lane : lanes) {
+            queued += lane.queued();
+            maxDepth = Math.max(maxDepth, lane.maxLaneDepth());
+            dropped += lane.dropped();
+        }
+        String stats = String.format("Subscribers: %d (%d async) from %d plugins, Queued: %d, Max lane depth: %d, Dropped: %d", 
+            subscriberCount, lanes.size(), pluginCount, queued, maxDepth, dropped);
+        if (!coalescing.isEmpty()) {
+            stats += String.format(", Coalesced: %d posts into %d deliveries (%d pending)", 
+                coalescing.getPosted(), coalescing.getDelivered(), coalescing.getPending());
+        }
+        return stats;
+    }
+    
+    private record BukkitBridge(Plugin plugin, Function<Object, ? extends Event> converter) {
+    }
 }
@@ -0,0 +1,69 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Folds posts of one coalescible event class into one pending event per key
+ * until the next flush.
+ */
+final class EventCoalescer<T> {
+    
+    private static final Object NULL_KEY = new Object();
+    
+    final Plugin plugin;
+    final Class<T> eventClass;
+    private final Function<? super T, ?> key;
+    private final BinaryOperator<T> merge;
+    private final Map<Object, T> pending = new ConcurrentHashMap<>();
+    
+    // Statistics
+    private final LongAdder posted = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    
+    EventCoalescer(Plugin plugin, Class<T> eventClass, Function<? super T, ?> key, BinaryOperator<T> merge) {
+        this.plugin = plugin;
+        this.eventClass = eventClass;
+        this.key = key;
+        this.merge = merge;
+    }
+    
+    void add(Object event) {
+        T typed = eventClass.cast(event);
+        Object eventKey = key.apply(typed);
+        pending.merge(eventKey == null ? NULL_KEY : eventKey, typed, merge);
+        posted.increment();
+    }
+    
+    /**
+     * Hand every pending event to the dispatcher. Events posted meanwhile are
+     * either included or kept for the next flush.
+     */
+    void flush(Consumer<Object> dispatcher) {
+        for (Object pendingKey : pending.keySet()) {
+            T merged = pending.remove(pendingKey);
+            if (merged != null) {
+                delivered.increment();
+                dispatcher.accept(merged);
+            }
+        }
+    }
+    
+    int getPending() {
+        return pending.size();
+    }
+    
+    long getPosted() {
+        return posted.sum();
+    }
+    
+    long getDelivered() {
+        return delivered.sum();
+    }
+}
@@ -0,0 +1,113 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One handler registered on the {@link EventBus}.
+ */
+final class EventSubscriber<T> implements Subscription {
+    
+    /**
+     * Dispatch order: by priority, then by registration order.
+     */
+    static final Comparator<EventSubscriber<?>> ORDER = Comparator
+        .<EventSubscriber<?>>comparingInt(subscriber -> subscriber.priority.ordinal())
+        .thenComparingLong(subscriber -> subscriber.sequence);
+    
+    final Plugin plugin;
+    final Class<T> eventClass;
+    final SubscriptionOptions<T> options;
+    final EventPriority priority;
+    final Consumer<T> handler;
+    final long sequence;
+    private final EventBus bus;
+    private final Logger logger;
+    // Null for SYNC subscribers
+    final AsyncDelivery async;
+    final HandlerTiming timing;
+    // Set for subscriptions to Bukkit events
+    Listener bukkitListener;
+    // Cleared on unsubscribe; checked per delivery because cached dispatch
+    // arrays and async lanes may still hold this subscriber
+    volatile boolean active = true;
+    
+    EventSubscriber(EventBus bus, Plugin plugin, Class<T> eventClass, SubscriptionOptions<T> options, 
+                    Consumer<T> handler, long sequence, Logger logger) {
+        this.bus = bus;
+        this.plugin = plugin;
+        this.eventClass = eventClass;
+        this.options = options;
+        this.priority = options.getPriority();
+        this.handler = handler;
+        this.sequence = sequence;
+        this.logger = logger;
+        this.async = options.getMode() == SubscriptionOptions.Mode.SYNC 
+            ? null 
+            : new AsyncDelivery(options, bus::executeAsync, this::invoke);
+        this.timing = new HandlerTiming(plugin.getName(), eventClass, options.getMode());
+    }
+    
+    @Override
+    public void unsubscribe() {
+        bus.remove(this);
+    }
+    
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+    
+    @Override
+    public Plugin getPlugin() {
+        return plugin;
+    }
+    
+    @Override
+    public Class<?> getEventClass() {
+        return eventClass;
+    }
+    
+    /**
+     * Run the handler now or queue it, depending on the execution mode.
+     */
+    void deliver(Object event) {
+        if (async == null) {
+            invoke(event);
+        } else {
+            async.submit(event);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void invoke(Object event) {
+        if (!active) {
+            return;
+        }
+        try {
+            if (bus.timingEnabled) {
+                long start = System.nanoTime();
+                try {
+                    handler.accept((T) event);
+                } finally {
+                    bus.recordTiming(this, event, System.nanoTime() - start);
+                }
+            } else {
+                handler.accept((T) event);
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, 
+                "Error in event subscriber of " + plugin.getName() + " for " + eventName(event) + ": " + e.getMessage(), e);
+        }
+    }
+    
+    private static String eventName(Object event) {
+        return event instanceof XzEvent xzEvent ? xzEvent.getEventName() : event.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,99 @@
+package com.xenderz.xzcore.events;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation timing for one {@link EventBus} subscriber.
+ * 
+ * <p>Only recorded while {@link EventBus#setTimingEnabled timing} is on.
+ */
+public final class HandlerTiming {
+    
+    private final String plugin;
+    private final Class<?> eventClass;
+    private final SubscriptionOptions.Mode mode;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder overBudget = new LongAdder();
+    final AtomicLong lastSlowLog = new AtomicLong();
+    final AtomicLong slowLogged = new AtomicLong();
+    
+    HandlerTiming(String plugin, Class<?> eventClass, SubscriptionOptions.Mode mode) {
+        this.plugin = plugin;
+        this.eventClass = eventClass;
+        this.mode = mode;
+    }
+    
+    /**
+     * Record one invocation.
+     * 
+     * @return whether it exceeded the budget
+     */
+    boolean record(long nanos, long budgetNanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        if (nanos > budgetNanos) {
+            overBudget.increment();
+            return true;
+        }
+        return false;
+    }
+    
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        overBudget.reset();
+        slowLogged.set(0);
+    }
+    
+    public String getPlugin() {
+        return plugin;
+    }
+    
+    public Class<?> getEventClass() {
+        return eventClass;
+    }
+    
+    public SubscriptionOptions.Mode getMode() {
+        return mode;
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+    
+    public long getOverBudgetCount() {
+        return overBudget.sum();
+    }
+    
+    @Override
+    public String toString() {
+        long n = count.sum();
+        long total = totalNanos.sum();
+        return String.format("%s -> %s%s | n=%d total=%.1fms mean=%.3fms max=%.2fms over budget=%d",
+            plugin,
+            eventClass.getSimpleName(),
+            mode == SubscriptionOptions.Mode.SYNC ? "" : " (" + mode.name().toLowerCase(Locale.ROOT) + ")",
+            n,
+            total / 1_000_000.0,
+            n == 0 ? 0.0 : total / (n * 1_000_000.0),
+            maxNanos.get() / 1_000_000.0,
+            overBudget.sum()
+        );
+    }
+}
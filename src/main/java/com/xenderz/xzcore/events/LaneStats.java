@@ -0,0 +1,20 @@
+package com.xenderz.xzcore.events;
+
+/**
+ * Queue statistics for one asynchronous {@link EventBus} subscriber.
+ * 
+ * @param plugin owning plugin name
+ * @param eventClass subscribed event class
+ * @param mode execution mode
+ * @param dropPolicy policy applied when a lane is full
+ * @param queueCapacity maximum queued events per lane
+ * @param lanes active lanes (keys with queued or running events)
+ * @param queued events currently queued across all lanes
+ * @param maxLaneDepth deepest any lane has been
+ * @param delivered events handled
+ * @param dropped events discarded because a lane was full
+ */
+public record LaneStats(String plugin, Class<?> eventClass, SubscriptionOptions.Mode mode,
+                        SubscriptionOptions.DropPolicy dropPolicy, int queueCapacity, int lanes,
+                        int queued, int maxLaneDepth, long delivered, long dropped) {
+}
@@ -0,0 +1,48 @@
+package com.xenderz.xzcore.events;
+
+import com.xenderz.xzcore.player.PlayerData;
+
+/**
+ * Posted once per level change of a cached player, however many levels were
+ * gained at once.
+ * 
+ * <p>Posted on the thread that changed the experience.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * core.getEventBus().subscribe(this, PlayerLevelChangeEvent.class, event -> {
+ *     event.getPlayerData().sendMessage("Level up! " + event.getNewLevel());
+ * });
+ * }</pre>
+ */
+public class PlayerLevelChangeEvent extends XzEvent {
+    
+    private final PlayerData playerData;
+    private final int oldLevel;
+    private final int newLevel;
+    
+    public PlayerLevelChangeEvent(PlayerData playerData, int oldLevel, int newLevel) {
+        this.playerData = playerData;
+        this.oldLevel = oldLevel;
+        this.newLevel = newLevel;
+    }
+    
+    public PlayerData getPlayerData() {
+        return playerData;
+    }
+    
+    public int getOldLevel() {
+        return oldLevel;
+    }
+    
+    public int getNewLevel() {
+        return newLevel;
+    }
+    
+    /**
+     * Number of levels gained (negative if levels were lost).
+     */
+    public int getLevelsGained() {
+        return newLevel - oldLevel;
+    }
+}
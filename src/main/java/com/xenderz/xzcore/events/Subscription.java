@@ -0,0 +1,38 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Handle for a subscription made with {@link EventBus#subscribe}.
+ * 
+ * <p>Subscriptions are also removed automatically when their plugin is
+ * disabled, so keeping the handle is only needed to unsubscribe earlier:
+ * <pre>{@code
+ * Subscription subscription = core.getEventBus().subscribe(this, DuelStartEvent.class, this::onDuelStart);
+ * // ...
+ * subscription.unsubscribe();
+ * }</pre>
+ */
+public interface Subscription {
+    
+    /**
+     * Stop delivering events to this subscriber. Events already queued for an
+     * async subscriber are discarded. Does nothing if already unsubscribed.
+     */
+    void unsubscribe();
+    
+    /**
+     * Whether the subscriber still receives events.
+     */
+    boolean isActive();
+    
+    /**
+     * The plugin that owns this subscription.
+     */
+    Plugin getPlugin();
+    
+    /**
+     * The subscribed event class.
+     */
+    Class<?> getEventClass();
+}
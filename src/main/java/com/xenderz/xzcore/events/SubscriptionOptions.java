@@ -0,0 +1,145 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.event.EventPriority;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * How an {@link EventBus} subscriber is run.
+ * 
+ * <p>Options are immutable; the {@code with} methods return copies:
+ * <pre>{@code
+ * // Stats writer: off the main thread, kills of one player in order
+ * core.getEventBus().subscribe(this, PvPKillEvent.class,
+ *     SubscriptionOptions.<PvPKillEvent>ordered(event -> event.getKiller().getUniqueId())
+ *         .withQueueCapacity(4096),
+ *     this::recordKill);
+ * }</pre>
+ * 
+ * @param <T> event type
+ */
+public final class SubscriptionOptions<T> {
+    
+    /**
+     * Queue capacity per lane unless set with {@link #withQueueCapacity}.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    
+    /**
+     * Where the subscriber runs.
+     */
+    public enum Mode {
+        /** On the posting thread, before {@code post} returns. */
+        SYNC,
+        /** On the event worker pool, in no particular order. */
+        ASYNC,
+        /** On the event worker pool, in posting order per key. */
+        ASYNC_ORDERED
+    }
+    
+    /**
+     * What to do with an event when its lane is full.
+     */
+    public enum DropPolicy {
+        /** Discard the event being posted. */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room. */
+        DROP_OLDEST
+    }
+    
+    private static final SubscriptionOptions<?> SYNC = new SubscriptionOptions<>(
+        Mode.SYNC, null, EventPriority.NORMAL, DEFAULT_QUEUE_CAPACITY, DropPolicy.DROP_NEWEST);
+    private static final SubscriptionOptions<?> ASYNC = new SubscriptionOptions<>(
+        Mode.ASYNC, null, EventPriority.NORMAL, DEFAULT_QUEUE_CAPACITY, DropPolicy.DROP_NEWEST);
+    
+    private final Mode mode;
+    private final Function<? super T, ?> key;
+    private final EventPriority priority;
+    private final int queueCapacity;
+    private final DropPolicy dropPolicy;
+    
+    private SubscriptionOptions(Mode mode, Function<? super T, ?> key, EventPriority priority,
+                                int queueCapacity, DropPolicy dropPolicy) {
+        this.mode = mode;
+        this.key = key;
+        this.priority = priority;
+        this.queueCapacity = queueCapacity;
+        this.dropPolicy = dropPolicy;
+    }
+    
+    /**
+     * Run on the posting thread (the default).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SubscriptionOptions<T> sync() {
+        return (SubscriptionOptions<T>) SYNC;
+    }
+    
+    /**
+     * Run on the event worker pool without ordering guarantees.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SubscriptionOptions<T> async() {
+        return (SubscriptionOptions<T>) ASYNC;
+    }
+    
+    /**
+     * Run on the event worker pool, one event at a time per key.
+     * 
+     * <p>Events with equal keys (for example the same player UUID) are handled
+     * in posting order; events with different keys run in parallel. A
+     * {@code null} key shares a single lane.
+     * 
+     * @param key extracts the ordering key from an event
+     */
+    public static <T> SubscriptionOptions<T> ordered(Function<? super T, ?> key) {
+        Objects.requireNonNull(key, "key");
+        return new SubscriptionOptions<>(Mode.ASYNC_ORDERED, key, EventPriority.NORMAL,
+            DEFAULT_QUEUE_CAPACITY, DropPolicy.DROP_NEWEST);
+    }
+    
+    /**
+     * Copy with a dispatch priority.
+     */
+    public SubscriptionOptions<T> withPriority(EventPriority priority) {
+        return new SubscriptionOptions<>(mode, key, Objects.requireNonNull(priority, "priority"), queueCapacity, dropPolicy);
+    }
+    
+    /**
+     * Copy with the maximum number of events queued per lane (async modes).
+     */
+    public SubscriptionOptions<T> withQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        return new SubscriptionOptions<>(mode, key, priority, queueCapacity, dropPolicy);
+    }
+    
+    /**
+     * Copy with the policy applied when a lane is full (async modes).
+     */
+    public SubscriptionOptions<T> withDropPolicy(DropPolicy dropPolicy) {
+        return new SubscriptionOptions<>(mode, key, priority, queueCapacity, Objects.requireNonNull(dropPolicy, "dropPolicy"));
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public EventPriority getPriority() {
+        return priority;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+    
+    Function<? super T, ?> getKey() {
+        return key;
+    }
+}
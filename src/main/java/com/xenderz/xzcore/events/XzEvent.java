@@ -0,0 +1,29 @@
+package com.xenderz.xzcore.events;
+
+/**
+ * Base class for events exchanged between XzPlugins.
+ * 
+ * <p>Unlike Bukkit events, XzEvents need no {@code HandlerList} and are not
+ * passed through {@code PluginManager.callEvent}: {@link EventBus#post(XzEvent)}
+ * runs each subscriber exactly once from a precompiled handler array. Non-Xz
+ * plugins can still receive an XzEvent if a Bukkit bridge is registered with
+ * {@link EventBus#bridgeToBukkit}.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * public class PvPKillEvent extends XzEvent {
+ *     private final Player killer;
+ *     private final Player victim;
+ *     // constructor and getters
+ * }
+ * }</pre>
+ */
+public abstract class XzEvent {
+    
+    /**
+     * Name of the event, for logging.
+     */
+    public String getEventName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,141 @@
+package com.xenderz.xzcore.leaderboard;
+
+import com.xenderz.xzcore.player.PlayerData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory ranking of the top players for one {@link LeaderboardType}.
+ * 
+ * <p>Holds up to {@code capacity} players. It is seeded from the database at
+ * startup and then kept current from player data changes, so reads never
+ * query the database. Rank lookups are O(log n).
+ * 
+ * <p>Players below the lowest tracked score are unranked. Once the board is
+ * full, a tracked player whose score drops keeps their place until pushed
+ * out, even if an untracked player now has a higher stored score.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * Leaderboard board = core.getLeaderboards().getLeaderboard(LeaderboardType.LEVEL);
+ * for (LeaderboardEntry entry : board.getTop(10)) {
+ *     sender.sendMessage(entry.rank() + ". " + entry.username() + " - " + entry.score());
+ * }
+ * int rank = board.getRank(player.getUniqueId());
+ * }</pre>
+ */
+public final class Leaderboard {
+    
+    private final LeaderboardType type;
+    private final int capacity;
+    private final RankedSet ranking = new RankedSet();
+    
+    Leaderboard(LeaderboardType type, int capacity) {
+        this.type = type;
+        this.capacity = Math.max(1, capacity);
+    }
+    
+    public LeaderboardType getType() {
+        return type;
+    }
+    
+    /**
+     * Maximum number of players tracked.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Number of players currently ranked.
+     */
+    public synchronized int size() {
+        return ranking.size();
+    }
+    
+    /**
+     * Get a player's rank.
+     * 
+     * @param uuid player UUID
+     * @return one-based rank, or 0 if the player is not ranked
+     */
+    public synchronized int getRank(UUID uuid) {
+        RankedSet.Node node = ranking.get(uuid);
+        return node == null ? 0 : ranking.rank(node) + 1;
+    }
+    
+    /**
+     * Get a player's entry.
+     * 
+     * @param uuid player UUID
+     * @return entry, or null if the player is not ranked
+     */
+    public synchronized LeaderboardEntry getEntry(UUID uuid) {
+        RankedSet.Node node = ranking.get(uuid);
+        return node == null ? null : entry(node, ranking.rank(node) + 1);
+    }
+    
+    /**
+     * Get the highest ranked players.
+     * 
+     * @param count maximum number of entries
+     * @return entries, best first
+     */
+    public List<LeaderboardEntry> getTop(int count) {
+        return getPage(0, count);
+    }
+    
+    /**
+     * Get a range of ranks.
+     * 
+     * @param offset zero-based index of the first entry (rank {@code offset + 1})
+     * @param count maximum number of entries
+     * @return entries, best first
+     */
+    public synchronized List<LeaderboardEntry> getPage(int offset, int count) {
+        int from = Math.max(0, offset);
+        int to = Math.min(ranking.size(), from + Math.max(0, count));
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            entries.add(entry(ranking.at(i), i + 1));
+        }
+        return entries;
+    }
+    
+    /**
+     * Apply a player's current values.
+     */
+    synchronized void update(PlayerData data) {
+        put(data.getUuid(), data.getUsername(), type.score(data), type.tiebreak(data));
+    }
+    
+    /**
+     * Add a stored row unless the player is already ranked from live data.
+     */
+    synchronized void seed(UUID uuid, String username, long score, long tiebreak) {
+        if (ranking.get(uuid) == null) {
+            put(uuid, username, score, tiebreak);
+        }
+    }
+    
+    synchronized void clear() {
+        ranking.clear();
+    }
+    
+    private void put(UUID uuid, String username, long score, long tiebreak) {
+        if (ranking.size() >= capacity && ranking.get(uuid) == null) {
+            RankedSet.Node lowest = ranking.last();
+            if (score < lowest.score || (score == lowest.score && tiebreak <= lowest.tiebreak)) {
+                return;
+            }
+            ranking.remove(lowest.uuid);
+        }
+        ranking.put(uuid, username, score, tiebreak);
+    }
+    
+    private static LeaderboardEntry entry(RankedSet.Node node, int rank) {
+        return new LeaderboardEntry(rank, node.uuid, node.username, node.score);
+    }
+}
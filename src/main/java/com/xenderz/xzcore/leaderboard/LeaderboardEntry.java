@@ -0,0 +1,14 @@
+package com.xenderz.xzcore.leaderboard;
+
+import java.util.UUID;
+
+/**
+ * A player's position on a leaderboard.
+ * 
+ * @param rank one-based rank
+ * @param uuid player UUID
+ * @param username last known username
+ * @param score ranked value (experience, level or play time in milliseconds)
+ */
+public record LeaderboardEntry(int rank, UUID uuid, String username, long score) {
+}
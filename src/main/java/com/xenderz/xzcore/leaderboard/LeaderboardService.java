@@ -0,0 +1,166 @@
+package com.xenderz.xzcore.leaderboard;
+
+import com.xenderz.xzcore.config.ConfigurationManager;
+import com.xenderz.xzcore.database.DatabaseManager;
+import com.xenderz.xzcore.database.Uuids;
+import com.xenderz.xzcore.player.PlayerData;
+import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.service.Service;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Shared leaderboards for experience, level and play time.
+ * 
+ * <p>Replaces per-plugin {@code ORDER BY ... LIMIT} queries: each board is
+ * seeded once from an indexed query at startup and updated in memory whenever
+ * a cached player's experience, level or play time changes.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * LeaderboardService leaderboards = core.getLeaderboards();
+ * List<LeaderboardEntry> top = leaderboards.getTop(LeaderboardType.EXPERIENCE, 10);
+ * int rank = leaderboards.getRank(LeaderboardType.EXPERIENCE, player.getUniqueId());
+ * }</pre>
+ */
+public class LeaderboardService implements Service {
+    
+    private final JavaPlugin plugin;
+    private final ConfigurationManager config;
+    private final DatabaseManager database;
+    private final PlayerDataManager playerDataManager;
+    
+    private final Map<LeaderboardType, Leaderboard> boards = new EnumMap<>(LeaderboardType.class);
+    private final PlayerData.ProgressListener progressListener = this::update;
+    private volatile boolean loaded = false;
+    private boolean initialized = false;
+    
+    public LeaderboardService(JavaPlugin plugin, ConfigurationManager config, DatabaseManager database,
+                              PlayerDataManager playerDataManager) {
+        this.plugin = plugin;
+        this.config = config;
+        this.database = database;
+        this.playerDataManager = playerDataManager;
+    }
+    
+    @Override
+    public void initialize() {
+        int capacity = config.getInt("leaderboards.max-entries", 10000);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            boards.put(type, new Leaderboard(type, capacity));
+        }
+        
+        // Live updates first, so seeding never overwrites a newer value
+        playerDataManager.addProgressListener(progressListener);
+        
+        database.withConnectionAsync(this::seed).whenComplete((rows, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Failed to load leaderboards", error);
+                return;
+            }
+            loaded = true;
+            plugin.getLogger().info("Leaderboards loaded (" + rows + " rows)");
+        });
+        
+        initialized = true;
+    }
+    
+    @Override
+    public void shutdown() {
+        playerDataManager.removeProgressListener(progressListener);
+        for (Leaderboard board : boards.values()) {
+            board.clear();
+        }
+        loaded = false;
+        initialized = false;
+    }
+    
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    @Override
+    public String getName() {
+        return "LeaderboardService";
+    }
+    
+    private int seed(Connection conn) throws SQLException {
+        int rows = 0;
+        for (Leaderboard board : boards.values()) {
+            try (PreparedStatement stmt = conn.prepareStatement(board.getType().seedQuery())) {
+                stmt.setInt(1, board.getCapacity());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        board.seed(Uuids.fromBytes(rs.getBytes(1)), rs.getString(2), rs.getLong(3), rs.getLong(4));
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+    
+    private void update(PlayerData data) {
+        for (Leaderboard board : boards.values()) {
+            board.update(data);
+        }
+    }
+    
+    /**
+     * Get a leaderboard.
+     * 
+     * @param type ranking
+     * @return leaderboard
+     */
+    public Leaderboard getLeaderboard(LeaderboardType type) {
+        return boards.get(type);
+    }
+    
+    /**
+     * Get the highest ranked players.
+     * 
+     * @see Leaderboard#getTop(int)
+     */
+    public List<LeaderboardEntry> getTop(LeaderboardType type, int count) {
+        return boards.get(type).getTop(count);
+    }
+    
+    /**
+     * Get a player's rank.
+     * 
+     * @return one-based rank, or 0 if the player is not ranked
+     * @see Leaderboard#getRank(UUID)
+     */
+    public int getRank(LeaderboardType type, UUID uuid) {
+        return boards.get(type).getRank(uuid);
+    }
+    
+    /**
+     * Check whether the boards have been seeded from the database.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Get leaderboard statistics.
+     */
+    public String getStats() {
+        StringBuilder stats = new StringBuilder(loaded ? "Loaded" : "Loading");
+        for (Leaderboard board : boards.values()) {
+            stats.append(", ").append(board.getType().name().toLowerCase()).append(": ")
+                .append(board.size()).append('/').append(board.getCapacity());
+        }
+        return stats.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.xenderz.xzcore.leaderboard;
+
+import com.xenderz.xzcore.player.PlayerData;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Rankings maintained by {@link LeaderboardService}.
+ */
+public enum LeaderboardType {
+    
+    /**
+     * Total experience.
+     */
+    EXPERIENCE(PlayerData::getTotalExperience, data -> 0L,
+        "SELECT e.uuid, p.username, e.total_xp, 0 " +
+        "FROM xzcore_experience e JOIN xzcore_players p ON p.uuid = e.uuid " +
+        "ORDER BY e.total_xp DESC LIMIT ?"),
+    
+    /**
+     * Level, ties broken by total experience.
+     */
+    LEVEL(PlayerData::getLevel, PlayerData::getTotalExperience,
+        "SELECT e.uuid, p.username, e.level, e.total_xp " +
+        "FROM xzcore_experience e JOIN xzcore_players p ON p.uuid = e.uuid " +
+        "ORDER BY e.level DESC, e.total_xp DESC LIMIT ?"),
+    
+    /**
+     * Play time in milliseconds.
+     */
+    PLAY_TIME(PlayerData::getPlayTime, data -> 0L,
+        "SELECT uuid, username, play_time, 0 " +
+        "FROM xzcore_players " +
+        "ORDER BY play_time DESC LIMIT ?");
+    
+    private final ToLongFunction<PlayerData> score;
+    private final ToLongFunction<PlayerData> tiebreak;
+    private final String seedQuery;
+    
+    LeaderboardType(ToLongFunction<PlayerData> score, ToLongFunction<PlayerData> tiebreak, String seedQuery) {
+        this.score = score;
+        this.tiebreak = tiebreak;
+        this.seedQuery = seedQuery;
+    }
+    
+    long score(PlayerData data) {
+        return score.applyAsLong(data);
+    }
+    
+    long tiebreak(PlayerData data) {
+        return tiebreak.applyAsLong(data);
+    }
+    
+    /**
+     * Indexed top-N query returning uuid, username, score and tiebreak.
+     */
+    String seedQuery() {
+        return seedQuery;
+    }
+}
@@ -0,0 +1,193 @@
+package com.xenderz.xzcore.leaderboard;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic set of player scores.
+ * 
+ * <p>A treap ordered by score (highest first), then tiebreak (highest first),
+ * then UUID, with subtree sizes so that inserts, removals, rank lookups and
+ * positional access are all O(log n). A hash index finds a player's node
+ * without a search. Not thread-safe.
+ */
+final class RankedSet {
+    
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    
+    int size() {
+        return nodes.size();
+    }
+    
+    Node get(UUID uuid) {
+        return nodes.get(uuid);
+    }
+    
+    /**
+     * Insert a player, or move them if they are already present.
+     */
+    void put(UUID uuid, String username, long score, long tiebreak) {
+        Node existing = nodes.get(uuid);
+        if (existing != null) {
+            if (existing.score == score && existing.tiebreak == tiebreak) {
+                existing.username = username;
+                return;
+            }
+            remove(uuid);
+        }
+        
+        Node node = new Node(uuid, username, score, tiebreak);
+        nodes.put(uuid, node);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+    
+    boolean remove(UUID uuid) {
+        Node node = nodes.remove(uuid);
+        if (node == null) {
+            return false;
+        }
+        Node[] parts = split(root, node);
+        root = merge(parts[0], removeFirst(parts[1]));
+        return true;
+    }
+    
+    /**
+     * Zero-based position of a node.
+     */
+    int rank(Node key) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(key, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        throw new IllegalStateException("Node is not in the set");
+    }
+    
+    /**
+     * Node at a zero-based position.
+     */
+    Node at(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+    
+    Node last() {
+        Node node = root;
+        while (node != null && node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+    
+    void clear() {
+        nodes.clear();
+        root = null;
+    }
+    
+    /**
+     * Split into nodes ordered before {@code key} and the rest.
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+    
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+    
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        update(node);
+        return node;
+    }
+    
+    private static int compare(Node a, Node b) {
+        if (a.score != b.score) {
+            return a.score > b.score ? -1 : 1;
+        }
+        if (a.tiebreak != b.tiebreak) {
+            return a.tiebreak > b.tiebreak ? -1 : 1;
+        }
+        return a.uuid.compareTo(b.uuid);
+    }
+    
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+    
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+    
+    static final class Node {
+        final UUID uuid;
+        final long score;
+        final long tiebreak;
+        String username;
+        
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+        
+        private Node(UUID uuid, String username, long score, long tiebreak) {
+            this.uuid = uuid;
+            this.username = username;
+            this.score = score;
+            this.tiebreak = tiebreak;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.xenderz.xzcore.player;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Spreads autosaves evenly over the autosave interval.
+ * 
+ * <p>Players are hashed by UUID into a fixed number of shards. Every slot
+ * ({@code interval / shards}) the dirty players of the next shard are queued
+ * and flushed as one batch, so the database sees a small, steady write load
+ * instead of every dirty player at once.
+ * 
+ * <p>While the previous shard is still being written, or the smoothed flush
+ * latency is above the target, slots are deferred and the rotation slows
+ * down. A slot deferred for latency alone counts as a zero-latency sample, so
+ * a single slow flush only holds the rotation back for a few slots. A shard is
+ * never deferred past the maximum staleness, which bounds how long a change
+ * can stay unsaved.
+ */
+public class AutosaveScheduler {
+    
+    private static final double LATENCY_SMOOTHING = 0.3;
+    
+    private final JavaPlugin plugin;
+    private final PlayerSaveQueue saveQueue;
+    private final Supplier<Iterable<PlayerData>> players;
+    private final int shards;
+    private final long slotTicks;
+    private final long maxStalenessNanos;
+    private final long targetLatencyMillis;
+    
+    // Guarded by this
+    private final long[] lastSaved;
+    private int cursor = 0;
+    private CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+    private long seenQueueFlushes;
+    private BukkitTask slotTask;
+    
+    // Statistics
+    private volatile double latencyMillis = 0;
+    private volatile int lastShardSize = 0;
+    private final AtomicLong slots = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicLong forced = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    
+    AutosaveScheduler(JavaPlugin plugin, PlayerSaveQueue saveQueue, Supplier<Iterable<PlayerData>> players,
+                      long intervalSeconds, int shards, long maxStalenessSeconds, long targetLatencyMillis) {
+        this.plugin = plugin;
+        this.saveQueue = saveQueue;
+        this.players = players;
+        this.shards = Math.max(1, shards);
+        long intervalTicks = Math.max(1L, intervalSeconds) * 20L;
+        this.slotTicks = Math.max(1L, intervalTicks / this.shards);
+        // Never stricter than one full rotation, or every shard would be forced
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(Math.max(maxStalenessSeconds, intervalSeconds));
+        this.targetLatencyMillis = Math.max(1L, targetLatencyMillis);
+        this.lastSaved = new long[this.shards];
+        Arrays.fill(lastSaved, System.nanoTime());
+    }
+    
+    /**
+     * Start the slot task.
+     */
+    synchronized void start() {
+        Arrays.fill(lastSaved, System.nanoTime());
+        seenQueueFlushes = saveQueue.getTotalFlushes();
+        slotTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            this::runSlot,
+            slotTicks,
+            slotTicks
+        );
+    }
+    
+    /**
+     * Stop the slot task. Players that were not saved yet stay dirty.
+     */
+    synchronized void stop() {
+        if (slotTask != null) {
+            slotTask.cancel();
+            slotTask = null;
+        }
+    }
+    
+    /**
+     * Get the shard a player is saved with.
+     */
+    public int shardOf(UUID uuid) {
+        return Math.floorMod(uuid.hashCode(), shards);
+    }
+    
+    synchronized void runSlot() {
+        slots.incrementAndGet();
+        sampleQueueLatency();
+        
+        long now = System.nanoTime();
+        boolean stale = now - lastSaved[cursor] >= maxStalenessNanos;
+        if (!stale && !inFlight.isDone()) {
+            deferred.incrementAndGet();
+            return;
+        }
+        if (!stale && latencyMillis > targetLatencyMillis) {
+            // Nothing is being written, so no new sample would arrive: decay instead
+            deferred.incrementAndGet();
+            recordLatency(0);
+            return;
+        }
+        if (stale) {
+            forced.incrementAndGet();
+        }
+        
+        int shard = cursor;
+        cursor = (cursor + 1) % shards;
+        lastSaved[shard] = now;
+        
+        int count = 0;
+        for (PlayerData data : players.get()) {
+            if (data.isDirty() && shardOf(data.getUuid()) == shard) {
+                saveQueue.enqueue(data);
+                count++;
+            }
+        }
+        lastShardSize = count;
+        queued.addAndGet(count);
+        if (count == 0) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        inFlight = saveQueue.flush().whenComplete((v, error) ->
+            onShardFlushed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+    
+    private synchronized void onShardFlushed(long millis) {
+        // The queue counted this flush too; do not sample it again
+        seenQueueFlushes = saveQueue.getTotalFlushes();
+        recordLatency(millis);
+    }
+    
+    /**
+     * Fold in flushes made by the save queue itself (quits, full batches),
+     * so a deferred rotation sees the latency recover.
+     */
+    private void sampleQueueLatency() {
+        long flushes = saveQueue.getTotalFlushes();
+        if (flushes != seenQueueFlushes && inFlight.isDone()) {
+            seenQueueFlushes = flushes;
+            recordLatency(saveQueue.getLastFlushMillis());
+        }
+    }
+    
+    private void recordLatency(long millis) {
+        latencyMillis = latencyMillis == 0
+            ? millis
+            : latencyMillis + LATENCY_SMOOTHING * (millis - latencyMillis);
+    }
+    
+    /**
+     * Seconds since the least recently saved shard was written.
+     */
+    public synchronized long getOldestShardAgeSeconds() {
+        long oldest = Long.MAX_VALUE;
+        for (long saved : lastSaved) {
+            oldest = Math.min(oldest, saved);
+        }
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - oldest);
+    }
+    
+    /**
+     * Smoothed duration of recent flushes, used to pace the rotation.
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+    
+    /**
+     * Get autosave statistics.
+     */
+    public String getStats() {
+        return String.format("Shards: %d every %.1fs, Last shard: %d players, Queued: %d, Slots: %d (%d deferred, %d forced), Latency: %.0fms (target %dms), Oldest shard: %ds",
+            shards,
+            slotTicks / 20.0,
+            lastShardSize,
+            queued.get(),
+            slots.get(),
+            deferred.get(),
+            forced.get(),
+            latencyMillis,
+            targetLatencyMillis,
+            getOldestShardAgeSeconds()
+        );
+    }
+}
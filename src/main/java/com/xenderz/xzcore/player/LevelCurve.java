@@ -0,0 +1,72 @@
+package com.xenderz.xzcore.player;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mapping between total experience and level.
+ * 
+ * <p>Curves are precomputed tables of the total experience at which each
+ * level starts, so {@link #getLevel(long)} is a binary search rather than a
+ * formula evaluation per level. Level 1 always starts at 0 experience and
+ * levels never exceed {@link #getMaxLevel()}.
+ * 
+ * <p>Example usage:
+ * <pre>{@code
+ * // 50 * level^2 total XP per level, capped at level 200
+ * core.getPlayerDataManager().setLevelCurve(LevelCurve.power(50, 2.0, 200));
+ * }</pre>
+ */
+public interface LevelCurve {
+    
+    /**
+     * The default curve: {@code 100 * level^1.5} total XP, up to level 10000.
+     */
+    LevelCurve DEFAULT = power(100, 1.5, 10_000);
+    
+    /**
+     * Total experience at which a level starts.
+     * 
+     * @param level level, clamped to {@code [1, getMaxLevel()]}
+     * @return total experience
+     */
+    long getXpForLevel(int level);
+    
+    /**
+     * Level reached with the given total experience.
+     * 
+     * @param totalXp total experience
+     * @return level between 1 and {@link #getMaxLevel()}
+     */
+    int getLevel(long totalXp);
+    
+    /**
+     * Highest reachable level.
+     */
+    int getMaxLevel();
+    
+    /**
+     * Create a curve where level {@code n} starts at {@code base * n^exponent}
+     * total experience.
+     * 
+     * @param base experience multiplier
+     * @param exponent growth exponent
+     * @param maxLevel highest reachable level
+     * @return precomputed curve
+     */
+    static LevelCurve power(double base, double exponent, int maxLevel) {
+        return table(maxLevel, level -> (long) (base * Math.pow(level, exponent)));
+    }
+    
+    /**
+     * Create a curve from a formula, evaluated once per level.
+     * 
+     * @param maxLevel highest reachable level
+     * @param xpForLevel total experience at which each level from 2 to
+     *        {@code maxLevel} starts; must not decrease
+     * @return precomputed curve
+     * @throws IllegalArgumentException if the formula decreases
+     */
+    static LevelCurve table(int maxLevel, IntToLongFunction xpForLevel) {
+        return new TableLevelCurve(maxLevel, xpForLevel);
+    }
+}
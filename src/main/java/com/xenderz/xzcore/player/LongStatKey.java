@@ -0,0 +1,15 @@
+package com.xenderz.xzcore.player;
+
+/**
+ * Stat key for {@code long} counters.
+ * 
+ * <p>Use with {@link PlayerData#getStat(LongStatKey)},
+ * {@link PlayerData#setStat(LongStatKey, long)} and
+ * {@link PlayerData#addStat(LongStatKey, long)}, which never box or allocate.
+ */
+public final class LongStatKey extends StatKey<Long> {
+    
+    LongStatKey(String name, int index) {
+        super(name, index, Long.class, Long::valueOf, Long::longValue);
+    }
+}
@@ -0,0 +1,378 @@
+package com.xenderz.xzcore.player;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact, versioned binary encoding for persisted player metadata values.
+ * 
+ * <p>Layout: one header byte holding the format version in the high nibble and
+ * flags in the low nibble, followed by a tagged value. Integers are zig-zag
+ * varints and lengths are unsigned varints. Encodings larger than
+ * {@value #COMPRESSION_THRESHOLD} bytes are deflated when that makes them
+ * smaller; the uncompressed length then follows the header as a varint.
+ * Decoding refuses uncompressed lengths above {@value #MAX_INFLATED_LENGTH}
+ * bytes and collections nested deeper than {@value #MAX_DEPTH} levels, so a
+ * corrupt row cannot exhaust the heap or the stack.
+ * 
+ * <p>Supported values: {@code Boolean}, {@code Integer}, {@code Long},
+ * {@code Float}, {@code Double}, {@code String}, {@code UUID}, {@code byte[]},
+ * and {@code List}s or {@code Map}s with {@code String} keys of supported values.
+ * Lists decode as {@code ArrayList} and maps as {@code LinkedHashMap}.
+ */
+final class MetadataCodec {
+    
+    static final int VERSION = 1;
+    static final int COMPRESSION_THRESHOLD = 256;
+    /** Largest uncompressed encoding; matches the MEDIUMBLOB value column. */
+    static final int MAX_INFLATED_LENGTH = (1 << 24) - 1;
+    /** Deepest list/map nesting that can be encoded or decoded. */
+    static final int MAX_DEPTH = 64;
+    
+    private static final int FLAG_DEFLATED = 1;
+    
+    private static final int TAG_FALSE = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_INT = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_FLOAT = 4;
+    private static final int TAG_DOUBLE = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_UUID = 7;
+    private static final int TAG_BYTES = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_MAP = 10;
+    
+    private MetadataCodec() {
+    }
+    
+    /**
+     * Check whether a value can be encoded.
+     * 
+     * @param value metadata value
+     * @return true if {@link #encode} accepts it
+     */
+    static boolean isSupported(Object value) {
+        return isSupported(value, 0);
+    }
+    
+    private static boolean isSupported(Object value, int depth) {
+        if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+            || value instanceof Float || value instanceof Double || value instanceof String
+            || value instanceof UUID || value instanceof byte[]) {
+            return true;
+        }
+        if (depth >= MAX_DEPTH && (value instanceof List<?> || value instanceof Map<?, ?>)) {
+            return false;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!isSupported(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String) || !isSupported(entry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Encode a value.
+     * 
+     * @param value supported metadata value
+     * @return encoded bytes
+     * @throws IllegalArgumentException if the value is not supported
+     */
+    static byte[] encode(Object value) {
+        Output out = new Output();
+        out.write(VERSION << 4);
+        writeValue(out, value, 0);
+        
+        int length = out.size() - 1;
+        if (length > COMPRESSION_THRESHOLD) {
+            byte[] compressed = deflate(out.buffer(), 1, length);
+            Output packed = new Output();
+            packed.write(VERSION << 4 | FLAG_DEFLATED);
+            packed.writeVarInt(length);
+            if (packed.size() + compressed.length < out.size()) {
+                packed.write(compressed, 0, compressed.length);
+                return packed.toByteArray();
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * Decode a value.
+     * 
+     * @param bytes encoded bytes
+     * @return decoded value
+     * @throws IllegalArgumentException if the bytes are malformed or were
+     *         written by a newer format version
+     */
+    static Object decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty metadata value");
+        }
+        int header = bytes[0] & 0xff;
+        int version = header >>> 4;
+        if (version > VERSION) {
+            throw new IllegalArgumentException("Unsupported metadata format version " + version);
+        }
+        
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            if ((header & FLAG_DEFLATED) != 0) {
+                int length = readVarInt(in);
+                if (length > MAX_INFLATED_LENGTH) {
+                    throw new IllegalArgumentException("Compressed metadata length " + length + " exceeds limit");
+                }
+                in = ByteBuffer.wrap(inflate(bytes, in.position(), in.remaining(), length));
+            }
+            Object value = readValue(in, 0);
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in metadata value");
+            }
+            return value;
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Malformed metadata value", e);
+        }
+    }
+    
+    private static void writeValue(Output out, Object value, int depth) {
+        if (depth >= MAX_DEPTH && (value instanceof List<?> || value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("Metadata nested deeper than " + MAX_DEPTH + " levels");
+        }
+        if (value instanceof Boolean b) {
+            out.write(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer i) {
+            out.write(TAG_INT);
+            out.writeVarLong(zigZag(i));
+        } else if (value instanceof Long l) {
+            out.write(TAG_LONG);
+            out.writeVarLong(zigZag(l));
+        } else if (value instanceof Float f) {
+            out.write(TAG_FLOAT);
+            out.writeFixed(Float.floatToIntBits(f), 4);
+        } else if (value instanceof Double d) {
+            out.write(TAG_DOUBLE);
+            out.writeFixed(Double.doubleToLongBits(d), 8);
+        } else if (value instanceof String s) {
+            out.write(TAG_STRING);
+            writeString(out, s);
+        } else if (value instanceof UUID uuid) {
+            out.write(TAG_UUID);
+            out.writeFixed(uuid.getMostSignificantBits(), 8);
+            out.writeFixed(uuid.getLeastSignificantBits(), 8);
+        } else if (value instanceof byte[] bytes) {
+            out.write(TAG_BYTES);
+            out.writeVarInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else if (value instanceof List<?> list) {
+            out.write(TAG_LIST);
+            out.writeVarInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element, depth + 1);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.write(TAG_MAP);
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key)) {
+                    throw new IllegalArgumentException("Metadata map keys must be strings");
+                }
+                writeString(out, key);
+                writeValue(out, entry.getValue(), depth + 1);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported metadata type: "
+                + (value == null ? "null" : value.getClass().getName()));
+        }
+    }
+    
+    private static Object readValue(ByteBuffer in, int depth) {
+        int tag = in.get() & 0xff;
+        if (depth >= MAX_DEPTH && (tag == TAG_LIST || tag == TAG_MAP)) {
+            throw new IllegalArgumentException("Metadata nested deeper than " + MAX_DEPTH + " levels");
+        }
+        return switch (tag) {
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_INT -> (int) unZigZag(readVarLong(in));
+            case TAG_LONG -> unZigZag(readVarLong(in));
+            case TAG_FLOAT -> in.getFloat();
+            case TAG_DOUBLE -> in.getDouble();
+            case TAG_STRING -> readString(in);
+            case TAG_UUID -> new UUID(in.getLong(), in.getLong());
+            case TAG_BYTES -> {
+                byte[] bytes = new byte[readLength(in)];
+                in.get(bytes);
+                yield bytes;
+            }
+            case TAG_LIST -> {
+                int size = readLength(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, depth + 1));
+                }
+                yield list;
+            }
+            case TAG_MAP -> {
+                int size = readLength(in);
+                Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 2));
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    map.put(key, readValue(in, depth + 1));
+                }
+                yield map;
+            }
+            default -> throw new IllegalArgumentException("Unknown metadata type tag " + tag);
+        };
+    }
+    
+    private static void writeString(Output out, String s) {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeVarInt(utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+    
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in);
+        String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+    
+    /**
+     * Read a length and check it against the remaining input, so corrupt data
+     * cannot trigger a huge allocation.
+     */
+    private static int readLength(ByteBuffer in) {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Metadata length " + length + " exceeds input");
+        }
+        return length;
+    }
+    
+    private static int readVarInt(ByteBuffer in) {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint too large");
+        }
+        return (int) value;
+    }
+    
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+    
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static byte[] deflate(byte[] bytes, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] bytes, int offset, int length, int inflatedLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] out = new byte[inflatedLength];
+            int n = 0;
+            while (n < inflatedLength && !inflater.finished()) {
+                int read = inflater.inflate(out, n, inflatedLength - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != inflatedLength || !inflater.finished()) {
+                throw new IllegalArgumentException("Compressed metadata length mismatch");
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed compressed metadata", e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    /**
+     * Growable byte buffer with varint helpers.
+     */
+    private static final class Output extends ByteArrayOutputStream {
+        
+        private Output() {
+            super(32);
+        }
+        
+        private byte[] buffer() {
+            return buf;
+        }
+        
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xffffffffL);
+        }
+        
+        private void writeVarLong(long value) {
+            while ((value & ~0x7fL) != 0) {
+                write((int) (value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+        
+        private void writeFixed(long value, int bytes) {
+            for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+    }
+}
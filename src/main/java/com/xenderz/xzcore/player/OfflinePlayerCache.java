@@ -0,0 +1,349 @@
+package com.xenderz.xzcore.player;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded second-tier cache for players who are not online.
+ * 
+ * <p>Entries expire after a configurable idle time and a configurable time
+ * since they were cached. When the cache is full, a new entry is only admitted
+ * if it has been requested more often than the least recently used entry it
+ * would replace (TinyLFU admission), so one-off lookups such as a leaderboard
+ * scan cannot flush out frequently viewed profiles.
+ * 
+ * <p>An entry leaving the cache, including a rejected candidate, may still be
+ * held by a caller. It is passed to the save callback if it has unsaved
+ * changes, and again whenever it is modified afterwards, so changes made
+ * through such an instance are never lost.
+ */
+public class OfflinePlayerCache {
+    
+    private final int maximumSize;
+    private final long expireAfterAccessNanos;
+    private final long expireAfterWriteNanos;
+    private final Consumer<PlayerData> saver;
+    
+    // Access-ordered: the eldest entry is the least recently used
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    
+    // Statistics (guarded by this)
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long rejections = 0;
+    
+    /**
+     * Create an offline cache.
+     * 
+     * @param maximumSize maximum number of entries (0 disables the cache)
+     * @param expireAfterAccessMillis idle time before an entry expires (0 = never)
+     * @param expireAfterWriteMillis time since caching before an entry expires (0 = never)
+     * @param saver queues an instance that is no longer cached for saving
+     */
+    OfflinePlayerCache(int maximumSize, long expireAfterAccessMillis, long expireAfterWriteMillis,
+                       Consumer<PlayerData> saver) {
+        this.maximumSize = Math.max(0, maximumSize);
+        this.expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expireAfterAccessMillis));
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expireAfterWriteMillis));
+        this.saver = saver;
+        this.sketch = new FrequencySketch(Math.max(16, this.maximumSize));
+    }
+    
+    /**
+     * Look up a cached player.
+     * 
+     * @param uuid player UUID
+     * @return cached data, or null on a miss
+     */
+    public synchronized PlayerData get(UUID uuid) {
+        sketch.increment(uuid);
+        
+        Entry entry = entries.get(uuid);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        
+        long now = System.nanoTime();
+        if (isExpired(entry, now)) {
+            entries.remove(uuid);
+            expirations++;
+            misses++;
+            release(entry.data);
+            return null;
+        }
+        
+        entry.accessTime = now;
+        hits++;
+        return entry.data;
+    }
+    
+    /**
+     * Cache a player, keeping any instance that is already cached.
+     * 
+     * <p>Used for database loads so that a slower load can never replace an
+     * instance that may already carry newer changes.
+     * 
+     * @param data loaded player data
+     * @return the cached instance (the existing one if present)
+     */
+    public synchronized PlayerData putIfAbsent(PlayerData data) {
+        // Even an expired entry may hold unsaved changes, so it always wins
+        Entry existing = entries.get(data.getUuid());
+        if (existing != null) {
+            return existing.data;
+        }
+        put(data);
+        return data;
+    }
+    
+    /**
+     * Cache a player, replacing any cached instance.
+     * 
+     * <p>Used when an online player quits: their live instance is the newest state.
+     * 
+     * @param data player data
+     */
+    public synchronized void put(PlayerData data) {
+        if (maximumSize == 0) {
+            release(data);
+            return;
+        }
+        
+        UUID uuid = data.getUuid();
+        sketch.increment(uuid);
+        
+        // Tracked by the cache now; release() hooks it up again if it is rejected
+        data.setDirtyListener(null);
+        long now = System.nanoTime();
+        Entry previous = entries.put(uuid, new Entry(data, now));
+        if (previous != null) {
+            if (previous.data != data) {
+                release(previous.data);
+            }
+            return;
+        }
+        
+        if (entries.size() > maximumSize) {
+            evictOne(uuid, now);
+        }
+    }
+    
+    /**
+     * Remove a player without treating it as an eviction.
+     * 
+     * <p>Used when the player comes online and moves to the online cache.
+     * 
+     * @param uuid player UUID
+     * @return the removed data, or null
+     */
+    public synchronized PlayerData invalidate(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        return entry != null ? entry.data : null;
+    }
+    
+    /**
+     * Remove all expired entries.
+     */
+    public synchronized void cleanUp() {
+        long now = System.nanoTime();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (isExpired(entry, now)) {
+                it.remove();
+                expirations++;
+                release(entry.data);
+            }
+        }
+    }
+    
+    /**
+     * Copy of all cached players.
+     */
+    public synchronized List<PlayerData> values() {
+        List<PlayerData> values = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            values.add(entry.data);
+        }
+        return values;
+    }
+    
+    /**
+     * Number of cached players.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public synchronized long getHitCount() {
+        return hits;
+    }
+    
+    public synchronized long getMissCount() {
+        return misses;
+    }
+    
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+    
+    /**
+     * Get cache statistics.
+     */
+    public synchronized String getStats() {
+        long requests = hits + misses;
+        double hitRate = requests == 0 ? 0.0 : (hits * 100.0) / requests;
+        return String.format("Size: %d/%d, Hits: %d, Misses: %d (%.1f%% hit), Evictions: %d, Expired: %d, Rejected: %d",
+            entries.size(),
+            maximumSize,
+            hits,
+            misses,
+            hitRate,
+            evictions,
+            expirations,
+            rejections
+        );
+    }
+    
+    /**
+     * Make room after inserting {@code candidate}, which is now the newest entry.
+     */
+    private void evictOne(UUID candidate, long now) {
+        Iterator<Map.Entry<UUID, Entry>> it = entries.entrySet().iterator();
+        Map.Entry<UUID, Entry> eldest = it.next();
+        
+        if (isExpired(eldest.getValue(), now)) {
+            it.remove();
+            expirations++;
+            release(eldest.getValue().data);
+            return;
+        }
+        
+        // TinyLFU admission: keep whichever of the two is requested more often
+        if (sketch.frequency(candidate) > sketch.frequency(eldest.getKey())) {
+            it.remove();
+            evictions++;
+            release(eldest.getValue().data);
+        } else {
+            Entry rejected = entries.remove(candidate);
+            rejections++;
+            release(rejected.data);
+        }
+    }
+    
+    /**
+     * Hand an instance that is no longer cached over to the save callback.
+     */
+    private void release(PlayerData data) {
+        // Hook up before checking, so a concurrent change is either seen here or reported
+        data.setDirtyListener(saver);
+        if (data.isDirty()) {
+            saver.accept(data);
+        }
+    }
+    
+    private boolean isExpired(Entry entry, long now) {
+        return (expireAfterAccessNanos > 0 && now - entry.accessTime >= expireAfterAccessNanos)
+            || (expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos);
+    }
+    
+    private static final class Entry {
+        private final PlayerData data;
+        private final long writeTime;
+        private long accessTime;
+        
+        private Entry(PlayerData data, long now) {
+            this.data = data;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+    
+    /**
+     * Count-min sketch of 4-bit counters estimating how often a key was requested.
+     * 
+     * <p>Counters are halved periodically so that old popularity fades.
+     */
+    private static final class FrequencySketch {
+        
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions = 0;
+        
+        private FrequencySketch(int capacity) {
+            // 16 counters per long, four counters per key
+            int longs = Integer.highestOneBit(Math.max(4, capacity) - 1) << 1;
+            this.table = new long[longs];
+            this.mask = longs - 1;
+            this.sampleSize = 10 * capacity;
+        }
+        
+        private void increment(UUID key) {
+            long hash = spread(key);
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                added |= incrementAt(indexOf(hash, i), counterOf(hash, i));
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+        
+        private int frequency(UUID key) {
+            long hash = spread(key);
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int shift = counterOf(hash, i) << 2;
+                int count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+        
+        private boolean incrementAt(int index, int counter) {
+            int shift = counter << 2;
+            long slot = 0xfL << shift;
+            if ((table[index] & slot) != slot) {
+                table[index] += 1L << shift;
+                return true;
+            }
+            return false;
+        }
+        
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            additions >>>= 1;
+        }
+        
+        private int indexOf(long hash, int row) {
+            long h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) & 3];
+            return (int) (h >>> 40) & mask;
+        }
+        
+        private static int counterOf(long hash, int row) {
+            return (int) (hash >>> (row << 3)) & 0xf;
+        }
+        
+        private static long spread(UUID key) {
+            long h = key.getMostSignificantBits() * 0x9e3779b97f4a7c15L ^ key.getLeastSignificantBits();
+            return h ^ (h >>> 31);
+        }
+    }
+}
@@ -4,17 +4,29 @@ import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
 
 /**
  * Player data container with automatic persistence.
  * 
  * <p>This class holds all player-related data and tracks dirty state
- * for efficient database updates.
+ * per field for efficient database updates. Every mutation bumps a
+ * modification generation; a save only cleans the fields that were not
+ * modified again after its snapshot was taken, so concurrent updates are
+ * never lost.
  * 
  * <p>Example usage:
  * <pre>{@code
@@ -25,6 +37,41 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class PlayerData {
     
+    private static final VarHandle DIRTY_FIELDS;
+    private static final VarHandle STAT_DIRTY;
+    private static final int METADATA_FIELD = Integer.numberOfTrailingZeros(PlayerSnapshot.METADATA);
+    
+    private static final int STAT_PAGE_BITS = 6;
+    private static final int STAT_PAGE_SIZE = 1 << STAT_PAGE_BITS;
+    private static final int STAT_SLOT_MASK = STAT_PAGE_SIZE - 1;
+    
+    // Curves built from a subclass's getXpForLevel override, per subclass
+    private static final ClassValue<Boolean> OVERRIDES_XP_FOR_LEVEL = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != PlayerData.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("getXpForLevel", int.class);
+                    return true;
+                } catch (NoSuchMethodException e) {
+                    // Not declared here; check the superclass
+                }
+            }
+            return false;
+        }
+    };
+    private static final Map<Class<?>, LevelCurve> OVERRIDE_CURVES = new ConcurrentHashMap<>();
+    
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            DIRTY_FIELDS = lookup.findVarHandle(PlayerData.class, "dirtyFields", int.class);
+            STAT_DIRTY = lookup.findVarHandle(StatPage.class, "dirty", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
     private final UUID uuid;
     private volatile String username;
     
@@ -35,10 +82,26 @@ public class PlayerData {
     private volatile long firstJoin = 0;
     private volatile long lastJoin = 0;
     
-    // Dirty tracking
-    private volatile boolean dirty = false;
+    // Dirty tracking: one bit per persisted column (new data is fully dirty)
+    @SuppressWarnings("unused") // accessed through DIRTY_FIELDS
+    private volatile int dirtyFields = PlayerSnapshot.ALL_COLUMNS;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLongArray fieldGenerations = new AtomicLongArray(PlayerSnapshot.COLUMN_COUNT);
+    
+    // Metadata values; loaded values stay encoded until first read
     private final Map<String, Object> metadata = new ConcurrentHashMap<>();
-    private final Map<String, Boolean> dirtyMetadata = new ConcurrentHashMap<>();
+    private final Map<String, Long> dirtyMetadata = new ConcurrentHashMap<>();
+    
+    // Registered stats in pages of STAT_PAGE_SIZE; pages are never replaced once created
+    private volatile StatPage[] statPages = new StatPage[0];
+    // Stored values of stats that were not registered when the player was loaded
+    private volatile Map<String, Long> unregisteredStats;
+    
+    // Set once the instance is cached by PlayerDataManager
+    private volatile ProgressListener progressListener;
+    private volatile LevelCurve levelCurve = LevelCurve.DEFAULT;
+    // Set while no cache tracks the instance; called when it goes from clean to dirty
+    private volatile Consumer<PlayerData> dirtyListener;
     
     public PlayerData(UUID uuid, String username) {
         this.uuid = uuid;
@@ -55,8 +118,11 @@ public class PlayerData {
     }
     
     public void setUsername(String username) {
-        this.username = username;
-        markDirty();
+        if (!Objects.equals(this.username, username)) {
+            this.username = username;
+            markDirty(PlayerSnapshot.USERNAME);
+            progressChanged();
+        }
     }
     
     public long getTotalExperience() {
@@ -65,12 +131,25 @@ public class PlayerData {
     
     public void setTotalExperience(long experience) {
         this.totalExperience.set(experience);
-        markDirty();
+        markDirty(PlayerSnapshot.TOTAL_XP);
+        progressChanged();
     }
     
+    /**
+     * Add experience and raise the level to match, possibly by several levels.
+     * 
+     * <p>The level never drops here: a negative amount or a level set above
+     * the curve is left as it is.
+     */
     public void addExperience(long amount) {
-        this.totalExperience.addAndGet(amount);
-        markDirty();
+        long xp = this.totalExperience.addAndGet(amount);
+        markDirty(PlayerSnapshot.TOTAL_XP);
+        int newLevel = getLevelCurve().getLevel(xp);
+        int oldLevel = raiseLevel(newLevel);
+        progressChanged();
+        if (oldLevel != 0) {
+            levelChanged(oldLevel, newLevel);
+        }
     }
     
     public int getLevel() {
@@ -78,21 +157,49 @@ public class PlayerData {
     }
     
     public void setLevel(int level) {
-        this.level.set(level);
-        markDirty();
+        int oldLevel = this.level.getAndSet(level);
+        markDirty(PlayerSnapshot.LEVEL);
+        progressChanged();
+        if (oldLevel != level) {
+            levelChanged(oldLevel, level);
+        }
     }
     
+    /**
+     * Raise the level to match the current experience.
+     * 
+     * <p>{@link #addExperience} already does this; call it after
+     * {@link #setTotalExperience} or a level curve change.
+     * 
+     * @return true if the level changed
+     */
     public boolean checkLevelUp() {
-        long xp = totalExperience.get();
-        int currentLevel = level.get();
-        int required = getXpForLevel(currentLevel + 1);
-        
-        if (xp >= required) {
-            level.incrementAndGet();
-            markDirty();
-            return true;
+        int newLevel = getLevelCurve().getLevel(totalExperience.get());
+        int oldLevel = raiseLevel(newLevel);
+        if (oldLevel == 0) {
+            return false;
         }
-        return false;
+        progressChanged();
+        levelChanged(oldLevel, newLevel);
+        return true;
+    }
+    
+    /**
+     * Raise the level to {@code target} in a single CAS, so concurrent
+     * experience grants never lose a level or report one twice.
+     * 
+     * @return the previous level, or 0 if the level was already at or above the target
+     */
+    private int raiseLevel(int target) {
+        int current;
+        do {
+            current = level.get();
+            if (current >= target) {
+                return 0;
+            }
+        } while (!level.compareAndSet(current, target));
+        markDirty(PlayerSnapshot.LEVEL);
+        return current;
     }
     
     public long getPlayTime() {
@@ -101,12 +208,14 @@ public class PlayerData {
     
     public void setPlayTime(long playTime) {
         this.playTime.set(playTime);
-        markDirty();
+        markDirty(PlayerSnapshot.PLAY_TIME);
+        progressChanged();
     }
     
     public void addPlayTime(long milliseconds) {
         this.playTime.addAndGet(milliseconds);
-        markDirty();
+        markDirty(PlayerSnapshot.PLAY_TIME);
+        progressChanged();
     }
     
     public long getFirstJoin() {
@@ -114,8 +223,10 @@ public class PlayerData {
     }
     
     public void setFirstJoin(long timestamp) {
-        this.firstJoin = timestamp;
-        markDirty();
+        if (this.firstJoin != timestamp) {
+            this.firstJoin = timestamp;
+            markDirty(PlayerSnapshot.FIRST_JOIN);
+        }
     }
     
     public long getLastJoin() {
@@ -123,21 +234,54 @@ public class PlayerData {
     }
     
     public void setLastJoin(long timestamp) {
-        this.lastJoin = timestamp;
-        markDirty();
+        if (this.lastJoin != timestamp) {
+            this.lastJoin = timestamp;
+            markDirty(PlayerSnapshot.LAST_JOIN);
+        }
     }
     
     // Metadata for extensibility
+    
+    /**
+     * Get a metadata value.
+     * 
+     * <p>Persisted values are decoded on first access. A value that cannot be
+     * decoded (for example one written by a newer format version) reads as
+     * absent and is left unchanged in the database.
+     */
     @SuppressWarnings("unchecked")
     public <T> T getMetadata(String key, T defaultValue) {
-        Object value = metadata.get(key);
+        Object value = decodeMetadata(key, metadata.get(key));
         return value != null ? (T) value : defaultValue;
     }
     
+    /**
+     * Set a metadata value.
+     * 
+     * <p>Values of the types supported by {@link MetadataCodec} (primitives
+     * wrappers, strings, UUIDs, byte arrays, and lists or string-keyed maps of
+     * those) are persisted with the player. Other values are kept in memory
+     * only. A {@code null} value removes the key.
+     */
     public void setMetadata(String key, Object value) {
+        if (key.startsWith(StatRegistry.KEY_PREFIX)) {
+            throw new IllegalArgumentException("Metadata keys starting with '" + StatRegistry.KEY_PREFIX + "' are reserved for stats");
+        }
+        if (value == null) {
+            removeMetadata(key);
+            return;
+        }
         metadata.put(key, value);
-        dirtyMetadata.put(key, true);
-        markDirty();
+        markMetadataDirty(key);
+    }
+    
+    /**
+     * Remove a metadata value, deleting it from the database on the next save.
+     */
+    public void removeMetadata(String key) {
+        if (metadata.remove(key) != null) {
+            markMetadataDirty(key);
+        }
     }
     
     public boolean hasMetadata(String key) {
@@ -145,21 +289,447 @@ public class PlayerData {
     }
     
     public Map<String, Object> getAllMetadata() {
-        return new ConcurrentHashMap<>(metadata);
+        Map<String, Object> copy = new ConcurrentHashMap<>();
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            Object value = decodeMetadata(entry.getKey(), entry.getValue());
+            if (value != null) {
+                copy.put(entry.getKey(), value);
+            }
+        }
+        return copy;
+    }
+    
+    /**
+     * Store a value read from the database without marking it dirty.
+     */
+    void loadMetadata(String key, byte[] encoded) {
+        metadata.putIfAbsent(key, new EncodedMetadata(encoded));
+    }
+    
+    private Object decodeMetadata(String key, Object value) {
+        if (!(value instanceof EncodedMetadata encoded)) {
+            return value;
+        }
+        try {
+            Object decoded = MetadataCodec.decode(encoded.bytes());
+            // A concurrent setMetadata wins over the decoded value
+            metadata.replace(key, encoded, decoded);
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    // Registered stats
+    
+    /**
+     * Get a counter stat.
+     */
+    public long getStat(LongStatKey key) {
+        return getRawStat(key);
+    }
+    
+    /**
+     * Set a counter stat.
+     */
+    public void setStat(LongStatKey key, long value) {
+        setRawStat(key, value);
+    }
+    
+    /**
+     * Atomically add to a counter stat.
+     * 
+     * @return the updated value
+     */
+    public long addStat(LongStatKey key, long delta) {
+        StatPage page = statPage(key);
+        int slot = key.getIndex() & STAT_SLOT_MASK;
+        long value = page.values.addAndGet(slot, delta);
+        markStatDirty(page, slot);
+        return value;
+    }
+    
+    /**
+     * Get a typed stat. Stats that were never set read as raw {@code 0}.
+     */
+    public <T> T getStat(StatKey<T> key) {
+        return key.fromRaw(getRawStat(key));
+    }
+    
+    /**
+     * Set a typed stat.
+     */
+    public <T> void setStat(StatKey<T> key, T value) {
+        setRawStat(key, key.toRaw(value));
+    }
+    
+    private long getRawStat(StatKey<?> key) {
+        if (unregisteredStats != null) {
+            applyUnregisteredStat(key);
+        }
+        int index = key.getIndex();
+        StatPage[] pages = statPages;
+        int page = index >>> STAT_PAGE_BITS;
+        if (page >= pages.length || pages[page] == null) {
+            return 0L;
+        }
+        return pages[page].values.get(index & STAT_SLOT_MASK);
+    }
+    
+    private void setRawStat(StatKey<?> key, long value) {
+        StatPage page = statPage(key);
+        int slot = key.getIndex() & STAT_SLOT_MASK;
+        page.values.set(slot, value);
+        markStatDirty(page, slot);
+    }
+    
+    private StatPage statPage(StatKey<?> key) {
+        if (unregisteredStats != null) {
+            applyUnregisteredStat(key);
+        }
+        int page = key.getIndex() >>> STAT_PAGE_BITS;
+        StatPage[] pages = statPages;
+        if (page < pages.length && pages[page] != null) {
+            return pages[page];
+        }
+        return createStatPage(page);
+    }
+    
+    private synchronized StatPage createStatPage(int page) {
+        StatPage[] pages = statPages;
+        if (page < pages.length && pages[page] != null) {
+            return pages[page];
+        }
+        // Copy-on-write of the page table only; existing pages are shared, so no update is lost
+        pages = Arrays.copyOf(pages, Math.max(pages.length, page + 1));
+        pages[page] = new StatPage();
+        statPages = pages;
+        return pages[page];
+    }
+    
+    private void markStatDirty(StatPage page, int slot) {
+        long bit = 1L << slot;
+        if ((page.dirty & bit) == 0) {
+            STAT_DIRTY.getAndBitwiseOr(page, bit);
+        }
+        if (((int) DIRTY_FIELDS.getVolatile(this) & PlayerSnapshot.STATS) == 0) {
+            setDirtyBits(PlayerSnapshot.STATS);
+        }
+    }
+    
+    /**
+     * Store a stat value read from the database without marking it dirty.
+     */
+    void loadStat(StatKey<?> key, long value) {
+        statPage(key).values.set(key.getIndex() & STAT_SLOT_MASK, value);
+    }
+    
+    /**
+     * Keep a stored value for a stat that is not registered yet.
+     */
+    synchronized void loadUnregisteredStat(String name, long value) {
+        Map<String, Long> stats = unregisteredStats;
+        if (stats == null) {
+            stats = new HashMap<>();
+        }
+        stats.put(name, value);
+        unregisteredStats = stats;
+    }
+    
+    private synchronized void applyUnregisteredStat(StatKey<?> key) {
+        Map<String, Long> stats = unregisteredStats;
+        if (stats == null) {
+            return;
+        }
+        Long stored = stats.remove(key.getName());
+        if (stats.isEmpty()) {
+            unregisteredStats = null;
+        }
+        if (stored != null) {
+            // Add rather than set: updates made before this point are deltas on top of the stored value
+            statPage(key).values.addAndGet(key.getIndex() & STAT_SLOT_MASK, stored);
+        }
     }
     
     // Dirty tracking
     public boolean isDirty() {
-        return dirty;
+        return (int) DIRTY_FIELDS.getVolatile(this) != 0;
     }
     
+    /**
+     * Mark every persisted field as changed.
+     */
     public void markDirty() {
-        this.dirty = true;
+        markDirty(PlayerSnapshot.ALL_COLUMNS);
+        for (String key : metadata.keySet()) {
+            markMetadataDirty(key);
+        }
+        // Zero slots are skipped: they may belong to a stat whose stored value is not applied yet
+        for (StatPage page : statPages) {
+            if (page == null) {
+                continue;
+            }
+            for (int slot = 0; slot < STAT_PAGE_SIZE; slot++) {
+                if (page.values.get(slot) != 0) {
+                    markStatDirty(page, slot);
+                }
+            }
+        }
     }
     
+    /**
+     * Mark every field as saved.
+     * 
+     * <p>Prefer letting saves clean the data: this discards changes that have
+     * not been written yet.
+     */
     public void markClean() {
-        this.dirty = false;
+        DIRTY_FIELDS.setVolatile(this, 0);
         dirtyMetadata.clear();
+        for (StatPage page : statPages) {
+            if (page != null) {
+                STAT_DIRTY.setVolatile(page, 0L);
+            }
+        }
+    }
+    
+    /**
+     * Get the modification generation, incremented by every mutation.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+    
+    /**
+     * Record a mutation of the given fields.
+     * 
+     * <p>The value must already be written. The field generation is published
+     * before the dirty bit so that {@link #markPersisted} can detect it.
+     */
+    private void markDirty(int fields) {
+        long gen = generation.incrementAndGet();
+        for (int bits = fields; bits != 0; bits &= bits - 1) {
+            fieldGenerations.getAndAccumulate(Integer.numberOfTrailingZeros(bits), gen, Math::max);
+        }
+        setDirtyBits(fields);
+    }
+    
+    private void markMetadataDirty(String key) {
+        long gen = generation.incrementAndGet();
+        dirtyMetadata.merge(key, gen, Math::max);
+        fieldGenerations.getAndAccumulate(METADATA_FIELD, gen, Math::max);
+        setDirtyBits(PlayerSnapshot.METADATA);
+    }
+    
+    /**
+     * Set dirty bits, notifying the dirty listener if the data was clean.
+     */
+    private void setDirtyBits(int fields) {
+        int previous = (int) DIRTY_FIELDS.getAndBitwiseOr(this, fields);
+        if (previous == 0) {
+            Consumer<PlayerData> listener = dirtyListener;
+            if (listener != null) {
+                listener.accept(this);
+            }
+        }
+    }
+    
+    /**
+     * Capture the dirty fields for a save batch.
+     * 
+     * <p>The generation and dirty bits are read before the values, so any
+     * mutation the snapshot misses has a later generation and stays dirty.
+     */
+    PlayerSnapshot snapshot() {
+        long gen = generation.get();
+        int dirty = (int) DIRTY_FIELDS.getVolatile(this);
+        return new PlayerSnapshot(
+            uuid,
+            username,
+            firstJoin,
+            lastJoin,
+            playTime.get(),
+            totalExperience.get(),
+            level.get(),
+            dirty,
+            gen,
+            (dirty & PlayerSnapshot.METADATA) != 0 ? metadataChanges() : List.of(),
+            (dirty & PlayerSnapshot.STATS) != 0 ? statChanges() : List.of()
+        );
+    }
+    
+    private List<PlayerSnapshot.StatChange> statChanges() {
+        List<PlayerSnapshot.StatChange> changes = new ArrayList<>();
+        StatPage[] pages = statPages;
+        for (int p = 0; p < pages.length; p++) {
+            StatPage page = pages[p];
+            if (page == null) {
+                continue;
+            }
+            for (long bits = page.dirty; bits != 0; bits &= bits - 1) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                changes.add(new PlayerSnapshot.StatChange(p << STAT_PAGE_BITS | slot, page.values.get(slot)));
+            }
+        }
+        return changes;
+    }
+    
+    /**
+     * Encode every dirty metadata key. Values the codec cannot encode are
+     * transient and are dropped from dirty tracking here.
+     */
+    private List<PlayerSnapshot.MetadataChange> metadataChanges() {
+        List<PlayerSnapshot.MetadataChange> changes = new ArrayList<>(dirtyMetadata.size());
+        for (Map.Entry<String, Long> entry : dirtyMetadata.entrySet()) {
+            String key = entry.getKey();
+            long gen = entry.getValue();
+            Object value = metadata.get(key);
+            
+            if (value == null) {
+                changes.add(new PlayerSnapshot.MetadataChange(key, gen, null));
+            } else if (value instanceof EncodedMetadata encoded) {
+                changes.add(new PlayerSnapshot.MetadataChange(key, gen, encoded.bytes()));
+            } else if (MetadataCodec.isSupported(value)) {
+                changes.add(new PlayerSnapshot.MetadataChange(key, gen, MetadataCodec.encode(value)));
+            } else {
+                dirtyMetadata.remove(key, gen);
+            }
+        }
+        return changes;
+    }
+    
+    /**
+     * Record that a snapshot has been committed to the database.
+     * 
+     * <p>Clears the snapshot's dirty bits, then restores any bit whose field
+     * was modified after the snapshot was taken.
+     */
+    void markPersisted(PlayerSnapshot snapshot) {
+        int saved = snapshot.changedColumns();
+        DIRTY_FIELDS.getAndBitwiseAnd(this, ~saved);
+        
+        int modified = 0;
+        for (int bits = saved; bits != 0; bits &= bits - 1) {
+            int field = Integer.numberOfTrailingZeros(bits);
+            if (fieldGenerations.get(field) > snapshot.generation()) {
+                modified |= 1 << field;
+            }
+        }
+        if (modified != 0) {
+            setDirtyBits(modified);
+        }
+        
+        // Keys modified after the snapshot carry a newer generation and stay dirty
+        for (PlayerSnapshot.MetadataChange change : snapshot.metadataChanges()) {
+            dirtyMetadata.remove(change.key(), change.generation());
+        }
+        
+        if ((saved & PlayerSnapshot.STATS) != 0) {
+            markStatsPersisted(snapshot.statChanges());
+        }
+    }
+    
+    /**
+     * Clear the dirty bit of every saved stat, re-marking any whose value has
+     * changed since the snapshot. The STATS bit is restored while any stat is
+     * still dirty.
+     */
+    private void markStatsPersisted(List<PlayerSnapshot.StatChange> changes) {
+        StatPage[] pages = statPages;
+        for (PlayerSnapshot.StatChange change : changes) {
+            StatPage page = pages[change.index() >>> STAT_PAGE_BITS];
+            int slot = change.index() & STAT_SLOT_MASK;
+            long bit = 1L << slot;
+            STAT_DIRTY.getAndBitwiseAnd(page, ~bit);
+            if (page.values.get(slot) != change.value()) {
+                STAT_DIRTY.getAndBitwiseOr(page, bit);
+            }
+        }
+        
+        for (StatPage page : statPages) {
+            if (page != null && page.dirty != 0) {
+                setDirtyBits(PlayerSnapshot.STATS);
+                return;
+            }
+        }
+    }
+    
+    // Progress notifications
+    
+    /**
+     * Receives changes to a cached player's experience, level, play time or
+     * username.
+     * 
+     * <p>Called synchronously on the thread that made the change, after the
+     * new value is visible.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progressChanged(PlayerData data);
+        
+        /**
+         * Called once per level change, after {@link #progressChanged}.
+         */
+        default void levelChanged(PlayerData data, int oldLevel, int newLevel) {
+        }
+    }
+    
+    void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+    
+    void setLevelCurve(LevelCurve curve) {
+        this.levelCurve = curve;
+    }
+    
+    /**
+     * Set the callback for an instance that no cache tracks, so that changes
+     * made through a reference a caller still holds are saved.
+     * 
+     * <p>Called whenever the data goes from clean to dirty, on the thread that
+     * made the change.
+     */
+    void setDirtyListener(Consumer<PlayerData> listener) {
+        this.dirtyListener = listener;
+    }
+    
+    /**
+     * Get the level curve used for this player.
+     * 
+     * <p>For a subclass that overrides {@link #getXpForLevel}, this is a curve
+     * built from the override, up to the configured curve's maximum level.
+     */
+    public LevelCurve getLevelCurve() {
+        LevelCurve curve = levelCurve;
+        if (!OVERRIDES_XP_FOR_LEVEL.get(getClass())) {
+            return curve;
+        }
+        LevelCurve custom = OVERRIDE_CURVES.get(getClass());
+        if (custom == null || custom.getMaxLevel() != curve.getMaxLevel()) {
+            custom = overrideCurve(curve.getMaxLevel());
+            OVERRIDE_CURVES.put(getClass(), custom);
+        }
+        return custom;
+    }
+    
+    private LevelCurve overrideCurve(int maxLevel) {
+        // Older formulas were never required to be monotonic; a dip keeps the previous level's XP
+        long[] previous = {0L};
+        return LevelCurve.table(maxLevel, level -> previous[0] = Math.max(previous[0], getXpForLevel(level)));
+    }
+    
+    private void progressChanged() {
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.progressChanged(this);
+        }
+    }
+    
+    private void levelChanged(int oldLevel, int newLevel) {
+        ProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.levelChanged(this, oldLevel, newLevel);
+        }
     }
     
     // Utility
@@ -188,11 +758,14 @@ public class PlayerData {
     
     /**
      * Get XP required for a specific level.
-     * Override this for custom level formulas.
+     * 
+     * <p>Override this for custom level formulas. The override is evaluated
+     * once per level when the subclass is first used, so it must not depend
+     * on instance state. {@link PlayerDataManager#setLevelCurve} changes the
+     * curve for every player instead.
      */
     protected int getXpForLevel(int level) {
-        // Default: exponential growth
-        return (int) (100 * Math.pow(level, 1.5));
+        return (int) Math.min(Integer.MAX_VALUE, levelCurve.getXpForLevel(level));
     }
     
     @Override
@@ -204,4 +777,18 @@ public class PlayerData {
             ", xp=" + totalExperience +
             '}';
     }
+    
+    /**
+     * Metadata value as read from the database, decoded on first access.
+     */
+    private record EncodedMetadata(byte[] bytes) {
+    }
+    
+    /**
+     * Values and dirty bits of {@link #STAT_PAGE_SIZE} consecutive stats.
+     */
+    private static final class StatPage {
+        private final AtomicLongArray values = new AtomicLongArray(STAT_PAGE_SIZE);
+        private volatile long dirty;
+    }
 }
@@ -1,9 +1,14 @@
 package com.xenderz.xzcore.player;
 
 import org.bukkit.plugin.java.JavaPlugin;
+import com.xenderz.xzcore.api.XzCoreAPI;
+import com.xenderz.xzcore.config.ConfigurationManager;
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.events.PlayerLevelChangeEvent;
 import com.xenderz.xzcore.service.Service;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -13,13 +18,21 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
@@ -31,14 +44,37 @@ import java.util.logging.Level;
 public class PlayerDataManager implements Service, Listener {
     
     private final JavaPlugin plugin;
+    private final ConfigurationManager config;
     private final DatabaseManager database;
     private final EventBus eventBus;
+    private PlayerDataRepository repository;
+    private final StatRegistry statRegistry = new StatRegistry();
     
     private final Map<UUID, PlayerData> cache = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<PlayerData.ProgressListener> progressListeners = new CopyOnWriteArrayList<>();
+    private final PlayerData.ProgressListener progressDispatcher = new ProgressDispatcher();
+    private volatile LevelCurve levelCurve = LevelCurve.DEFAULT;
+    private PlayerSaveQueue saveQueue;
+    private SingleFlightLoads pendingLoads;
+    private OfflinePlayerCache offlineCache;
+    private AutosaveScheduler autosave;
+    private PreloadPipeline preloads;
+    private long loginTimeoutMillis = 10_000L;
+    private String loginTimeoutMessage;
+    private String loginErrorMessage;
+    private int shutdownBatchSize = 1000;
+    private long shutdownTimeoutSeconds = 30L;
     private boolean initialized = false;
     
-    public PlayerDataManager(JavaPlugin plugin, DatabaseManager database, EventBus eventBus) {
+    // Main-thread sync load guard
+    private boolean detectMainThreadLoads = false;
+    private final Set<String> reportedLoadCallers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong mainThreadLoads = new AtomicLong();
+    private final AtomicLong loginTimeouts = new AtomicLong();
+    
+    public PlayerDataManager(JavaPlugin plugin, ConfigurationManager config, DatabaseManager database, EventBus eventBus) {
         this.plugin = plugin;
+        this.config = config;
         this.database = database;
         this.eventBus = eventBus;
     }
@@ -47,20 +83,71 @@ public class PlayerDataManager implements Service, Listener {
     public void initialize() {
         eventBus.registerListener(this, plugin);
         
-        // Start auto-save task
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, 
-            this::saveAllDirty, 
-            20L * 60 * 5, // 5 minutes
-            20L * 60 * 5  // Every 5 minutes
+        // Write-behind queue for batched saves
+        this.repository = new PlayerDataRepository(database.getDialect(), statRegistry);
+        this.saveQueue = new PlayerSaveQueue(plugin, database, repository,
+            config.getLong("player-data.save-queue.flush-interval-ticks", 100L),
+            config.getInt("player-data.save-queue.max-batch-size", 200)
+        );
+        saveQueue.start();
+        
+        // Batched loads for logins and async lookups
+        this.preloads = new PreloadPipeline(plugin, database, repository,
+            config.getLong("player-data.preload.batch-window-ms", 5L),
+            config.getInt("player-data.preload.max-batch-size", 100),
+            config.getInt("player-data.preload.max-concurrent-batches", 2)
+        );
+        preloads.start();
+        this.pendingLoads = new SingleFlightLoads(preloads::load);
+        this.loginTimeoutMillis = Math.max(100L, config.getLong("player-data.preload.login-timeout-ms", 10_000L));
+        this.loginTimeoutMessage = config.getString("player-data.preload.timeout-message",
+            "Your player data is taking too long to load. Please try again in a moment.");
+        this.loginErrorMessage = config.getString("player-data.preload.error-message",
+            "Your player data could not be loaded. Please try again later.");
+        
+        // Second-tier cache for offline lookups; instances it does not keep are saved through the queue
+        this.offlineCache = new OfflinePlayerCache(
+            config.getInt("player-data.offline-cache.maximum-size", 1000),
+            config.getLong("player-data.offline-cache.expire-after-access-seconds", 600L) * 1000L,
+            config.getLong("player-data.offline-cache.expire-after-write-seconds", 3600L) * 1000L,
+            saveQueue::enqueue
+        );
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            offlineCache::cleanUp,
+            20L * 60,
+            20L * 60
         );
         
+        this.shutdownBatchSize = Math.max(1, config.getInt("player-data.shutdown.batch-size", 1000));
+        this.shutdownTimeoutSeconds = Math.max(1L, config.getLong("player-data.shutdown.timeout-seconds", 30L));
+        
+        this.detectMainThreadLoads = config.getBoolean("player-data.detect-main-thread-loads", false);
+        
+        // Autosave one shard of players at a time, spread over the interval
+        this.autosave = new AutosaveScheduler(plugin, saveQueue, this::cachedPlayers,
+            config.getLong("player-data.autosave.interval-seconds", 300L),
+            config.getInt("player-data.autosave.shards", 60),
+            config.getLong("player-data.autosave.max-staleness-seconds", 600L),
+            config.getLong("player-data.autosave.target-latency-ms", 500L)
+        );
+        autosave.start();
+        
         initialized = true;
     }
     
     @Override
     public void shutdown() {
         // Save all cached data
-        saveAll();
+        if (autosave != null) {
+            autosave.stop();
+        }
+        if (preloads != null) {
+            preloads.stop();
+        }
+        if (saveQueue != null) {
+            saveQueue.stop();
+            flushOnShutdown();
+        }
         cache.clear();
         initialized = false;
     }
@@ -72,27 +159,117 @@ public class PlayerDataManager implements Service, Listener {
     
     @Override
     public String getName() {
-        return "PlayerDataManager(" + cache.size() + " cached)";
+        return "PlayerDataManager(" + cache.size() + " cached, " +
+            (offlineCache != null ? offlineCache.size() : 0) + " offline)";
     }
     
     /**
      * Get player data (cached or load from database).
      * 
+     * <p>On a cache miss this blocks on a database load. Prefer
+     * {@link #getPlayerDataAsync(UUID)} for players that may not be online.
+     * 
      * @param uuid player UUID
-     * @return PlayerData
+     * @return PlayerData, or null if the player has never joined
      */
     public PlayerData getPlayerData(UUID uuid) {
-        PlayerData data = cache.get(uuid);
+        PlayerData data = findInMemory(uuid);
         if (data == null) {
-            // Load synchronously (should only happen if player is online)
-            data = loadPlayerDataSync(uuid);
-            if (data != null) {
-                cache.put(uuid, data);
+            CompletableFuture<PlayerData> pending = pendingLoads.get(uuid);
+            if (pending != null) {
+                // Share the load another caller already started
+                reportMainThreadLoad(uuid);
+                data = pending.exceptionally(e -> null).join();
+            } else {
+                // Load synchronously (should only happen if player is online)
+                data = loadPlayerDataSync(uuid);
+                if (data != null) {
+                    data = adopt(data);
+                }
             }
         }
         return data;
     }
     
+    /**
+     * Get player data without blocking the calling thread.
+     * 
+     * <p>Concurrent requests for the same uncached player share a single
+     * database load. Offline players loaded this way are kept in the offline
+     * cache if it admits them; otherwise changes to the returned instance are
+     * queued for saving as they are made.
+     * 
+     * @param uuid player UUID
+     * @return future with the PlayerData, or null if the player has never joined
+     */
+    public CompletableFuture<PlayerData> getPlayerDataAsync(UUID uuid) {
+        return loadShared(uuid);
+    }
+    
+    /**
+     * Find the newest in-memory instance of a player's data.
+     * 
+     * <p>Checks the online cache, the offline cache and finally saves that
+     * have not been committed yet. Anything found here is at least as new as
+     * the database row, so a load must never replace it.
+     */
+    private PlayerData findInMemory(UUID uuid) {
+        PlayerData data = cache.get(uuid);
+        if (data != null) {
+            return data;
+        }
+        data = offlineCache.get(uuid);
+        if (data != null) {
+            return data;
+        }
+        data = saveQueue.getUnsaved(uuid);
+        return data != null ? adopt(data) : null;
+    }
+    
+    /**
+     * Cache a loaded instance unless another one is already cached.
+     * 
+     * @return the instance callers should use
+     */
+    private PlayerData adopt(PlayerData data) {
+        attach(data);
+        UUID uuid = data.getUuid();
+        PlayerData online = cache.get(uuid);
+        if (online != null) {
+            return online;
+        }
+        if (Bukkit.getPlayer(uuid) != null) {
+            PlayerData existing = cache.putIfAbsent(uuid, data);
+            offlineCache.invalidate(uuid);
+            return existing != null ? existing : data;
+        }
+        return offlineCache.putIfAbsent(data);
+    }
+    
+    /**
+     * Move a player's data from the offline cache to the online cache.
+     */
+    private PlayerData promote(PlayerData data) {
+        attach(data);
+        PlayerData existing = cache.putIfAbsent(data.getUuid(), data);
+        offlineCache.invalidate(data.getUuid());
+        return existing != null ? existing : data;
+    }
+    
+    /**
+     * Start a database load for a player, or join the one already running.
+     * 
+     * <p>Returns the in-memory instance instead when there is one.
+     */
+    private CompletableFuture<PlayerData> loadShared(UUID uuid) {
+        PlayerData inMemory = findInMemory(uuid);
+        if (inMemory != null) {
+            return CompletableFuture.completedFuture(inMemory);
+        }
+        
+        return pendingLoads.load(uuid, this::adopt);
+    }
+    
     /**
      * Check if player data is cached.
      */
@@ -100,24 +277,80 @@ public class PlayerDataManager implements Service, Listener {
         return cache.containsKey(uuid);
     }
     
+    /**
+     * Load many players in bulk.
+     * 
+     * <p>Players in memory are returned directly; the rest are fetched with a
+     * single joined query per chunk of UUIDs. Intended for parties, guilds and
+     * leaderboards that need data for players who may be offline.
+     * 
+     * @param uuids player UUIDs
+     * @return future with the players found, keyed by UUID
+     */
+    public CompletableFuture<Map<UUID, PlayerData>> loadMany(Collection<UUID> uuids) {
+        Map<UUID, PlayerData> found = new HashMap<>(uuids.size() * 2);
+        List<UUID> missing = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            PlayerData data = findInMemory(uuid);
+            if (data != null) {
+                found.put(uuid, data);
+            } else {
+                missing.add(uuid);
+            }
+        }
+        
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(found);
+        }
+        
+        return database.withConnectionAsync(conn -> repository.loadMany(conn, missing))
+            .thenApply(loaded -> {
+                for (PlayerData data : loaded.values()) {
+                    // Prefer an instance cached while the query was running
+                    found.put(data.getUuid(), adopt(data));
+                }
+                return found;
+            });
+    }
+    
     /**
      * Pre-load player data asynchronously.
      */
     public CompletableFuture<PlayerData> preloadPlayerData(UUID uuid, String username) {
-        return CompletableFuture.supplyAsync(() -> {
-            PlayerData data = loadOrCreatePlayerData(uuid, username);
-            cache.put(uuid, data);
-            return data;
+        return loadShared(uuid).thenApply(loaded -> {
+            PlayerData data = loaded != null ? loaded : createPlayerData(uuid, username);
+            return promote(data);
         });
     }
     
     @EventHandler(priority = EventPriority.LOWEST)
     public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
-        // Preload data
-        UUID uuid = event.getUniqueId();
-        String username = event.getName();
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
         
-        preloadPlayerData(uuid, username).join();
+        // Preload data; the player is only promoted once it is in memory, so
+        // a timed-out load leaves nothing in the online cache
+        UUID uuid = event.getUniqueId();
+        PlayerData loaded;
+        try {
+            loaded = loadShared(uuid).get(loginTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            loginTimeouts.incrementAndGet();
+            plugin.getLogger().warning("Player data for " + event.getName() + " did not load within "
+                + loginTimeoutMillis + "ms; refusing login");
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Component.text(loginTimeoutMessage));
+            return;
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load player data for " + event.getName(), e.getCause());
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Component.text(loginErrorMessage));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Component.text(loginErrorMessage));
+            return;
+        }
+        promote(loaded != null ? loaded : createPlayerData(uuid, event.getName()));
     }
     
     @EventHandler(priority = EventPriority.LOWEST)
@@ -128,8 +361,7 @@ public class PlayerDataManager implements Service, Listener {
         PlayerData data = cache.get(uuid);
         if (data == null) {
             // Fallback if preload failed
-            data = loadOrCreatePlayerData(uuid, player.getName());
-            cache.put(uuid, data);
+            data = promote(loadOrCreatePlayerData(uuid, player.getName()));
         }
         
         // Update last join
@@ -147,24 +379,19 @@ public class PlayerDataManager implements Service, Listener {
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
         
-        PlayerData data = cache.remove(uuid);
+        PlayerData data = cache.get(uuid);
         if (data != null) {
+            // Queue and demote before removing so lookups always find this instance
             savePlayerDataAsync(data);
+            offlineCache.put(data);
+            cache.remove(uuid, data);
         }
     }
     
     private PlayerData loadPlayerDataSync(UUID uuid) {
-        try (Connection conn = database.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT * FROM xzcore_players WHERE uuid = ?")) {
-            
-            stmt.setString(1, uuid.toString());
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return resultSetToPlayerData(rs);
-            }
-            
+        reportMainThreadLoad(uuid);
+        try (Connection conn = database.getConnection()) {
+            return repository.load(conn, uuid);
         } catch (SQLException e) {
             plugin.getLogger().log(Level.WARNING, "Failed to load player data for " + uuid, e);
         }
@@ -172,61 +399,73 @@ public class PlayerDataManager implements Service, Listener {
     }
     
     private PlayerData loadOrCreatePlayerData(UUID uuid, String username) {
-        PlayerData data = loadPlayerDataSync(uuid);
+        PlayerData data = findInMemory(uuid);
         if (data == null) {
-            data = new PlayerData(uuid, username);
-            data.setFirstJoin(System.currentTimeMillis());
-            data.markDirty();
-            savePlayerDataAsync(data);
+            data = loadPlayerDataSync(uuid);
+        }
+        if (data == null) {
+            data = createPlayerData(uuid, username);
         }
         return data;
     }
     
-    private PlayerData resultSetToPlayerData(ResultSet rs) throws SQLException {
-        PlayerData data = new PlayerData(
-            UUID.fromString(rs.getString("uuid")),
-            rs.getString("username")
-        );
-        data.setFirstJoin(rs.getLong("first_join"));
-        data.setLastJoin(rs.getLong("last_join"));
-        data.setPlayTime(rs.getLong("play_time"));
+    private PlayerData createPlayerData(UUID uuid, String username) {
+        PlayerData data = new PlayerData(uuid, username);
+        attach(data);
+        data.setFirstJoin(System.currentTimeMillis());
+        data.markDirty();
+        savePlayerDataAsync(data);
+        return data;
+    }
+    
+    /**
+     * Report a blocking load on the main server thread, once per call site.
+     */
+    private void reportMainThreadLoad(UUID uuid) {
+        if (!detectMainThreadLoads || !Bukkit.isPrimaryThread()) {
+            return;
+        }
+        mainThreadLoads.incrementAndGet();
         
-        // Load experience
-        try (PreparedStatement stmt = rs.getStatement().getConnection().prepareStatement(
-            "SELECT * FROM xzcore_experience WHERE uuid = ?")) {
-            stmt.setString(1, rs.getString("uuid"));
-            ResultSet xpRs = stmt.executeQuery();
-            if (xpRs.next()) {
-                data.setTotalExperience(xpRs.getLong("total_xp"));
-                data.setLevel(xpRs.getInt("level"));
+        Throwable trace = new Throwable("Synchronous player data load on the main thread");
+        String caller = findCaller(trace.getStackTrace());
+        if (reportedLoadCallers.add(caller)) {
+            plugin.getLogger().log(Level.WARNING, "Blocking player data load for " + uuid +
+                " on the main thread from " + caller + "; use getPlayerDataAsync instead", trace);
+        }
+    }
+    
+    private static String findCaller(StackTraceElement[] stack) {
+        String ownClass = PlayerDataManager.class.getName();
+        String apiPackage = XzCoreAPI.class.getPackageName() + ".";
+        for (StackTraceElement element : stack) {
+            String className = element.getClassName();
+            if (!className.equals(ownClass) && !className.startsWith(apiPackage) && !className.startsWith("java.")) {
+                return element.toString();
             }
         }
-        
-        data.markClean();
-        return data;
+        return stack.length > 0 ? stack[stack.length - 1].toString() : "unknown";
+    }
+    
+    /**
+     * Number of blocking main-thread loads seen since startup.
+     * 
+     * <p>Only counted when {@code player-data.detect-main-thread-loads} is enabled.
+     */
+    public long getMainThreadLoadCount() {
+        return mainThreadLoads.get();
     }
     
     /**
      * Save player data asynchronously.
+     * 
+     * <p>The data is queued on the write-behind queue and committed with the
+     * next batch.
+     * 
+     * @return future completed once the data has been committed
      */
     public CompletableFuture<Void> savePlayerDataAsync(PlayerData data) {
-        return database.executeAsync(
-            "INSERT OR REPLACE INTO xzcore_players (uuid, username, first_join, last_join, play_time) VALUES (?, ?, ?, ?, ?)",
-            data.getUuid().toString(),
-            data.getUsername(),
-            data.getFirstJoin(),
-            data.getLastJoin(),
-            data.getPlayTime()
-        ).thenRun(() -> {
-            // Save experience
-            database.executeAsync(
-                "INSERT OR REPLACE INTO xzcore_experience (uuid, total_xp, level, last_updated) VALUES (?, ?, ?, ?)",
-                data.getUuid().toString(),
-                data.getTotalExperience(),
-                data.getLevel(),
-                System.currentTimeMillis()
-            );
-        }).thenRun(data::markClean);
+        return saveQueue.enqueue(data);
     }
     
     /**
@@ -235,18 +474,168 @@ public class PlayerDataManager implements Service, Listener {
     public void saveAllDirty() {
         for (PlayerData data : cache.values()) {
             if (data.isDirty()) {
-                savePlayerDataAsync(data);
+                saveQueue.enqueue(data);
+            }
+        }
+        for (PlayerData data : offlineCache.values()) {
+            if (data.isDirty()) {
+                saveQueue.enqueue(data);
             }
         }
     }
     
     /**
-     * Save all cached player data.
+     * Online and offline cached player data.
+     */
+    private List<PlayerData> cachedPlayers() {
+        List<PlayerData> players = new ArrayList<>(cache.values());
+        players.addAll(offlineCache.values());
+        return players;
+    }
+    
+    /**
+     * Save all online player data, plus any unsaved offline data, and wait
+     * for the batch to commit.
      */
     public void saveAll() {
+        enqueueAll();
+        saveQueue.flushAll(shutdownBatchSize).join();
+    }
+    
+    private void enqueueAll() {
+        for (PlayerData data : cache.values()) {
+            saveQueue.enqueue(data);
+        }
+        for (PlayerData data : offlineCache.values()) {
+            if (data.isDirty()) {
+                saveQueue.enqueue(data);
+            }
+        }
+    }
+    
+    /**
+     * Write everything in a few large transactions, waiting no longer than
+     * the shutdown timeout so a stalled database cannot hang the server stop.
+     */
+    private void flushOnShutdown() {
+        long start = System.nanoTime();
+        long savedBefore = saveQueue.getTotalSaved();
+        long flushesBefore = saveQueue.getTotalFlushes();
+        enqueueAll();
+        int queued = saveQueue.getPendingCount();
+        
+        try {
+            saveQueue.flushAll(shutdownBatchSize).get(shutdownTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().severe("Player data save did not finish within " + shutdownTimeoutSeconds
+                + "s; " + saveQueue.getPendingCount() + " players were not written");
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to save player data on shutdown; "
+                + saveQueue.getPendingCount() + " players were not written", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        plugin.getLogger().info(String.format("Saved %d of %d queued player records in %d transactions (%dms)",
+            saveQueue.getTotalSaved() - savedBefore,
+            queued,
+            saveQueue.getTotalFlushes() - flushesBefore,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        ));
+    }
+    
+    /**
+     * Listen for experience, level, play time and username changes of cached
+     * players.
+     * 
+     * <p>Listeners run on the thread that made the change and must be fast.
+     * Adding a listener that is already registered does nothing.
+     */
+    public void addProgressListener(PlayerData.ProgressListener listener) {
+        progressListeners.addIfAbsent(listener);
+    }
+    
+    /**
+     * Stop notifying a listener added with {@link #addProgressListener}.
+     */
+    public void removeProgressListener(PlayerData.ProgressListener listener) {
+        progressListeners.remove(listener);
+    }
+    
+    /**
+     * Hook a cached instance up to progress notifications and the level curve.
+     * 
+     * <p>Cached instances are saved by autosave, so an instance rejected by
+     * the offline cache earlier no longer needs to queue itself on change.
+     */
+    private void attach(PlayerData data) {
+        data.setLevelCurve(levelCurve);
+        data.setProgressListener(progressDispatcher);
+        data.setDirtyListener(null);
+    }
+    
+    /**
+     * Replace the level curve used by every cached player.
+     * 
+     * <p>Existing levels are not recalculated; call
+     * {@link PlayerData#checkLevelUp()} to raise them to the new curve.
+     * 
+     * @param curve level curve
+     */
+    public void setLevelCurve(LevelCurve curve) {
+        this.levelCurve = curve;
         for (PlayerData data : cache.values()) {
-            savePlayerDataAsync(data).join();
+            data.setLevelCurve(curve);
         }
+        for (PlayerData data : offlineCache.values()) {
+            data.setLevelCurve(curve);
+        }
+    }
+    
+    public LevelCurve getLevelCurve() {
+        return levelCurve;
+    }
+    
+    /**
+     * Get the registry of typed player stats.
+     */
+    public StatRegistry getStatRegistry() {
+        return statRegistry;
+    }
+    
+    /**
+     * Get the write-behind save queue.
+     */
+    public PlayerSaveQueue getSaveQueue() {
+        return saveQueue;
+    }
+    
+    /**
+     * Get the sharded autosave scheduler.
+     */
+    public AutosaveScheduler getAutosave() {
+        return autosave;
+    }
+    
+    /**
+     * Get the batched load pipeline.
+     */
+    public PreloadPipeline getPreloads() {
+        return preloads;
+    }
+    
+    /**
+     * Number of logins refused because their data did not load in time.
+     */
+    public long getLoginTimeouts() {
+        return loginTimeouts.get();
+    }
+    
+    /**
+     * Get the offline player cache.
+     */
+    public OfflinePlayerCache getOfflineCache() {
+        return offlineCache;
     }
     
     /**
@@ -255,4 +644,38 @@ public class PlayerDataManager implements Service, Listener {
     public int getCacheSize() {
         return cache.size();
     }
+    
+    /**
+     * Fans progress changes out to the registered listeners and posts
+     * {@link PlayerLevelChangeEvent}s.
+     */
+    private final class ProgressDispatcher implements PlayerData.ProgressListener {
+        
+        @Override
+        public void progressChanged(PlayerData data) {
+            for (PlayerData.ProgressListener listener : progressListeners) {
+                try {
+                    listener.progressChanged(data);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.WARNING, "Progress listener failed for " + data.getUuid(), e);
+                }
+            }
+        }
+        
+        @Override
+        public void levelChanged(PlayerData data, int oldLevel, int newLevel) {
+            for (PlayerData.ProgressListener listener : progressListeners) {
+                try {
+                    listener.levelChanged(data, oldLevel, newLevel);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.WARNING, "Progress listener failed for " + data.getUuid(), e);
+                }
+            }
+            try {
+                eventBus.post(new PlayerLevelChangeEvent(data, oldLevel, newLevel));
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to post level change for " + data.getUuid(), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,430 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.SqlDialect;
+import com.xenderz.xzcore.database.Uuids;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL access for the core player and player metadata tables.
+ * 
+ * <p>All methods run on a caller-supplied connection so that several
+ * statements can share one transaction. Player UUIDs are stored as 16 bytes
+ * (see {@link Uuids}).
+ */
+final class PlayerDataRepository {
+    
+    private static final String PLAYERS_TABLE = "xzcore_players";
+    private static final String EXPERIENCE_TABLE = "xzcore_experience";
+    private static final String METADATA_TABLE = "xzcore_player_metadata";
+    private static final String METADATA_KEYS_TABLE = "xzcore_metadata_keys";
+    private static final List<String> KEY = List.of("uuid");
+    private static final List<String> METADATA_KEY = List.of("uuid", "key_id");
+    private static final List<String> METADATA_KEY_NAME = List.of("name");
+    
+    private static final List<String> PLAYER_COLUMNS =
+        List.of("uuid", "username", "first_join", "last_join", "play_time");
+    private static final List<String> EXPERIENCE_COLUMNS =
+        List.of("uuid", "total_xp", "level", "last_updated");
+    private static final List<String> METADATA_COLUMNS =
+        List.of("uuid", "key_id", "value");
+    
+    // Players and their experience in one round-trip; experience may be missing
+    private static final String SELECT_PLAYERS =
+        "SELECT p.uuid, p.username, p.first_join, p.last_join, p.play_time, e.total_xp, e.level " +
+        "FROM xzcore_players p LEFT JOIN xzcore_experience e ON e.uuid = p.uuid";
+    
+    private static final String SELECT_METADATA =
+        "SELECT m.uuid, m.key_id, k.name, m.value " +
+        "FROM xzcore_player_metadata m JOIN xzcore_metadata_keys k ON k.id = m.key_id";
+    
+    private static final String DELETE_METADATA =
+        "DELETE FROM xzcore_player_metadata WHERE uuid = ? AND key_id = ?";
+    
+    private final SqlDialect dialect;
+    private final StatRegistry stats;
+    
+    // Interned metadata key ids; only committed ids are cached
+    private final Map<String, Integer> metadataKeyIds = new ConcurrentHashMap<>();
+    
+    PlayerDataRepository(SqlDialect dialect, StatRegistry stats) {
+        this.dialect = dialect;
+        this.stats = stats;
+    }
+    
+    /**
+     * Load a single player.
+     * 
+     * @param conn connection
+     * @param uuid player UUID
+     * @return player data, or null if the player has no row
+     * @throws SQLException if the query fails
+     */
+    PlayerData load(Connection conn, UUID uuid) throws SQLException {
+        PlayerData data;
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_PLAYERS + " WHERE p.uuid = ?")) {
+            stmt.setBytes(1, Uuids.toBytes(uuid));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                data = readPlayer(rs);
+            }
+        }
+        loadMetadata(conn, Map.of(uuid, data));
+        return data;
+    }
+    
+    /**
+     * Load many players with chunked {@code IN (...)} queries.
+     * 
+     * @param conn connection
+     * @param uuids player UUIDs
+     * @return loaded players by UUID; players without a row are absent
+     * @throws SQLException if a query fails
+     */
+    Map<UUID, PlayerData> loadMany(Connection conn, Collection<UUID> uuids) throws SQLException {
+        Map<UUID, PlayerData> result = new HashMap<>(uuids.size() * 2);
+        if (uuids.isEmpty()) {
+            return result;
+        }
+        
+        List<UUID> ids = new ArrayList<>(uuids);
+        int chunkSize = dialect.getMaxRowsPerStatement(1);
+        
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            
+            try (PreparedStatement stmt = conn.prepareStatement(selectIn(SELECT_PLAYERS, "p.uuid", chunk.size()))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setBytes(i + 1, Uuids.toBytes(chunk.get(i)));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        PlayerData data = readPlayer(rs);
+                        result.put(data.getUuid(), data);
+                    }
+                }
+            }
+        }
+        
+        loadMetadata(conn, result);
+        return result;
+    }
+    
+    /**
+     * Attach stored metadata to loaded players. Values stay encoded until read.
+     */
+    private void loadMetadata(Connection conn, Map<UUID, PlayerData> players) throws SQLException {
+        if (players.isEmpty()) {
+            return;
+        }
+        
+        List<UUID> ids = new ArrayList<>(players.keySet());
+        int chunkSize = dialect.getMaxRowsPerStatement(1);
+        
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            
+            try (PreparedStatement stmt = conn.prepareStatement(selectIn(SELECT_METADATA, "m.uuid", chunk.size()))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setBytes(i + 1, Uuids.toBytes(chunk.get(i)));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        PlayerData data = players.get(Uuids.fromBytes(rs.getBytes(1)));
+                        String key = rs.getString(3);
+                        metadataKeyIds.putIfAbsent(key, rs.getInt(2));
+                        if (data == null) {
+                            continue;
+                        }
+                        if (key.startsWith(StatRegistry.KEY_PREFIX)) {
+                            loadStat(data, key.substring(StatRegistry.KEY_PREFIX.length()), rs.getBytes(4));
+                        } else {
+                            data.loadMetadata(key, rs.getBytes(4));
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private void loadStat(PlayerData data, String name, byte[] encoded) {
+        long value;
+        try {
+            if (!(MetadataCodec.decode(encoded) instanceof Long raw)) {
+                return;
+            }
+            value = raw;
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        
+        StatKey<?> key = stats.get(name);
+        if (key != null) {
+            data.loadStat(key, value);
+        } else {
+            data.loadUnregisteredStat(name, value);
+        }
+    }
+    
+    private static String selectIn(String select, String column, int count) {
+        StringBuilder sql = new StringBuilder(select.length() + column.length() + 16 + count * 3)
+            .append(select).append(" WHERE ").append(column).append(" IN (");
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+    
+    /**
+     * Collect metadata keys in the snapshots that have no known id yet.
+     * 
+     * @param snapshots snapshots about to be saved
+     * @return key names that must be passed to {@link #resolveMetadataKeys} first
+     */
+    Set<String> unresolvedMetadataKeys(Collection<PlayerSnapshot> snapshots) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (PlayerSnapshot snapshot : snapshots) {
+            for (PlayerSnapshot.MetadataChange change : snapshot.metadataChanges()) {
+                if (!metadataKeyIds.containsKey(change.key())) {
+                    keys.add(change.key());
+                }
+            }
+            for (PlayerSnapshot.StatChange change : snapshot.statChanges()) {
+                String key = statMetadataKey(change);
+                if (!metadataKeyIds.containsKey(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys;
+    }
+    
+    /**
+     * Intern metadata key names.
+     * 
+     * <p>Must run in its own write, before the save that uses the keys. Pass
+     * the result to {@link #cacheMetadataKeyIds} only once that write has
+     * committed, so a rolled back write can never leave an uncommitted id in
+     * the cache. Inserting an existing name is a no-op, so servers sharing a
+     * database agree on the ids.
+     * 
+     * @param conn connection
+     * @param keys key names
+     * @return ids by key name
+     * @throws SQLException if a statement fails
+     */
+    Map<String, Integer> resolveMetadataKeys(Connection conn, Collection<String> keys) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>(keys.size() * 2);
+        List<String> names = new ArrayList<>(keys);
+        int chunkSize = dialect.getMaxRowsPerStatement(1);
+        
+        for (int from = 0; from < names.size(); from += chunkSize) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + chunkSize));
+            
+            String insert = dialect.upsert(METADATA_KEYS_TABLE, METADATA_KEY_NAME, METADATA_KEY_NAME, List.of(), chunk.size());
+            try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i));
+                }
+                stmt.executeUpdate();
+            }
+            
+            String select = selectIn("SELECT id, name FROM " + METADATA_KEYS_TABLE, "name", chunk.size());
+            try (PreparedStatement stmt = conn.prepareStatement(select)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.put(rs.getString(2), rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * Cache committed metadata key ids.
+     */
+    void cacheMetadataKeyIds(Map<String, Integer> ids) {
+        metadataKeyIds.putAll(ids);
+    }
+    
+    private static PlayerData readPlayer(ResultSet rs) throws SQLException {
+        PlayerData data = new PlayerData(
+            Uuids.fromBytes(rs.getBytes(1)),
+            rs.getString(2)
+        );
+        data.setFirstJoin(rs.getLong(3));
+        data.setLastJoin(rs.getLong(4));
+        data.setPlayTime(rs.getLong(5));
+        
+        long totalXp = rs.getLong(6);
+        if (!rs.wasNull()) {
+            data.setTotalExperience(totalXp);
+            data.setLevel(rs.getInt(7));
+        }
+        
+        data.markPersisted(data.snapshot());
+        return data;
+    }
+    
+    /**
+     * Write a batch of snapshots as multi-row upserts.
+     * 
+     * <p>Rows are grouped by their set of changed columns so that existing rows
+     * only have those columns rewritten. A table is skipped entirely for
+     * snapshots that did not change any of its columns. Metadata and stats are
+     * written per changed key. The caller owns the transaction; player rows are written
+     * first so the foreign keys are always satisfied.
+     * 
+     * @param conn connection with auto-commit disabled
+     * @param snapshots snapshots to persist; their metadata keys must be resolved
+     * @throws SQLException if any statement fails
+     */
+    void saveBatch(Connection conn, Collection<PlayerSnapshot> snapshots) throws SQLException {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        
+        for (Map.Entry<Integer, List<PlayerSnapshot>> group : groupByChanges(snapshots, PlayerSnapshot.PLAYER_COLUMNS).entrySet()) {
+            List<String> updates = new ArrayList<>(4);
+            int mask = group.getKey();
+            if ((mask & PlayerSnapshot.USERNAME) != 0) updates.add("username");
+            if ((mask & PlayerSnapshot.FIRST_JOIN) != 0) updates.add("first_join");
+            if ((mask & PlayerSnapshot.LAST_JOIN) != 0) updates.add("last_join");
+            if ((mask & PlayerSnapshot.PLAY_TIME) != 0) updates.add("play_time");
+            
+            upsert(conn, PLAYERS_TABLE, PLAYER_COLUMNS, KEY, updates, group.getValue(), (stmt, index, snapshot) -> {
+                stmt.setBytes(index, Uuids.toBytes(snapshot.uuid()));
+                stmt.setString(index + 1, snapshot.username());
+                stmt.setLong(index + 2, snapshot.firstJoin());
+                stmt.setLong(index + 3, snapshot.lastJoin());
+                stmt.setLong(index + 4, snapshot.playTime());
+            });
+        }
+        
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Integer, List<PlayerSnapshot>> group : groupByChanges(snapshots, PlayerSnapshot.EXPERIENCE_COLUMNS).entrySet()) {
+            List<String> updates = new ArrayList<>(3);
+            int mask = group.getKey();
+            if ((mask & PlayerSnapshot.TOTAL_XP) != 0) updates.add("total_xp");
+            if ((mask & PlayerSnapshot.LEVEL) != 0) updates.add("level");
+            updates.add("last_updated");
+            
+            upsert(conn, EXPERIENCE_TABLE, EXPERIENCE_COLUMNS, KEY, updates, group.getValue(), (stmt, index, snapshot) -> {
+                stmt.setBytes(index, Uuids.toBytes(snapshot.uuid()));
+                stmt.setLong(index + 1, snapshot.totalExperience());
+                stmt.setInt(index + 2, snapshot.level());
+                stmt.setLong(index + 3, now);
+            });
+        }
+        
+        saveMetadata(conn, snapshots);
+    }
+    
+    /**
+     * Upsert changed metadata keys and delete removed ones.
+     */
+    private void saveMetadata(Connection conn, Collection<PlayerSnapshot> snapshots) throws SQLException {
+        List<MetadataRow> upserts = new ArrayList<>();
+        List<MetadataRow> deletes = new ArrayList<>();
+        
+        for (PlayerSnapshot snapshot : snapshots) {
+            byte[] uuid = Uuids.toBytes(snapshot.uuid());
+            for (PlayerSnapshot.MetadataChange change : snapshot.metadataChanges()) {
+                Integer keyId = metadataKeyIds.get(change.key());
+                if (keyId == null) {
+                    throw new SQLException("Metadata key '" + change.key() + "' has not been resolved");
+                }
+                MetadataRow row = new MetadataRow(uuid, keyId, change.value());
+                (change.value() != null ? upserts : deletes).add(row);
+            }
+            for (PlayerSnapshot.StatChange change : snapshot.statChanges()) {
+                String key = statMetadataKey(change);
+                Integer keyId = metadataKeyIds.get(key);
+                if (keyId == null) {
+                    throw new SQLException("Metadata key '" + key + "' has not been resolved");
+                }
+                upserts.add(new MetadataRow(uuid, keyId, MetadataCodec.encode(change.value())));
+            }
+        }
+        
+        if (!upserts.isEmpty()) {
+            upsert(conn, METADATA_TABLE, METADATA_COLUMNS, METADATA_KEY, List.of("value"), upserts, (stmt, index, row) -> {
+                stmt.setBytes(index, row.uuid());
+                stmt.setInt(index + 1, row.keyId());
+                stmt.setBytes(index + 2, row.value());
+            });
+        }
+        
+        if (!deletes.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_METADATA)) {
+                for (MetadataRow row : deletes) {
+                    stmt.setBytes(1, row.uuid());
+                    stmt.setInt(2, row.keyId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    private static Map<Integer, List<PlayerSnapshot>> groupByChanges(Collection<PlayerSnapshot> snapshots, int columns) {
+        Map<Integer, List<PlayerSnapshot>> groups = new LinkedHashMap<>();
+        for (PlayerSnapshot snapshot : snapshots) {
+            int mask = snapshot.changedColumns() & columns;
+            if (mask != 0) {
+                groups.computeIfAbsent(mask, k -> new ArrayList<>()).add(snapshot);
+            }
+        }
+        return groups;
+    }
+    
+    private <T> void upsert(Connection conn, String table, List<String> columns, List<String> keys,
+                            List<String> updates, List<T> rows, RowBinder<T> binder) throws SQLException {
+        int chunkSize = dialect.getMaxRowsPerStatement(columns.size());
+        
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + chunkSize));
+            String sql = dialect.upsert(table, keys, columns, updates, chunk.size());
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (T row : chunk) {
+                    binder.bind(stmt, index, row);
+                    index += columns.size();
+                }
+                stmt.executeUpdate();
+            }
+        }
+    }
+    
+    private String statMetadataKey(PlayerSnapshot.StatChange change) {
+        return StatRegistry.KEY_PREFIX + stats.get(change.index()).getName();
+    }
+    
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, int index, T row) throws SQLException;
+    }
+    
+    private record MetadataRow(byte[] uuid, int keyId, byte[] value) {
+    }
+}
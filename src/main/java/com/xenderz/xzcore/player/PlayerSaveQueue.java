@@ -0,0 +1,424 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.DatabaseManager;
+import com.xenderz.xzcore.database.SqlFunction;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue that coalesces player saves into batched transactions.
+ * 
+ * <p>Each instance is queued at most once; repeated saves before the next
+ * flush share the same pending entry and future. A different instance for a
+ * player who is already queued is kept behind the first and written by a
+ * later flush, so neither instance's changes are lost. A flush drains the
+ * queue, snapshots every entry and writes them all in a single transaction.
+ * 
+ * <p>Flushes run on a fixed interval and early whenever the queue reaches the
+ * configured batch size. Draining and snapshotting happen on the async
+ * executor, so queueing a save never does more than a map update.
+ */
+public class PlayerSaveQueue {
+    
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final Executor executor;
+    private final Writer writer;
+    private final PlayerDataRepository repository;
+    private final long flushIntervalTicks;
+    private final int maxBatchSize;
+    
+    private final Map<UUID, PendingSave> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerData> inFlightData = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private CompletableFuture<Void> inFlight;
+    private BukkitTask flushTask;
+    
+    // Statistics
+    private volatile int lastBatchSize = 0;
+    private volatile long lastFlushMillis = 0;
+    private final AtomicLong totalFlushes = new AtomicLong();
+    private final AtomicLong totalSaved = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    
+    PlayerSaveQueue(JavaPlugin plugin, DatabaseManager database, PlayerDataRepository repository,
+                    long flushIntervalTicks, int maxBatchSize) {
+        this(plugin, plugin.getLogger(), database.getExecutor(), database::writeAsync, repository,
+            flushIntervalTicks, maxBatchSize);
+    }
+    
+    /**
+     * Create a queue that writes through the given writer.
+     * 
+     * <p>{@code plugin} is only needed by {@link #start()}.
+     */
+    PlayerSaveQueue(JavaPlugin plugin, Logger logger, Executor executor, Writer writer,
+                    PlayerDataRepository repository, long flushIntervalTicks, int maxBatchSize) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.executor = executor;
+        this.writer = writer;
+        this.repository = repository;
+        this.flushIntervalTicks = Math.max(1L, flushIntervalTicks);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+    
+    /**
+     * Start the periodic flush task.
+     */
+    void start() {
+        flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+            this::flushIfIdle,
+            flushIntervalTicks,
+            flushIntervalTicks
+        );
+    }
+    
+    /**
+     * Stop the periodic flush task. Pending entries are kept.
+     */
+    void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+    
+    /**
+     * Queue player data for the next flush.
+     * 
+     * @param data player data to save
+     * @return future completed once the data has been committed
+     */
+    public CompletableFuture<Void> enqueue(PlayerData data) {
+        PendingSave[] queued = new PendingSave[1];
+        pending.compute(data.getUuid(), (uuid, head) -> {
+            queued[0] = head != null ? head.append(data) : new PendingSave(data);
+            return head != null ? head : queued[0];
+        });
+        
+        if (pending.size() >= maxBatchSize) {
+            scheduleFlush();
+        }
+        return queued[0].future;
+    }
+    
+    /**
+     * Get data that has been queued but not yet committed.
+     * 
+     * <p>Such data is newer than what the database holds, so loads must use it
+     * instead of reading the row.
+     * 
+     * @param uuid player UUID
+     * @return the queued or in-flight instance, or null
+     */
+    public PlayerData getUnsaved(UUID uuid) {
+        // Check pending first: drain publishes to inFlightData before removing from pending
+        PendingSave entry = pending.get(uuid);
+        if (entry != null) {
+            return entry.data;
+        }
+        return inFlightData.get(uuid);
+    }
+    
+    /**
+     * Flush everything queued so far in one transaction.
+     * 
+     * <p>If a flush is already running, the returned future completes after
+     * that flush and a follow-up flush of anything queued meanwhile.
+     * 
+     * @return future completed when the queued entries are committed
+     */
+    public CompletableFuture<Void> flush() {
+        return flush(Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Flush up to {@code limit} queued players in one transaction.
+     * 
+     * <p>The queue is drained and snapshotted on the async executor.
+     * 
+     * @param limit maximum players in the transaction
+     * @return future completed when the drained entries are committed
+     */
+    public synchronized CompletableFuture<Void> flush(int limit) {
+        if (isFlushing()) {
+            return inFlight.handle((v, e) -> null).thenCompose(v -> flush(limit));
+        }
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        inFlight = CompletableFuture.supplyAsync(() -> drain(Math.max(1, limit)), executor)
+            .thenCompose(this::write);
+        return inFlight;
+    }
+    
+    /**
+     * Start a flush of at most one batch unless one is running.
+     * 
+     * <p>Used by the timer and the batch-size trigger: a running flush is
+     * followed by the next tick anyway, so chaining another one behind it
+     * would only pile up work while the database is slow.
+     */
+    private synchronized void flushIfIdle() {
+        if (!isFlushing()) {
+            flush(maxBatchSize);
+        }
+    }
+    
+    /**
+     * Hand a batch-size flush to the executor, at most one at a time.
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                flushScheduled.set(false);
+                flushIfIdle();
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor shut down; the entries stay queued for flushAll
+            flushScheduled.set(false);
+        }
+    }
+    
+    /**
+     * Flush everything queued, in consecutive transactions of at most
+     * {@code batchSize} players.
+     * 
+     * <p>Stops at the first failed transaction; its entries are re-queued.
+     * 
+     * @param batchSize maximum players per transaction
+     * @return future completed when the queue is empty
+     */
+    public CompletableFuture<Void> flushAll(int batchSize) {
+        return flush(batchSize).thenCompose(v -> pending.isEmpty()
+            ? CompletableFuture.completedFuture(null)
+            : flushAll(batchSize));
+    }
+    
+    private CompletableFuture<Void> write(List<PendingSave> batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        long start = System.nanoTime();
+        CompletableFuture<Void> write;
+        try {
+            List<PlayerSnapshot> snapshots = new ArrayList<>(batch.size());
+            for (PendingSave entry : batch) {
+                entry.snapshot = entry.data.snapshot();
+                snapshots.add(entry.snapshot);
+            }
+            write = resolveMetadataKeys(snapshots).thenCompose(v -> writer.write(conn -> {
+                repository.saveBatch(conn, snapshots);
+                return (Void) null;
+            }));
+        } catch (RuntimeException e) {
+            // e.g. a metadata list modified while it was encoded; re-queue like a SQL failure
+            write = CompletableFuture.failedFuture(e);
+        }
+        return write.whenComplete((v, error) -> onFlushComplete(batch, start, error));
+    }
+    
+    /**
+     * Intern metadata keys seen for the first time, in a write committed before the save.
+     */
+    private CompletableFuture<Void> resolveMetadataKeys(List<PlayerSnapshot> snapshots) {
+        Set<String> keys = repository.unresolvedMetadataKeys(snapshots);
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return writer.write(conn -> repository.resolveMetadataKeys(conn, keys))
+            .thenAccept(repository::cacheMetadataKeyIds);
+    }
+    
+    /**
+     * Take up to {@code limit} players off the queue, one instance each.
+     * 
+     * <p>An instance queued behind the drained one moves to the head of its
+     * player's entry and waits for the next flush.
+     */
+    private List<PendingSave> drain(int limit) {
+        List<PendingSave> batch = new ArrayList<>(Math.min(limit, pending.size()));
+        for (UUID uuid : pending.keySet()) {
+            if (batch.size() >= limit) {
+                break;
+            }
+            pending.computeIfPresent(uuid, (key, head) -> {
+                inFlightData.put(key, head.data);
+                batch.add(head);
+                return head.next;
+            });
+        }
+        return batch;
+    }
+    
+    private void onFlushComplete(List<PendingSave> batch, long start, Throwable error) {
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        lastBatchSize = batch.size();
+        totalFlushes.incrementAndGet();
+        
+        if (error != null) {
+            failedFlushes.incrementAndGet();
+            logger.log(Level.WARNING, "Failed to flush " + batch.size() + " player saves, re-queueing", error);
+            for (PendingSave entry : batch) {
+                requeue(entry.data);
+                inFlightData.remove(entry.data.getUuid(), entry.data);
+                entry.future.completeExceptionally(error);
+            }
+            return;
+        }
+        
+        totalSaved.addAndGet(batch.size());
+        for (PendingSave entry : batch) {
+            entry.data.markPersisted(entry.snapshot);
+            inFlightData.remove(entry.data.getUuid(), entry.data);
+            entry.future.complete(null);
+        }
+        
+        // Keep draining in batches while a backlog remains
+        if (pending.size() >= maxBatchSize) {
+            scheduleFlush();
+        }
+    }
+    
+    /**
+     * Put an instance whose write failed back at the head of its player's entry.
+     * 
+     * <p>It was queued before anything that is pending now, so it is written first.
+     */
+    private void requeue(PlayerData data) {
+        pending.compute(data.getUuid(), (uuid, head) -> {
+            if (head != null && head.contains(data)) {
+                return head;
+            }
+            PendingSave entry = new PendingSave(data);
+            entry.next = head;
+            return entry;
+        });
+    }
+    
+    /**
+     * Check if a flush transaction is currently running.
+     */
+    public synchronized boolean isFlushing() {
+        return inFlight != null && !inFlight.isDone();
+    }
+    
+    /**
+     * Number of players waiting for the next flush.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    /**
+     * Number of players written by the most recent flush.
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+    
+    /**
+     * Wall-clock duration of the most recent flush, including executor queueing.
+     */
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+    
+    /**
+     * Number of flushes attempted since startup.
+     */
+    public long getTotalFlushes() {
+        return totalFlushes.get();
+    }
+    
+    /**
+     * Total number of player records committed since startup.
+     */
+    public long getTotalSaved() {
+        return totalSaved.get();
+    }
+    
+    /**
+     * Get save queue statistics.
+     */
+    public String getStats() {
+        return String.format("Pending: %d, Last batch: %d in %dms, Flushes: %d (%d failed), Saved: %d",
+            pending.size(),
+            lastBatchSize,
+            lastFlushMillis,
+            totalFlushes.get(),
+            failedFlushes.get(),
+            totalSaved.get()
+        );
+    }
+    
+    /**
+     * Runs write work in a transaction off the calling thread.
+     */
+    @FunctionalInterface
+    interface Writer {
+        <T> CompletableFuture<T> write(SqlFunction<Connection, T> work);
+    }
+    
+    /**
+     * A queued instance, followed by other instances of the same player.
+     * 
+     * <p>{@code next} is only accessed inside the pending map's compute
+     * functions for the player.
+     */
+    private static final class PendingSave {
+        private final PlayerData data;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private PlayerSnapshot snapshot;
+        private PendingSave next;
+        
+        private PendingSave(PlayerData data) {
+            this.data = data;
+        }
+        
+        /**
+         * Find the entry for an instance, appending one if it is not queued.
+         */
+        private PendingSave append(PlayerData other) {
+            PendingSave entry = this;
+            while (entry.data != other) {
+                if (entry.next == null) {
+                    entry.next = new PendingSave(other);
+                }
+                entry = entry.next;
+            }
+            return entry;
+        }
+        
+        private boolean contains(PlayerData other) {
+            for (PendingSave entry = this; entry != null; entry = entry.next) {
+                if (entry.data == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
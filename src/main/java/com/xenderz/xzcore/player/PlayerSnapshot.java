@@ -0,0 +1,76 @@
+package com.xenderz.xzcore.player;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable point-in-time copy of the persisted {@link PlayerData} fields.
+ * 
+ * <p>Snapshots are taken when a save batch is drained so the database write
+ * never reads live, concurrently mutated state. {@code changedColumns} holds
+ * the dirty bits at snapshot time and {@code generation} the modification
+ * generation they were read at. {@code metadataChanges} and
+ * {@code statChanges} hold the metadata keys and stats that changed since the
+ * last save.
+ */
+record PlayerSnapshot(
+    UUID uuid,
+    String username,
+    long firstJoin,
+    long lastJoin,
+    long playTime,
+    long totalExperience,
+    int level,
+    int changedColumns,
+    long generation,
+    List<MetadataChange> metadataChanges,
+    List<StatChange> statChanges
+) {
+    
+    // xzcore_players columns
+    static final int USERNAME = 1;
+    static final int FIRST_JOIN = 1 << 1;
+    static final int LAST_JOIN = 1 << 2;
+    static final int PLAY_TIME = 1 << 3;
+    
+    // xzcore_experience columns
+    static final int TOTAL_XP = 1 << 4;
+    static final int LEVEL = 1 << 5;
+    
+    // xzcore_player_metadata rows
+    static final int METADATA = 1 << 6;
+    
+    // Registered stats (stored as metadata rows)
+    static final int STATS = 1 << 7;
+    
+    static final int COLUMN_COUNT = 8;
+    static final int PLAYER_COLUMNS = USERNAME | FIRST_JOIN | LAST_JOIN | PLAY_TIME;
+    static final int EXPERIENCE_COLUMNS = TOTAL_XP | LEVEL;
+    static final int ALL_COLUMNS = PLAYER_COLUMNS | EXPERIENCE_COLUMNS | METADATA | STATS;
+    
+    /**
+     * Check whether any column in the mask changed.
+     */
+    boolean changed(int columns) {
+        return (changedColumns & columns) != 0;
+    }
+    
+    /**
+     * A changed metadata key.
+     * 
+     * @param key metadata key
+     * @param generation modification generation of the key when captured
+     * @param value encoded value, or null if the key was removed
+     */
+    record MetadataChange(String key, long generation, byte[] value) {
+    }
+    
+    /**
+     * A changed stat.
+     * 
+     * @param index stat index in the {@link StatRegistry}
+     * @param value raw value when captured
+     */
+    record StatChange(int index, long value) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.DatabaseManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batches player data loads into multi-UUID queries.
+ * 
+ * <p>Requests are collected for up to {@code batch-window-ms} after the first
+ * one arrives (or until the batch is full) and loaded with a single query. At
+ * most {@code max-concurrent-batches} queries run at once; further requests
+ * wait in the queue, so a join storm after a restart queues up here instead of
+ * exhausting the connection pool.
+ * 
+ * <p>Time spent waiting for a batch is reported separately from time spent in
+ * the database.
+ */
+public class PreloadPipeline {
+    
+    private final Logger logger;
+    private final Function<Set<UUID>, CompletableFuture<Map<UUID, PlayerData>>> loader;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final int maxConcurrentBatches;
+    private final Semaphore permits;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private Thread batcher;
+    private volatile boolean running = false;
+    
+    // Statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+    private volatile int lastBatchSize = 0;
+    
+    PreloadPipeline(JavaPlugin plugin, DatabaseManager database, PlayerDataRepository repository,
+                    long batchWindowMillis, int maxBatchSize, int maxConcurrentBatches) {
+        this(plugin.getLogger(), uuids -> database.withConnectionAsync(conn -> repository.loadMany(conn, uuids)),
+            batchWindowMillis, maxBatchSize, maxConcurrentBatches);
+    }
+    
+    /**
+     * @param loader loads a batch; players without a row are missing from the result
+     */
+    PreloadPipeline(Logger logger, Function<Set<UUID>, CompletableFuture<Map<UUID, PlayerData>>> loader,
+                    long batchWindowMillis, int maxBatchSize, int maxConcurrentBatches) {
+        this.logger = logger;
+        this.loader = loader;
+        this.batchWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, batchWindowMillis));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+        this.permits = new Semaphore(this.maxConcurrentBatches);
+    }
+    
+    /**
+     * Start the batching thread.
+     */
+    void start() {
+        running = true;
+        batcher = new Thread(this::run, "XzCore-Preload");
+        batcher.setDaemon(true);
+        batcher.start();
+    }
+    
+    /**
+     * Stop the batching thread and fail requests that were not dispatched.
+     */
+    void stop() {
+        running = false;
+        if (batcher != null) {
+            batcher.interrupt();
+            try {
+                batcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batcher = null;
+        }
+        
+        RejectedExecutionException stopped = new RejectedExecutionException("Preload pipeline stopped");
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(stopped);
+        }
+    }
+    
+    /**
+     * Queue a load for the next batch.
+     * 
+     * @param uuid player UUID
+     * @return future with the stored data, or null if the player has no row
+     */
+    public CompletableFuture<PlayerData> load(UUID uuid) {
+        CompletableFuture<PlayerData> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new RejectedExecutionException("Preload pipeline stopped"));
+            return future;
+        }
+        requests.incrementAndGet();
+        Request request = new Request(uuid, future, System.nanoTime());
+        queue.add(request);
+        
+        // Raced with stop(): if the request is still queued nobody will take it.
+        // Otherwise the batcher dispatched it or stop() failed it.
+        if (!running && queue.remove(request)) {
+            future.completeExceptionally(new RejectedExecutionException("Preload pipeline stopped"));
+        }
+        return future;
+    }
+    
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                Request first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                
+                // Give concurrent logins a few milliseconds to join the batch
+                batch.add(first);
+                long deadline = first.queuedAt + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                permits.acquire();
+                dispatch(new ArrayList<>(batch));
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Stopping; anything still in hand goes back so stop() fails it
+            queue.addAll(batch);
+        }
+    }
+    
+    private void dispatch(List<Request> batch) {
+        long start = System.nanoTime();
+        Set<UUID> uuids = new HashSet<>(batch.size() * 2);
+        for (Request request : batch) {
+            long queued = start - request.queuedAt;
+            totalQueueNanos.addAndGet(queued);
+            maxQueueNanos.accumulateAndGet(queued, Math::max);
+            uuids.add(request.uuid);
+        }
+        dispatched.addAndGet(batch.size());
+        batches.incrementAndGet();
+        lastBatchSize = batch.size();
+        
+        CompletableFuture<Map<UUID, PlayerData>> load;
+        try {
+            load = loader.apply(uuids);
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        
+        load.whenComplete((loaded, error) -> {
+            permits.release();
+            long elapsed = System.nanoTime() - start;
+            totalLoadNanos.addAndGet(elapsed * batch.size());
+            completed.addAndGet(batch.size());
+            maxLoadNanos.accumulateAndGet(elapsed, Math::max);
+            
+            if (error != null) {
+                failed.addAndGet(batch.size());
+                logger.log(Level.WARNING, "Failed to load " + uuids.size() + " players", error);
+                for (Request request : batch) {
+                    request.future.completeExceptionally(error);
+                }
+                return;
+            }
+            for (Request request : batch) {
+                request.future.complete(loaded.get(request.uuid));
+            }
+        });
+    }
+    
+    /**
+     * Number of loads waiting for a batch.
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+    
+    /**
+     * Get preload statistics.
+     */
+    public String getStats() {
+        long queuedLoads = Math.max(1L, dispatched.get());
+        long loaded = Math.max(1L, completed.get());
+        return String.format("Loads: %d in %d batches (last %d), Waiting: %d, In flight: %d/%d batches, Failed: %d, Queue time: %.1fms avg (max %.1fms), Load time: %.1fms avg (max %.1fms)",
+            requests.get(),
+            batches.get(),
+            lastBatchSize,
+            queue.size(),
+            maxConcurrentBatches - permits.availablePermits(),
+            maxConcurrentBatches,
+            failed.get(),
+            totalQueueNanos.get() / (queuedLoads * 1_000_000.0),
+            maxQueueNanos.get() / 1_000_000.0,
+            totalLoadNanos.get() / (loaded * 1_000_000.0),
+            maxLoadNanos.get() / 1_000_000.0
+        );
+    }
+    
+    private record Request(UUID uuid, CompletableFuture<PlayerData> future, long queuedAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.xenderz.xzcore.player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shares one running database load per player between concurrent callers.
+ * 
+ * <p>A load is removed once it completes, so the next request after that
+ * starts a new one; callers check their caches first. Removal happens only
+ * after the loaded data has been handed to {@code onLoaded}, so a caller
+ * arriving in between still joins the load instead of starting another.
+ */
+final class SingleFlightLoads {
+    
+    private final Map<UUID, CompletableFuture<PlayerData>> pending = new ConcurrentHashMap<>();
+    private final Function<UUID, CompletableFuture<PlayerData>> loader;
+    
+    /**
+     * @param loader starts a load; completes with null if the player has no row
+     */
+    SingleFlightLoads(Function<UUID, CompletableFuture<PlayerData>> loader) {
+        this.loader = loader;
+    }
+    
+    /**
+     * Start a load for a player, or join the one already running.
+     * 
+     * @param uuid player UUID
+     * @param onLoaded applied once to loaded data before it is shared; must not return null
+     * @return future with the data, or null if the player has no row
+     */
+    CompletableFuture<PlayerData> load(UUID uuid, UnaryOperator<PlayerData> onLoaded) {
+        CompletableFuture<PlayerData> created = new CompletableFuture<>();
+        CompletableFuture<PlayerData> existing = pending.putIfAbsent(uuid, created);
+        if (existing != null) {
+            return existing;
+        }
+        // Only once onLoaded has published the data
+        created.whenComplete((data, error) -> pending.remove(uuid, created));
+        
+        CompletableFuture<PlayerData> load;
+        try {
+            load = loader.apply(uuid);
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((data, error) -> {
+            if (error != null) {
+                created.completeExceptionally(error);
+                return;
+            }
+            try {
+                created.complete(data != null ? onLoaded.apply(data) : null);
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+    
+    /**
+     * Get the load running for a player.
+     * 
+     * @return the shared future, or null if none is running
+     */
+    CompletableFuture<PlayerData> get(UUID uuid) {
+        return pending.get(uuid);
+    }
+    
+    /**
+     * Number of loads running.
+     */
+    int size() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,65 @@
+package com.xenderz.xzcore.player;
+
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Typed handle for a registered player stat.
+ * 
+ * <p>Every stat is stored as a raw {@code long} in a per-player array at the
+ * key's dense index, so reads and writes need no hashing. Keys are obtained
+ * from {@link StatRegistry}; see {@link LongStatKey} for the allocation-free
+ * counter path.
+ * 
+ * @param <T> value type
+ */
+public class StatKey<T> {
+    
+    private final String name;
+    private final int index;
+    private final Class<T> type;
+    private final LongFunction<T> decoder;
+    private final ToLongFunction<T> encoder;
+    
+    StatKey(String name, int index, Class<T> type, LongFunction<T> decoder, ToLongFunction<T> encoder) {
+        this.name = name;
+        this.index = index;
+        this.type = type;
+        this.decoder = decoder;
+        this.encoder = encoder;
+    }
+    
+    /**
+     * Get the stat name, unique within the registry.
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the dense index of this stat in the per-player arrays.
+     */
+    public int getIndex() {
+        return index;
+    }
+    
+    /**
+     * Get the value type.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+    
+    T fromRaw(long raw) {
+        return decoder.apply(raw);
+    }
+    
+    long toRaw(T value) {
+        return encoder.applyAsLong(value);
+    }
+    
+    @Override
+    public String toString() {
+        return "StatKey{" + name + ", " + type.getSimpleName() + "}";
+    }
+}
@@ -0,0 +1,131 @@
+package com.xenderz.xzcore.player;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Registry of typed player stats.
+ * 
+ * <p>Each stat gets a dense index into per-player primitive arrays. Register
+ * stats once, typically in {@code onEnable}, and keep the returned key:
+ * <pre>{@code
+ * LongStatKey kills = core.getStatRegistry().registerLong("myplugin:kills");
+ * 
+ * // Hot path: no boxing, no hashing, no allocation
+ * data.addStat(kills, 1);
+ * }</pre>
+ * 
+ * <p>Registering a name again returns the existing key, so plugins may share a
+ * stat. Stats are persisted with the player metadata under
+ * {@code "stat:" + name}; values loaded before their stat is registered are
+ * kept and applied on first access.
+ */
+public final class StatRegistry {
+    
+    static final String KEY_PREFIX = "stat:";
+    static final int MAX_NAME_LENGTH = 64;
+    
+    private final Map<String, StatKey<?>> byName = new ConcurrentHashMap<>();
+    private volatile StatKey<?>[] byIndex = new StatKey<?>[0];
+    
+    /**
+     * Register a {@code long} counter.
+     * 
+     * @param name stat name
+     * @return stat key
+     * @throws IllegalArgumentException if the name is invalid or registered with another type
+     */
+    public LongStatKey registerLong(String name) {
+        return register(name, Long.class, LongStatKey.class, index -> new LongStatKey(name, index));
+    }
+    
+    /**
+     * Register an {@code int} stat.
+     * 
+     * @param name stat name
+     * @return stat key
+     * @throws IllegalArgumentException if the name is invalid or registered with another type
+     */
+    @SuppressWarnings("unchecked")
+    public StatKey<Integer> registerInt(String name) {
+        return register(name, Integer.class, StatKey.class,
+            index -> new StatKey<>(name, index, Integer.class, raw -> (int) raw, Integer::longValue));
+    }
+    
+    /**
+     * Register a {@code double} stat.
+     * 
+     * @param name stat name
+     * @return stat key
+     * @throws IllegalArgumentException if the name is invalid or registered with another type
+     */
+    @SuppressWarnings("unchecked")
+    public StatKey<Double> registerDouble(String name) {
+        return register(name, Double.class, StatKey.class,
+            index -> new StatKey<>(name, index, Double.class, Double::longBitsToDouble, Double::doubleToRawLongBits));
+    }
+    
+    /**
+     * Register a {@code boolean} stat.
+     * 
+     * @param name stat name
+     * @return stat key
+     * @throws IllegalArgumentException if the name is invalid or registered with another type
+     */
+    @SuppressWarnings("unchecked")
+    public StatKey<Boolean> registerBoolean(String name) {
+        return register(name, Boolean.class, StatKey.class,
+            index -> new StatKey<>(name, index, Boolean.class, raw -> raw != 0, value -> value ? 1L : 0L));
+    }
+    
+    /**
+     * Get a registered stat by name.
+     * 
+     * @param name stat name
+     * @return stat key, or null if not registered
+     */
+    public StatKey<?> get(String name) {
+        return byName.get(name);
+    }
+    
+    /**
+     * Get a registered stat by index.
+     */
+    StatKey<?> get(int index) {
+        StatKey<?>[] keys = byIndex;
+        return index < keys.length ? keys[index] : null;
+    }
+    
+    /**
+     * Number of registered stats.
+     */
+    public int size() {
+        return byIndex.length;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private synchronized <K extends StatKey<?>> K register(String name, Class<?> valueType, Class<?> keyClass,
+                                                           IntFunction<K> factory) {
+        if (name == null || name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Stat name must be 1-" + MAX_NAME_LENGTH + " characters: " + name);
+        }
+        
+        StatKey<?> existing = byName.get(name);
+        if (existing != null) {
+            if (existing.getType() != valueType || !keyClass.isInstance(existing)) {
+                throw new IllegalArgumentException("Stat '" + name + "' is already registered as "
+                    + existing.getType().getSimpleName());
+            }
+            return (K) existing;
+        }
+        
+        StatKey<?>[] keys = Arrays.copyOf(byIndex, byIndex.length + 1);
+        K key = factory.apply(keys.length - 1);
+        keys[keys.length - 1] = key;
+        byIndex = keys;
+        byName.put(name, key);
+        return key;
+    }
+}
@@ -0,0 +1,52 @@
+package com.xenderz.xzcore.player;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * {@link LevelCurve} backed by a cumulative experience table.
+ */
+final class TableLevelCurve implements LevelCurve {
+    
+    // thresholds[i] is the total XP at which level i + 1 starts
+    private final long[] thresholds;
+    
+    TableLevelCurve(int maxLevel, IntToLongFunction xpForLevel) {
+        if (maxLevel < 1) {
+            throw new IllegalArgumentException("Maximum level must be at least 1: " + maxLevel);
+        }
+        thresholds = new long[maxLevel];
+        for (int level = 2; level <= maxLevel; level++) {
+            long xp = xpForLevel.applyAsLong(level);
+            if (xp < thresholds[level - 2]) {
+                throw new IllegalArgumentException("Level curve decreases at level " + level);
+            }
+            thresholds[level - 1] = xp;
+        }
+    }
+    
+    @Override
+    public long getXpForLevel(int level) {
+        return thresholds[Math.max(1, Math.min(level, thresholds.length)) - 1];
+    }
+    
+    @Override
+    public int getLevel(long totalXp) {
+        // Last threshold that is <= totalXp; thresholds[0] is 0
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (thresholds[mid] <= totalXp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+    
+    @Override
+    public int getMaxLevel() {
+        return thresholds.length;
+    }
+}
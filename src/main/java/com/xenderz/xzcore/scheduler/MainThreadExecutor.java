@@ -0,0 +1,203 @@
+package com.xenderz.xzcore.scheduler;
+
+import com.xenderz.xzcore.config.ConfigurationManager;
+import com.xenderz.xzcore.service.Service;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Runs tasks on the server thread, handed over from any thread.
+ * 
+ * <p>Tasks go into a bounded lock-free ring buffer that one scheduler task
+ * drains every tick, so finishing async work on the main thread costs no
+ * scheduler task per callback:
+ * <pre>{@code
+ * core.getPlayerDataAsync(uuid)
+ *     .thenAcceptAsync(data -> player.sendMessage("Level " + data.getLevel()), core.getMainThreadExecutor());
+ * }</pre>
+ * 
+ * <p>Each tick runs tasks in submission order until {@code main-thread.budget-micros}
+ * is used up; the rest carry over to the next tick. If the buffer is full the
+ * task falls back to a regular Bukkit scheduler task, so work is never
+ * dropped. Such a task is the one exception to submission order: it may run
+ * before tasks that were queued ahead of it.
+ */
+public class MainThreadExecutor implements Service, Executor {
+    
+    private final JavaPlugin plugin;
+    private final ConfigurationManager config;
+    private MpscRingBuffer<Runnable> queue;
+    private long budgetNanos;
+    private BukkitTask drainTask;
+    private volatile boolean initialized = false;
+    // Threads between the initialized check and the offer in execute()
+    private final AtomicInteger submitting = new AtomicInteger();
+    
+    // Statistics
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder carriedOverTicks = new LongAdder();
+    private final AtomicLong maxBacklog = new AtomicLong();
+    private volatile long lastDrainNanos;
+    
+    public MainThreadExecutor(JavaPlugin plugin, ConfigurationManager config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+    
+    @Override
+    public void initialize() {
+        queue = new MpscRingBuffer<>(Math.max(64, config.getInt("main-thread.queue-capacity", 8192)));
+        budgetNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(100L, config.getLong("main-thread.budget-micros", 2000)));
+        drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        initialized = true;
+        
+        plugin.getLogger().info("Main thread executor initialized (capacity " + queue.capacity()
+            + ", budget " + budgetNanos / 1_000_000.0 + "ms per tick)");
+    }
+    
+    @Override
+    public void shutdown() {
+        initialized = false;
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        
+        // A submitter that saw initialized before it was cleared may still be
+        // offering; wait for it so that its task is drained below
+        while (submitting.get() > 0) {
+            Thread.onSpinWait();
+        }
+        
+        // Plugins are disabled on the main thread: run what is left now
+        if (queue != null) {
+            int remaining = 0;
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                run(task);
+                remaining++;
+            }
+            if (remaining > 0) {
+                plugin.getLogger().info("Ran " + remaining + " pending main thread tasks on shutdown");
+            }
+        }
+    }
+    
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    @Override
+    public String getName() {
+        return "MainThreadExecutor";
+    }
+    
+    /**
+     * Queue a task for the main thread. Safe to call from any thread; tasks
+     * submitted from the main thread also wait for the next drain.
+     * 
+     * <p>Tasks run in submission order, except when the buffer is full: the
+     * task is then scheduled as its own Bukkit task and may overtake queued
+     * tasks.
+     * 
+     * @param task the task to run
+     * @throws RejectedExecutionException if the executor is not running
+     */
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task, "task");
+        submitting.incrementAndGet();
+        try {
+            if (!initialized) {
+                throw new RejectedExecutionException("MainThreadExecutor not initialized");
+            }
+            
+            submitted.increment();
+            if (!queue.offer(task)) {
+                overflow(task);
+                return;
+            }
+        } finally {
+            submitting.decrementAndGet();
+        }
+        
+        long backlog = queue.size();
+        if (backlog > maxBacklog.get()) {
+            maxBacklog.accumulateAndGet(backlog, Math::max);
+        }
+    }
+    
+    /**
+     * Full: keep the work, at the cost of a scheduler task.
+     */
+    private void overflow(Runnable task) {
+        overflowed.increment();
+        try {
+            plugin.getServer().getScheduler().runTask(plugin, () -> run(task));
+        } catch (IllegalPluginAccessException e) {
+            // The plugin is being disabled before this executor is shut down
+            throw new RejectedExecutionException("MainThreadExecutor is full and the plugin is disabled", e);
+        }
+    }
+    
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            run(task);
+            if (System.nanoTime() - deadline >= 0) {
+                if (queue.size() > 0) {
+                    carriedOverTicks.increment();
+                }
+                break;
+            }
+        }
+        lastDrainNanos = System.nanoTime() - start;
+    }
+    
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error in main thread task: " + e.getMessage(), e);
+        }
+        executed.increment();
+    }
+    
+    /**
+     * Number of tasks waiting for the main thread.
+     */
+    public int getBacklog() {
+        MpscRingBuffer<Runnable> current = queue;
+        return current == null ? 0 : current.size();
+    }
+    
+    /**
+     * Get main thread executor statistics.
+     */
+    public String getStats() {
+        return String.format("Submitted: %d, Executed: %d, Backlog: %d (max %d), Overflowed: %d, Carried over: %d ticks, Last drain: %.2fms",
+            submitted.sum(),
+            executed.sum(),
+            getBacklog(),
+            maxBacklog.get(),
+            overflowed.sum(),
+            carriedOverTicks.sum(),
+            lastDrainNanos / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,142 @@
+package com.xenderz.xzcore.scheduler;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle for work submitted to the {@link TickWorkScheduler}.
+ * 
+ * <p>Counters are written on the main thread and may be read from anywhere.
+ */
+public final class TickJob {
+    
+    private final String name;
+    private final TickWorkScheduler.Priority priority;
+    private final TickWorkScheduler.Step step;
+    private final long total;
+    final long sequence;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    
+    private volatile long completed;
+    private volatile int ticks;
+    private volatile long totalNanos;
+    private volatile long maxTickNanos;
+    
+    TickJob(String name, TickWorkScheduler.Priority priority, TickWorkScheduler.Step step, long total, long sequence) {
+        this.name = name;
+        this.priority = priority;
+        this.step = step;
+        this.total = total;
+        this.sequence = sequence;
+    }
+    
+    /**
+     * Run steps until the job finishes or the deadline passes.
+     * 
+     * @return whether the job has more work
+     */
+    boolean runSlice(long deadline) {
+        long start = System.nanoTime();
+        long steps = 0;
+        boolean more = true;
+        try {
+            while (more && !completion.isDone()) {
+                more = step.run();
+                steps++;
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completed += steps;
+            ticks++;
+            totalNanos += elapsed;
+            if (elapsed > maxTickNanos) {
+                maxTickNanos = elapsed;
+            }
+        }
+        
+        if (!more) {
+            completion.complete(null);
+        }
+        return more && !completion.isDone();
+    }
+    
+    void fail(Throwable error) {
+        completion.completeExceptionally(error);
+    }
+    
+    /**
+     * Stop the job before its next step. Does nothing if it already finished.
+     */
+    public void cancel() {
+        completion.completeExceptionally(new CancellationException("Tick job cancelled: " + name));
+    }
+    
+    /**
+     * Completes when the last step has run; completes exceptionally if a step
+     * threw or the job was cancelled.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+    
+    public boolean isDone() {
+        return completion.isDone();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public TickWorkScheduler.Priority getPriority() {
+        return priority;
+    }
+    
+    /**
+     * Steps run so far.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+    
+    /**
+     * Total steps, or -1 if unknown (incremental jobs and plain iterables).
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    /**
+     * Ticks in which the job ran.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+    
+    @Override
+    public String toString() {
+        long done = completed;
+        String progress = total >= 0
+            ? String.format("%d/%d (%d%%)", done, total, total == 0 ? 100 : done * 100 / total)
+            : String.valueOf(done);
+        int activeTicks = ticks;
+        return String.format("%s [%s] %s, ticks=%d avg=%.2fms max=%.2fms",
+            name,
+            priority,
+            progress,
+            activeTicks,
+            activeTicks == 0 ? 0.0 : totalNanos / (activeTicks * 1_000_000.0),
+            maxTickNanos / 1_000_000.0
+        );
+    }
+}
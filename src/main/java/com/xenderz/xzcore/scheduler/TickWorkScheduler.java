@@ -0,0 +1,261 @@
+package com.xenderz.xzcore.scheduler;
+
+import com.xenderz.xzcore.config.ConfigurationManager;
+import com.xenderz.xzcore.service.Service;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Spreads bulk main-thread work over several ticks.
+ * 
+ * <p>Jobs are run in slices: every tick the scheduler runs steps of the
+ * highest-priority job (oldest first within a priority) and moves on to the
+ * next job until {@code tick-work.budget-micros} is used up. Work that
+ * would cause a spike in one tick, such as refreshing a GUI for every viewer,
+ * is delivered a few milliseconds per tick instead:
+ * <pre>{@code
+ * core.getTickWorkScheduler().submit("refresh-menus", TickWorkScheduler.Priority.NORMAL,
+ *     menu.getViewers(), viewer -> menu.render((Player) viewer));
+ * }</pre>
+ * 
+ * <p>Jobs may be submitted from any thread; steps always run on the main
+ * thread. A single step should be small: the budget is checked between steps.
+ */
+public class TickWorkScheduler implements Service {
+    
+    /**
+     * Job priority. Higher priorities run first in every tick.
+     */
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+    
+    /**
+     * One unit of an incremental job.
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Do a small amount of work.
+         * 
+         * @return true if there is more work, false when the job is finished
+         */
+        boolean run();
+    }
+    
+    static final Comparator<TickJob> ORDER = Comparator
+        .comparing(TickJob::getPriority)
+        .thenComparingLong(job -> job.sequence);
+    
+    private final JavaPlugin plugin;
+    private final ConfigurationManager config;
+    private final Queue<TickJob> submitted = new ConcurrentLinkedQueue<>();
+    // Main thread only
+    private final PriorityQueue<TickJob> jobs = new PriorityQueue<>(ORDER);
+    // Queued and running jobs for status output
+    private final Set<TickJob> active = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private long budgetNanos;
+    private BukkitTask tickTask;
+    private volatile boolean initialized = false;
+    
+    // Statistics
+    private final LongAdder jobsCompleted = new LongAdder();
+    private final LongAdder jobsFailed = new LongAdder();
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    
+    public TickWorkScheduler(JavaPlugin plugin, ConfigurationManager config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+    
+    @Override
+    public void initialize() {
+        budgetNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(100L, config.getLong("tick-work.budget-micros", 5000)));
+        tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        initialized = true;
+    }
+    
+    @Override
+    public void shutdown() {
+        initialized = false;
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        
+        int cancelled = 0;
+        for (TickJob job : active) {
+            if (!job.isDone()) {
+                job.cancel();
+                cancelled++;
+            }
+        }
+        TickJob job;
+        while ((job = submitted.poll()) != null) {
+            job.cancel();
+            cancelled++;
+        }
+        jobs.clear();
+        active.clear();
+        if (cancelled > 0) {
+            plugin.getLogger().warning("Cancelled " + cancelled + " unfinished tick jobs on shutdown");
+        }
+    }
+    
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    @Override
+    public String getName() {
+        return "TickWorkScheduler";
+    }
+    
+    /**
+     * Submit an incremental job.
+     * 
+     * @param name job name for status output
+     * @param priority job priority
+     * @param step called repeatedly on the main thread until it returns false
+     * @return job handle
+     */
+    public TickJob submit(String name, Priority priority, Step step) {
+        return enqueue(new TickJob(name, priority, Objects.requireNonNull(step, "step"), -1, sequence.getAndIncrement()));
+    }
+    
+    /**
+     * Submit a job that applies an action to each element.
+     * 
+     * <p>The iterator is created and advanced on the main thread. For
+     * collections the size is used to report progress.
+     * 
+     * @param name job name for status output
+     * @param priority job priority
+     * @param items elements to process
+     * @param action applied to each element on the main thread
+     * @return job handle
+     */
+    public <T> TickJob submit(String name, Priority priority, Iterable<? extends T> items, Consumer<? super T> action) {
+        Objects.requireNonNull(items, "items");
+        Objects.requireNonNull(action, "action");
+        long total = items instanceof Collection<?> collection ? collection.size() : -1;
+        
+        Step step = new Step() {
+            private Iterator<? extends T> iterator;
+            
+            @Override
+            public boolean run() {
+                if (iterator == null) {
+                    iterator = items.iterator();
+                }
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                action.accept(iterator.next());
+                return iterator.hasNext();
+            }
+        };
+        return enqueue(new TickJob(name, priority, step, total, sequence.getAndIncrement()));
+    }
+    
+    private TickJob enqueue(TickJob job) {
+        if (!initialized) {
+            throw new IllegalStateException("TickWorkScheduler not initialized");
+        }
+        active.add(job);
+        submitted.add(job);
+        
+        // Raced with shutdown(), which may have cancelled everything before this job was added
+        if (!initialized) {
+            submitted.remove(job);
+            active.remove(job);
+            job.cancel();
+        }
+        return job;
+    }
+    
+    private void tick() {
+        TickJob job;
+        while ((job = submitted.poll()) != null) {
+            jobs.add(job);
+        }
+        if (jobs.isEmpty()) {
+            lastTickNanos = 0;
+            return;
+        }
+        
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        while ((job = jobs.peek()) != null && System.nanoTime() - deadline < 0) {
+            boolean more;
+            try {
+                more = job.runSlice(deadline);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Tick job " + job.getName() + " failed: " + e.getMessage(), e);
+                job.fail(e);
+                more = false;
+            }
+            
+            if (!more) {
+                jobs.poll();
+                active.remove(job);
+                if (job.getCompletion().isCompletedExceptionally()) {
+                    jobsFailed.increment();
+                } else {
+                    jobsCompleted.increment();
+                }
+            }
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        if (elapsed > maxTickNanos) {
+            maxTickNanos = elapsed;
+        }
+    }
+    
+    /**
+     * Get jobs that are queued or running, in the order they will run.
+     */
+    public List<TickJob> getJobs() {
+        List<TickJob> list = new ArrayList<>(active);
+        list.sort(ORDER);
+        return list;
+    }
+    
+    /**
+     * Get tick work scheduler statistics.
+     */
+    public String getStats() {
+        return String.format("Jobs: %d queued, %d completed, %d failed/cancelled, Last tick: %.2fms (max %.2fms, budget %.2fms)",
+            active.size(),
+            jobsCompleted.sum(),
+            jobsFailed.sum(),
+            lastTickNanos / 1_000_000.0,
+            maxTickNanos / 1_000_000.0,
+            budgetNanos / 1_000_000.0
+        );
+    }
+}
@@ -4,7 +4,10 @@ import com.xenderz.xzcore.api.XzCoreAPIImpl;
 import com.xenderz.xzcore.config.ConfigurationManager;
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.leaderboard.LeaderboardService;
 import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.scheduler.MainThreadExecutor;
+import com.xenderz.xzcore.scheduler.TickWorkScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
@@ -35,7 +38,10 @@ public class EmbeddedServiceContainer {
     private final ConfigurationManager configManager;
     private final DatabaseManager databaseManager;
     private final EventBus eventBus;
+    private final MainThreadExecutor mainThreadExecutor;
+    private final TickWorkScheduler tickWorkScheduler;
     private final PlayerDataManager playerDataManager;
+    private final LeaderboardService leaderboardService;
     
     private final List<Service> services = new ArrayList<>();
     private boolean initialized = false;
@@ -51,14 +57,20 @@ public class EmbeddedServiceContainer {
         // Create services (same as ServiceContainer)
         this.configManager = new ConfigurationManager(plugin);
         this.databaseManager = new DatabaseManager(plugin, configManager);
-        this.eventBus = new EventBus(plugin);
-        this.playerDataManager = new PlayerDataManager(plugin, databaseManager, eventBus);
+        this.eventBus = new EventBus(plugin, configManager);
+        this.mainThreadExecutor = new MainThreadExecutor(plugin, configManager);
+        this.tickWorkScheduler = new TickWorkScheduler(plugin, configManager);
+        this.playerDataManager = new PlayerDataManager(plugin, configManager, databaseManager, eventBus);
+        this.leaderboardService = new LeaderboardService(plugin, configManager, databaseManager, playerDataManager);
         
         // Register for lifecycle management
         services.add(configManager);
         services.add(databaseManager);
         services.add(eventBus);
+        services.add(mainThreadExecutor);
+        services.add(tickWorkScheduler);
         services.add(playerDataManager);
+        services.add(leaderboardService);
         
         // Create API implementation
         this.api = new XzCoreAPIImpl(this);
@@ -143,6 +155,18 @@ public class EmbeddedServiceContainer {
         return playerDataManager;
     }
     
+    public LeaderboardService getLeaderboardService() {
+        return leaderboardService;
+    }
+    
+    public MainThreadExecutor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+    
+    public TickWorkScheduler getTickWorkScheduler() {
+        return tickWorkScheduler;
+    }
+    
     public JavaPlugin getPlugin() {
         return plugin;
     }
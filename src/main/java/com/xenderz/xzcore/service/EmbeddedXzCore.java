@@ -3,7 +3,10 @@ package com.xenderz.xzcore.service;
 import com.xenderz.xzcore.api.XzCoreAPI;
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.leaderboard.LeaderboardService;
 import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.scheduler.MainThreadExecutor;
+import com.xenderz.xzcore.scheduler.TickWorkScheduler;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -92,6 +95,21 @@ public class EmbeddedXzCore implements XzCoreAPI {
         return services.getPlayerDataManager();
     }
     
+    @Override
+    public LeaderboardService getLeaderboards() {
+        return services.getLeaderboardService();
+    }
+    
+    @Override
+    public MainThreadExecutor getMainThreadExecutor() {
+        return services.getMainThreadExecutor();
+    }
+    
+    @Override
+    public TickWorkScheduler getTickWorkScheduler() {
+        return services.getTickWorkScheduler();
+    }
+    
     @Override
     public boolean isReady() {
         return services.isInitialized();
@@ -6,7 +6,10 @@ import com.xenderz.xzcore.api.XzCoreAPIImpl;
 import com.xenderz.xzcore.config.ConfigurationManager;
 import com.xenderz.xzcore.database.DatabaseManager;
 import com.xenderz.xzcore.events.EventBus;
+import com.xenderz.xzcore.leaderboard.LeaderboardService;
 import com.xenderz.xzcore.player.PlayerDataManager;
+import com.xenderz.xzcore.scheduler.MainThreadExecutor;
+import com.xenderz.xzcore.scheduler.TickWorkScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,7 +26,10 @@ import java.util.logging.Level;
  *   <li>ConfigurationManager</li>
  *   <li>DatabaseManager</li>
  *   <li>EventBus</li>
+ *   <li>MainThreadExecutor</li>
+ *   <li>TickWorkScheduler</li>
  *   <li>PlayerDataManager</li>
+ *   <li>LeaderboardService</li>
  * </ol>
  */
 public class ServiceContainer {
@@ -35,7 +41,10 @@ public class ServiceContainer {
     private final ConfigurationManager configManager;
     private final DatabaseManager databaseManager;
     private final EventBus eventBus;
+    private final MainThreadExecutor mainThreadExecutor;
+    private final TickWorkScheduler tickWorkScheduler;
     private final PlayerDataManager playerDataManager;
+    private final LeaderboardService leaderboardService;
     
     private final List<Service> services = new ArrayList<>();
     private boolean initialized = false;
@@ -46,14 +55,20 @@ public class ServiceContainer {
         // Create services (no dependencies yet)
         this.configManager = new ConfigurationManager(plugin);
         this.databaseManager = new DatabaseManager(plugin, configManager);
-        this.eventBus = new EventBus(plugin);
-        this.playerDataManager = new PlayerDataManager(plugin, databaseManager, eventBus);
+        this.eventBus = new EventBus(plugin, configManager);
+        this.mainThreadExecutor = new MainThreadExecutor(plugin, configManager);
+        this.tickWorkScheduler = new TickWorkScheduler(plugin, configManager);
+        this.playerDataManager = new PlayerDataManager(plugin, configManager, databaseManager, eventBus);
+        this.leaderboardService = new LeaderboardService(plugin, configManager, databaseManager, playerDataManager);
         
         // Register for lifecycle management
         services.add(configManager);
         services.add(databaseManager);
         services.add(eventBus);
+        services.add(mainThreadExecutor);
+        services.add(tickWorkScheduler);
         services.add(playerDataManager);
+        services.add(leaderboardService);
         
         // Create API (circular reference avoided by using interface)
         this.api = new XzCoreAPIImpl(this);
@@ -143,4 +158,16 @@ public class ServiceContainer {
     public PlayerDataManager getPlayerDataManager() {
         return playerDataManager;
     }
+    
+    public LeaderboardService getLeaderboardService() {
+        return leaderboardService;
+    }
+    
+    public MainThreadExecutor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+    
+    public TickWorkScheduler getTickWorkScheduler() {
+        return tickWorkScheduler;
+    }
 }
@@ -0,0 +1,93 @@
+package com.xenderz.xzcore.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseExecutorTest {
+    
+    @Test
+    void testModeParsing() {
+        assertEquals(DatabaseExecutor.Mode.VIRTUAL, DatabaseExecutor.Mode.parse(" Virtual "));
+        assertEquals(DatabaseExecutor.Mode.PLATFORM, DatabaseExecutor.Mode.parse("platform"));
+        assertEquals(DatabaseExecutor.Mode.PLATFORM, DatabaseExecutor.Mode.parse("fibers"));
+    }
+    
+    @Test
+    void testPlatformModeBoundsConcurrency() throws Exception {
+        assertBoundedConcurrency(DatabaseExecutor.platform(2, "test-db"));
+    }
+    
+    @Test
+    void testVirtualModeBoundsConcurrencyWithPermits() throws Exception {
+        assertBoundedConcurrency(DatabaseExecutor.virtual(2, "test-db"));
+    }
+    
+    @Test
+    void testRejectedTaskIsNotCountedAsQueued() {
+        DatabaseExecutor executor = DatabaseExecutor.platform(1, "test-db");
+        executor.shutdown();
+        
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        
+        assertEquals(0, executor.getQueueDepth());
+    }
+    
+    /**
+     * Submit four blocking tasks to an executor limited to two at a time.
+     */
+    private static void assertBoundedConcurrency(DatabaseExecutor executor) throws Exception {
+        try {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger concurrent = new AtomicInteger();
+            AtomicInteger maxConcurrent = new AtomicInteger();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            
+            // When
+            for (int i = 0; i < 4; i++) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    concurrent.decrementAndGet();
+                }, executor));
+            }
+            
+            // Then: two run, two wait for a slot
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.getRunningCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(2, executor.getRunningCount());
+            assertEquals(2, executor.getQueueDepth());
+            
+            release.countDown();
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+            // Futures complete inside the task, just before it is counted
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executor.getCompletedCount() < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(2, maxConcurrent.get());
+            assertEquals(4, executor.getCompletedCount());
+            assertEquals(0, executor.getQueueDepth());
+            assertTrue(executor.getMaxWaitMillis() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
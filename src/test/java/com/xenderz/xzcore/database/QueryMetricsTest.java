@@ -0,0 +1,102 @@
+package com.xenderz.xzcore.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryMetricsTest {
+    
+    private final List<String> logged = new ArrayList<>();
+    
+    @Test
+    void testNormalizeReplacesLiteralsAndCollapsesLists() {
+        assertEquals("SELECT * FROM t WHERE a = ? AND b = ?",
+            QueryMetrics.normalizeSql("SELECT *\n  FROM t WHERE a = 'it''s' AND b = 42"));
+        assertEquals("SELECT * FROM t WHERE id IN (?, ...)",
+            QueryMetrics.normalizeSql("SELECT * FROM t WHERE id IN (?,?,?)"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ...), ...",
+            QueryMetrics.normalizeSql("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)"));
+        // Digits inside identifiers are kept
+        assertEquals("SELECT col1 FROM t2", QueryMetrics.normalizeSql("SELECT col1 FROM t2"));
+    }
+    
+    @Test
+    void testStatementsDifferingOnlyInLiteralsShareStats() {
+        QueryMetrics metrics = new QueryMetrics(logger(), 0);
+        
+        complete(metrics.start("SELECT * FROM t WHERE id = 1", 0), 0);
+        complete(metrics.start("SELECT * FROM t WHERE id = 2", 0), 0);
+        
+        List<QueryMetrics.StatementStats> stats = metrics.getSlowestStatements(10);
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.get(0).getExecute().getCount());
+    }
+    
+    @Test
+    void testEverySlowQueryNamesItsCaller() {
+        QueryMetrics metrics = new QueryMetrics(logger(), 1);
+        
+        // Distinct statements, so the per-statement rate limit logs each one
+        for (int i = 0; i < 5; i++) {
+            complete(metrics.start("SELECT * FROM t" + i, 0), 5);
+        }
+        
+        assertEquals(5, metrics.getSlowQueryCount());
+        assertEquals(5, logged.size());
+        // This class is in the skipped database package, so the caller is whatever invoked the test
+        for (String line : logged) {
+            assertFalse(line.contains("unknown caller"), line);
+        }
+    }
+    
+    @Test
+    void testDisabledSlowLogLogsNothing() {
+        QueryMetrics metrics = new QueryMetrics(logger(), 0);
+        
+        complete(metrics.start("<transaction>", -1), 5);
+        
+        assertEquals(0, metrics.getSlowQueryCount());
+        assertTrue(logged.isEmpty());
+    }
+    
+    private static void complete(QueryMetrics.Sample sample, long executeMillis) {
+        sample.started();
+        sample.acquired();
+        if (executeMillis > 0) {
+            try {
+                Thread.sleep(executeMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sample.finish();
+    }
+    
+    private Logger logger() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record.getMessage());
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public void close() {
+            }
+        });
+        return logger;
+    }
+}
@@ -0,0 +1,167 @@
+package com.xenderz.xzcore.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+    
+    private static final Logger LOGGER = Logger.getLogger("SchemaMigratorTest");
+    private static final UUID STEVE = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID ALEX = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    
+    static {
+        LOGGER.setUseParentHandlers(false);
+    }
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void testBinaryUuidMigrationKeepsRowsAndForeignKeys() throws SQLException {
+        // Given: a database at the baseline schema, with rows
+        SchemaMigrator migrator = new SchemaMigrator(this::connect, SqlDialect.SQLITE, LOGGER);
+        assertEquals(2, migrator.migrate(CoreMigrations.NAMESPACE, CoreMigrations.all().subList(0, 2)));
+        try (Connection conn = connect()) {
+            insertPlayer(conn, STEVE.toString(), "steve");
+            // Stored without dashes by an older build
+            insertPlayer(conn, ALEX.toString().replace("-", ""), "alex");
+            insertPlayer(conn, "not-a-uuid", "broken");
+            execute(conn, "INSERT INTO xzcore_experience (uuid, total_xp, level, last_updated) VALUES (?, 500, 4, 10)",
+                STEVE.toString());
+            execute(conn, "INSERT INTO xzcore_metadata_keys (name) VALUES (?)", "kills");
+            execute(conn, "INSERT INTO xzcore_player_metadata (uuid, key_id, value) VALUES (?, 1, ?)",
+                STEVE.toString(), new byte[] {1, 2, 3});
+            execute(conn, "INSERT INTO xzcore_plugin_data (plugin_name, `key`, uuid, value, updated_at) VALUES (?, ?, ?, ?, 0)",
+                "XzTest", "home", ALEX.toString(), "spawn");
+            execute(conn, "INSERT INTO xzcore_plugin_data (plugin_name, `key`, uuid, value, updated_at) VALUES (?, ?, ?, ?, 0)",
+                "XzTest", "motd", null, "hello");
+        }
+        
+        // When
+        int applied = migrator.migrate(CoreMigrations.NAMESPACE, CoreMigrations.all());
+        
+        // Then: keys are 16-byte blobs that read back as the original UUIDs
+        assertEquals(CoreMigrations.all().size() - 2, applied);
+        try (Connection conn = connect()) {
+            assertEquals(List.of("blob:16"), query(conn, "SELECT DISTINCT typeof(uuid) || ':' || length(uuid) FROM xzcore_players"));
+            assertEquals(List.of("steve"), query(conn, "SELECT username FROM xzcore_players WHERE uuid = ?", Uuids.toBytes(STEVE)));
+            assertEquals(List.of("alex"), query(conn, "SELECT username FROM xzcore_players WHERE uuid = ?", Uuids.toBytes(ALEX)));
+            // A key that is not a UUID cannot be addressed and is dropped
+            assertEquals(List.of("2"), query(conn, "SELECT COUNT(*) FROM xzcore_players"));
+            
+            assertEquals(List.of("500:4"), query(conn, "SELECT total_xp || ':' || level FROM xzcore_experience WHERE uuid = ?",
+                Uuids.toBytes(STEVE)));
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT value FROM xzcore_player_metadata WHERE uuid = ? AND key_id = 1")) {
+                stmt.setBytes(1, Uuids.toBytes(STEVE));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertArrayEquals(new byte[] {1, 2, 3}, rs.getBytes(1));
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT uuid FROM xzcore_plugin_data WHERE plugin_name = 'XzTest' ORDER BY `key`")) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(ALEX, Uuids.fromBytes(rs.getBytes(1)));
+                    assertTrue(rs.next());
+                    // Global plugin data keeps its NULL uuid
+                    assertNull(rs.getBytes(1));
+                }
+            }
+            
+            // Foreign keys still point at the rebuilt players table
+            assertEquals(List.of(), query(conn, "PRAGMA foreign_key_check"));
+            assertThrows(SQLException.class, () -> execute(conn,
+                "INSERT INTO xzcore_experience (uuid, total_xp, level, last_updated) VALUES (?, 0, 1, 0)",
+                Uuids.toBytes(UUID.randomUUID())));
+            execute(conn, "DELETE FROM xzcore_players WHERE uuid = ?", Uuids.toBytes(STEVE));
+            assertEquals(List.of("0"), query(conn, "SELECT COUNT(*) FROM xzcore_experience"));
+            assertEquals(List.of("0"), query(conn, "SELECT COUNT(*) FROM xzcore_player_metadata"));
+        }
+    }
+    
+    @Test
+    void testSecondRunIsNoOp() throws SQLException {
+        // Given
+        new SchemaMigrator(this::connect, SqlDialect.SQLITE, LOGGER).migrate(CoreMigrations.NAMESPACE, CoreMigrations.all());
+        try (Connection conn = connect()) {
+            insertPlayer(conn, Uuids.toBytes(STEVE), "steve");
+        }
+        List<String> schema = schema();
+        
+        // When
+        int applied = new SchemaMigrator(this::connect, SqlDialect.SQLITE, LOGGER)
+            .migrate(CoreMigrations.NAMESPACE, CoreMigrations.all());
+        
+        // Then
+        assertEquals(0, applied);
+        assertEquals(schema, schema());
+        try (Connection conn = connect()) {
+            assertEquals(List.of("steve"), query(conn, "SELECT username FROM xzcore_players WHERE uuid = ?", Uuids.toBytes(STEVE)));
+            assertEquals(List.of(String.valueOf(CoreMigrations.all().size())),
+                query(conn, "SELECT COUNT(*) FROM xzcore_schema_version WHERE namespace = ?", CoreMigrations.NAMESPACE));
+        }
+    }
+    
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("foreign_keys", "true");
+        return DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("xzcore.db"), properties);
+    }
+    
+    private List<String> schema() throws SQLException {
+        try (Connection conn = connect()) {
+            return query(conn, "SELECT type || ' ' || name || ': ' || sql FROM sqlite_master WHERE sql IS NOT NULL ORDER BY name");
+        }
+    }
+    
+    private static void insertPlayer(Connection conn, Object uuid, String username) throws SQLException {
+        execute(conn, "INSERT INTO xzcore_players (uuid, username, first_join, last_join, play_time) VALUES (?, ?, 1, 2, 3)",
+            uuid, username);
+    }
+    
+    private static void execute(Connection conn, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, params);
+            stmt.executeUpdate();
+        }
+    }
+    
+    private static List<String> query(Connection conn, String sql, Object... params) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1));
+                }
+            }
+        }
+        return rows;
+    }
+    
+    private static void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+}
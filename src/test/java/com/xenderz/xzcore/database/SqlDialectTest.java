@@ -0,0 +1,63 @@
+package com.xenderz.xzcore.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlDialectTest {
+    
+    private static final List<String> KEY = List.of("uuid");
+    private static final List<String> COLUMNS = List.of("uuid", "total_xp", "level");
+    
+    @Test
+    void testSqliteUpsertUpdatesOnlyGivenColumns() {
+        assertEquals("INSERT INTO xp (uuid, total_xp, level) VALUES (?, ?, ?), (?, ?, ?)"
+                + " ON CONFLICT (uuid) DO UPDATE SET total_xp = excluded.total_xp",
+            SqlDialect.SQLITE.upsert("xp", KEY, COLUMNS, List.of("total_xp"), 2));
+    }
+    
+    @Test
+    void testMysqlUpsertUpdatesOnlyGivenColumns() {
+        assertEquals("INSERT INTO xp (uuid, total_xp, level) VALUES (?, ?, ?), (?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE total_xp = VALUES(total_xp), level = VALUES(level)",
+            SqlDialect.MYSQL.upsert("xp", KEY, COLUMNS, List.of("total_xp", "level"), 2));
+    }
+    
+    @Test
+    void testUpsertWithoutUpdatesKeepsExistingRow() {
+        assertEquals("INSERT INTO keys (name) VALUES (?) ON CONFLICT (name) DO NOTHING",
+            SqlDialect.SQLITE.upsert("keys", List.of("name"), List.of("name"), List.of()));
+        assertEquals("INSERT INTO keys (name) VALUES (?) ON DUPLICATE KEY UPDATE name = name",
+            SqlDialect.MYSQL.upsert("keys", List.of("name"), List.of("name"), List.of()));
+    }
+    
+    @Test
+    void testCompositeKey() {
+        assertEquals("INSERT INTO meta (uuid, key_id, value) VALUES (?, ?, ?)"
+                + " ON CONFLICT (uuid, key_id) DO UPDATE SET value = excluded.value",
+            SqlDialect.SQLITE.upsert("meta", List.of("uuid", "key_id"), List.of("uuid", "key_id", "value"), List.of("value")));
+    }
+    
+    @Test
+    void testInvalidUpsertsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SqlDialect.SQLITE.upsert("xp", List.of(), COLUMNS, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> SqlDialect.MYSQL.upsert("xp", KEY, COLUMNS, List.of(), 0));
+    }
+    
+    @Test
+    void testRowsPerStatementStayWithinBindLimit() {
+        assertEquals(333, SqlDialect.SQLITE.getMaxRowsPerStatement(3));
+        assertEquals(999, SqlDialect.SQLITE.getMaxRowsPerStatement(0));
+        assertEquals(1, SqlDialect.SQLITE.getMaxRowsPerStatement(5000));
+        assertEquals(21845, SqlDialect.MYSQL.getMaxRowsPerStatement(3));
+    }
+    
+    @Test
+    void testPlainInsert() {
+        assertEquals("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)",
+            SqlDialect.MYSQL.insert("t", List.of("a", "b"), 3));
+    }
+}
@@ -0,0 +1,184 @@
+package com.xenderz.xzcore.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqliteWriterTest {
+    
+    private static final Logger LOGGER = Logger.getLogger("SqliteWriterTest");
+    
+    static {
+        LOGGER.setUseParentHandlers(false);
+    }
+    
+    private final AtomicInteger commits = new AtomicInteger();
+    
+    @Test
+    void testWritesCompleteOnCompletionExecutor() throws Exception {
+        // Given
+        ExecutorService completions = Executors.newSingleThreadExecutor(r -> new Thread(r, "completions"));
+        SqliteWriter writer = new SqliteWriter(this::connection, completions, LOGGER, 16);
+        writer.start();
+        
+        try {
+            // When: callbacks are attached before the group can complete
+            CountDownLatch attached = new CountDownLatch(1);
+            CompletableFuture<String> ok = writer.submit("ok", null, conn -> {
+                await(attached);
+                return "done";
+            });
+            CompletableFuture<String> failed = writer.submit("failed", null, conn -> {
+                throw new SQLException("constraint");
+            });
+            CompletableFuture<String> okThread = ok.thenApply(v -> Thread.currentThread().getName());
+            CompletableFuture<String> failedThread = failed.handle((v, e) -> Thread.currentThread().getName());
+            attached.countDown();
+            
+            // Then: both callbacks run on the completion executor, never on the writer thread
+            assertEquals("completions", okThread.get(5, TimeUnit.SECONDS));
+            assertEquals("completions", failedThread.get(5, TimeUnit.SECONDS));
+            ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+            assertInstanceOf(SQLException.class, error.getCause().getCause());
+            assertTrue(commits.get() >= 1);
+        } finally {
+            writer.shutdown(5, TimeUnit.SECONDS);
+            completions.shutdown();
+        }
+    }
+    
+    @Test
+    void testFailedConnectionFailsWholeGroup() throws Exception {
+        SqliteWriter writer = new SqliteWriter(() -> {
+            throw new SQLException("database locked");
+        }, Runnable::run, LOGGER, 16);
+        writer.start();
+        
+        try {
+            CompletableFuture<Integer> write = writer.submit("write", null, conn -> 1);
+            
+            ExecutionException error = assertThrows(ExecutionException.class, () -> write.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(SQLException.class, error.getCause().getCause());
+        } finally {
+            writer.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+    
+    @Test
+    void testSampleRecordsConnectionAcquire() throws Exception {
+        // Given: opening the group's connection takes a while
+        QueryMetrics metrics = new QueryMetrics(LOGGER, 0);
+        SqliteWriter writer = new SqliteWriter(() -> {
+            sleep(20);
+            return connection();
+        }, Runnable::run, LOGGER, 16);
+        writer.start();
+        
+        try {
+            // When
+            writer.submit("write", metrics.start("<write>", -1), conn -> 1).get(5, TimeUnit.SECONDS);
+            
+            // Then: the wait shows up as acquire time, not as queue wait or execution
+            QueryMetrics.StatementStats stats = metrics.getSlowestStatements(1).get(0);
+            assertEquals(1, stats.getAcquire().getCount());
+            assertTrue(stats.getAcquire().getMaxMillis() >= 15, "acquire " + stats.getAcquire().getMaxMillis());
+            assertTrue(stats.getExecute().getMaxMillis() < 15, "execute " + stats.getExecute().getMaxMillis());
+        } finally {
+            writer.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+    
+    @Test
+    void testSubmitAfterShutdownIsRejected() {
+        SqliteWriter writer = new SqliteWriter(this::connection, Runnable::run, LOGGER, 16);
+        writer.start();
+        writer.shutdown(5, TimeUnit.SECONDS);
+        
+        CompletableFuture<Integer> write = writer.submit("late", null, conn -> 1);
+        
+        ExecutionException error = assertThrows(ExecutionException.class, write::get);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+    
+    @Test
+    void testSubmitRacingShutdownNeverHangs() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            // Given: submitters still running while the writer shuts down
+            SqliteWriter writer = new SqliteWriter(this::connection, Runnable::run, LOGGER, 4);
+            writer.start();
+            Queue<CompletableFuture<Integer>> futures = new ConcurrentLinkedQueue<>();
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        futures.add(writer.submit("write", null, conn -> 1));
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            
+            // When
+            writer.shutdown(5, TimeUnit.SECONDS);
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+            
+            // Then: every write either committed or was rejected
+            for (CompletableFuture<Integer> write : futures) {
+                assertNotNull(write.handle((v, e) -> e != null ? e : v).get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Connection that accepts every call and counts commits.
+     */
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("commit")) {
+                    commits.incrementAndGet();
+                }
+                Class<?> type = method.getReturnType();
+                return type == boolean.class ? false : type == int.class ? 0 : null;
+            });
+    }
+}
@@ -0,0 +1,238 @@
+package com.xenderz.xzcore.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncDeliveryTest {
+    
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    // Tasks for tests that step the workers by hand
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final List<Kill> received = Collections.synchronizedList(new ArrayList<>());
+    
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+    
+    @Test
+    void testSameKeyKeepsPostingOrderUnderConcurrentPosts() throws Exception {
+        // Given: two players, each lane checked for overlapping handlers
+        int posters = 4;
+        int perPoster = 500;
+        Map<String, AtomicBoolean> running = Map.of("steve", new AtomicBoolean(), "alex", new AtomicBoolean());
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(posters * perPoster);
+        AsyncDelivery delivery = new AsyncDelivery(SubscriptionOptions.<Kill>ordered(Kill::player)
+            .withQueueCapacity(posters * perPoster), pool, event -> {
+                Kill kill = (Kill) event;
+                AtomicBoolean lane = running.get(kill.player());
+                if (!lane.compareAndSet(false, true)) {
+                    overlaps.incrementAndGet();
+                }
+                received.add(kill);
+                lane.set(false);
+                done.countDown();
+            });
+        
+        // When
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < posters; p++) {
+            int poster = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perPoster; i++) {
+                    delivery.submit(new Kill(poster % 2 == 0 ? "steve" : "alex", poster, i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Then: one handler at a time per key, and each poster's events in order
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        assertEquals(posters * perPoster, delivery.getDelivered());
+        Map<Integer, Integer> last = new HashMap<>();
+        synchronized (received) {
+            for (Kill kill : received) {
+                int previous = last.getOrDefault(kill.poster(), -1);
+                assertEquals(previous + 1, kill.seq(), "poster " + kill.poster());
+                last.put(kill.poster(), kill.seq());
+            }
+        }
+        assertEquals(0, delivery.getLaneCount());
+    }
+    
+    @Test
+    void testDifferentKeysRunInParallel() throws Exception {
+        // Given: each handler waits until the other key's handler is running
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        AtomicInteger met = new AtomicInteger();
+        AsyncDelivery delivery = new AsyncDelivery(SubscriptionOptions.<Kill>ordered(Kill::player), pool, event -> {
+            bothRunning.countDown();
+            try {
+                if (bothRunning.await(5, TimeUnit.SECONDS)) {
+                    met.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        // When
+        delivery.submit(new Kill("steve", 0, 0));
+        delivery.submit(new Kill("alex", 0, 0));
+        
+        // Then
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2, met.get());
+    }
+    
+    @Test
+    void testBusyLaneYieldsToOtherLanes() {
+        AsyncDelivery delivery = new AsyncDelivery(SubscriptionOptions.<Kill>ordered(Kill::player), tasks::add, this::receive);
+        for (int i = 0; i < 100; i++) {
+            delivery.submit(new Kill("steve", 0, i));
+        }
+        delivery.submit(new Kill("alex", 0, 0));
+        assertEquals(2, tasks.size());
+        
+        // The steve lane hands a batch back before its last events
+        tasks.poll().run();
+        assertEquals(64, received.size());
+        tasks.poll().run();
+        assertEquals("alex", received.get(64).player());
+        
+        runTasks();
+        assertEquals(101, delivery.getDelivered());
+        assertEquals(0, delivery.getLaneCount());
+    }
+    
+    @Test
+    void testUnorderedQueueHasOneWorker() {
+        AsyncDelivery delivery = new AsyncDelivery(SubscriptionOptions.<Kill>async(), tasks::add, this::receive);
+        
+        for (int i = 0; i < 10; i++) {
+            delivery.submit(new Kill("steve", 0, i));
+        }
+        
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(10, received.size());
+    }
+    
+    @Test
+    void testOrderedDropNewestKeepsQueuedEvents() {
+        AsyncDelivery delivery = fullLane(SubscriptionOptions.<Kill>ordered(Kill::player), SubscriptionOptions.DropPolicy.DROP_NEWEST);
+        
+        runTasks();
+        
+        assertEquals(List.of(0, 1), sequences());
+        assertEquals(1, delivery.getDropped());
+    }
+    
+    @Test
+    void testOrderedDropOldestMakesRoom() {
+        AsyncDelivery delivery = fullLane(SubscriptionOptions.<Kill>ordered(Kill::player), SubscriptionOptions.DropPolicy.DROP_OLDEST);
+        
+        runTasks();
+        
+        assertEquals(List.of(1, 2), sequences());
+        assertEquals(1, delivery.getDropped());
+    }
+    
+    @Test
+    void testOrderedLanesFillIndependently() {
+        AsyncDelivery delivery = fullLane(SubscriptionOptions.<Kill>ordered(Kill::player), SubscriptionOptions.DropPolicy.DROP_NEWEST);
+        
+        delivery.submit(new Kill("alex", 0, 0));
+        runTasks();
+        
+        assertEquals(3, received.size());
+        assertEquals(1, delivery.getDropped());
+    }
+    
+    @Test
+    void testUnorderedDropNewestKeepsQueuedEvents() {
+        AsyncDelivery delivery = fullLane(SubscriptionOptions.<Kill>async(), SubscriptionOptions.DropPolicy.DROP_NEWEST);
+        
+        runTasks();
+        
+        assertEquals(List.of(0, 1), sequences());
+        assertEquals(1, delivery.getDropped());
+    }
+    
+    @Test
+    void testUnorderedDropOldestMakesRoom() {
+        AsyncDelivery delivery = fullLane(SubscriptionOptions.<Kill>async(), SubscriptionOptions.DropPolicy.DROP_OLDEST);
+        
+        runTasks();
+        
+        assertEquals(List.of(1, 2), sequences());
+        assertEquals(1, delivery.getDropped());
+    }
+    
+    /**
+     * Post three events for one player into a lane that holds two, with no worker running.
+     */
+    private AsyncDelivery fullLane(SubscriptionOptions<Kill> options, SubscriptionOptions.DropPolicy policy) {
+        AsyncDelivery delivery = new AsyncDelivery(options.withQueueCapacity(2).withDropPolicy(policy), tasks::add, this::receive);
+        for (int i = 0; i < 3; i++) {
+            delivery.submit(new Kill("steve", 0, i));
+        }
+        assertEquals(2, delivery.getQueued());
+        return delivery;
+    }
+    
+    private void receive(Object event) {
+        received.add((Kill) event);
+    }
+    
+    private List<Integer> sequences() {
+        List<Integer> sequences = new ArrayList<>();
+        for (Kill kill : received) {
+            sequences.add(kill.seq());
+        }
+        return sequences;
+    }
+    
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+    
+    record Kill(String player, int poster, int seq) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescerRegistryTest {
+    
+    private static final Logger LOGGER = Logger.getLogger("CoalescerRegistryTest");
+    
+    static {
+        LOGGER.setUseParentHandlers(false);
+    }
+    
+    private final Plugin owner = TestPlugins.named("XzRank");
+    private final List<Runnable> ticking = new ArrayList<>();
+    private final List<Object> received = new ArrayList<>();
+    private final CoalescerRegistry coalescing = new CoalescerRegistry(this::everyTick, received::add);
+    
+    @Test
+    void testPostsAreMergedPerKey() {
+        // Given
+        registerXpGain();
+        
+        // When
+        coalescing.offer(new XpGain("alex", 10));
+        coalescing.offer(new XpGain("steve", 5));
+        coalescing.offer(new XpGain("alex", 20));
+        coalescing.offer(new XpGain("alex", 1));
+        
+        // Then: nothing until the tick, then one event per key
+        assertTrue(received.isEmpty());
+        assertEquals(2, coalescing.getPending());
+        tick();
+        assertEquals(2, received.size());
+        assertTrue(received.contains(new XpGain("alex", 31)));
+        assertTrue(received.contains(new XpGain("steve", 5)));
+        assertEquals(4, coalescing.getPosted());
+        assertEquals(2, coalescing.getDelivered());
+    }
+    
+    @Test
+    void testEachMergedEventIsDeliveredOnce() {
+        // Given
+        registerXpGain();
+        coalescing.offer(new XpGain("alex", 10));
+        tick();
+        
+        // When: nothing new is posted
+        tick();
+        
+        // Then: a post after the flush starts a new merge for the next tick
+        assertEquals(List.of(new XpGain("alex", 10)), received);
+        coalescing.offer(new XpGain("alex", 3));
+        tick();
+        assertEquals(List.of(new XpGain("alex", 10), new XpGain("alex", 3)), received);
+        assertEquals(0, coalescing.getPending());
+    }
+    
+    @Test
+    void testOtherClassesAreNotCoalesced() {
+        registerXpGain();
+        
+        assertFalse(coalescing.offer(new LevelUp("alex")));
+        assertTrue(coalescing.offer(new XpGain("alex", 1)));
+    }
+    
+    @Test
+    void testUnregisterDeliversPendingEvents() {
+        // Given
+        registerXpGain();
+        coalescing.offer(new XpGain("alex", 10));
+        coalescing.offer(new XpGain("alex", 5));
+        
+        // When
+        coalescing.unregister(XpGain.class);
+        
+        // Then: delivered at once, later posts go direct, and the tick task stops
+        assertEquals(List.of(new XpGain("alex", 15)), received);
+        assertFalse(coalescing.offer(new XpGain("alex", 1)));
+        assertTrue(ticking.isEmpty());
+    }
+    
+    @Test
+    void testDisabledPluginsRegistrationsAreDropped() {
+        // Given
+        Plugin other = TestPlugins.named("XzPvP");
+        registerXpGain();
+        coalescing.register(other, LevelUp.class, LevelUp::player, (first, second) -> second);
+        coalescing.offer(new XpGain("alex", 10));
+        coalescing.offer(new LevelUp("alex"));
+        
+        // When
+        coalescing.unregisterAll(owner);
+        tick();
+        
+        // Then: the owner's pending events are discarded, the other plugin's are kept
+        assertEquals(List.of(new LevelUp("alex")), received);
+        assertFalse(coalescing.offer(new XpGain("alex", 1)));
+        assertEquals(1, ticking.size());
+        
+        coalescing.unregisterAll(other);
+        assertTrue(ticking.isEmpty());
+    }
+    
+    @Test
+    void testTickTaskRunsOnlyWhileClassesAreRegistered() {
+        assertTrue(ticking.isEmpty());
+        
+        registerXpGain();
+        coalescing.register(owner, LevelUp.class, LevelUp::player, (first, second) -> second);
+        assertEquals(1, ticking.size());
+        
+        coalescing.unregister(XpGain.class);
+        assertEquals(1, ticking.size());
+        coalescing.unregister(LevelUp.class);
+        assertTrue(ticking.isEmpty());
+    }
+    
+    @Test
+    void testClassCanOnlyBeRegisteredOnce() {
+        registerXpGain();
+        
+        assertThrows(IllegalArgumentException.class, this::registerXpGain);
+    }
+    
+    @Test
+    void testShutdownDeliversPendingEvents() {
+        registerXpGain();
+        coalescing.offer(new XpGain("alex", 10));
+        
+        coalescing.shutdown();
+        
+        assertEquals(List.of(new XpGain("alex", 10)), received);
+        assertTrue(ticking.isEmpty());
+        assertTrue(coalescing.isEmpty());
+    }
+    
+    @Test
+    void testBusDeliversMergedEventsToSubscribersAndDropsThemOnDisable() {
+        // Given
+        EventBus bus = new EventBus(LOGGER, null, this::everyTick);
+        List<Integer> amounts = new ArrayList<>();
+        bus.subscribe(owner, XpGain.class, event -> amounts.add(event.amount()));
+        bus.registerCoalescing(owner, XpGain.class, XpGain::player, XpGain::plus);
+        
+        // When
+        bus.post(new XpGain("alex", 10));
+        bus.post(new XpGain("alex", 20));
+        tick();
+        bus.post(new XpGain("alex", 5));
+        bus.onPluginDisable(new PluginDisableEvent(owner));
+        tick();
+        
+        // Then: one delivery for the first tick; the second was dropped with the plugin
+        assertEquals(List.of(30), amounts);
+        assertTrue(ticking.isEmpty());
+    }
+    
+    private void registerXpGain() {
+        coalescing.register(owner, XpGain.class, XpGain::player, XpGain::plus);
+    }
+    
+    private Runnable everyTick(Runnable task) {
+        ticking.add(task);
+        return () -> ticking.remove(task);
+    }
+    
+    private void tick() {
+        for (Runnable task : List.copyOf(ticking)) {
+            task.run();
+        }
+    }
+    
+    static final class XpGain extends XzEvent {
+        
+        private final String player;
+        private final int amount;
+        
+        XpGain(String player, int amount) {
+            this.player = player;
+            this.amount = amount;
+        }
+        
+        String player() {
+            return player;
+        }
+        
+        int amount() {
+            return amount;
+        }
+        
+        XpGain plus(XpGain other) {
+            return new XpGain(player, amount + other.amount);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof XpGain other && player.equals(other.player) && amount == other.amount;
+        }
+        
+        @Override
+        public int hashCode() {
+            return player.hashCode() * 31 + amount;
+        }
+        
+        @Override
+        public String toString() {
+            return player + "+" + amount;
+        }
+    }
+    
+    static final class LevelUp extends XzEvent {
+        
+        private final String player;
+        
+        LevelUp(String player) {
+            this.player = player;
+        }
+        
+        String player() {
+            return player;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LevelUp other && player.equals(other.player);
+        }
+        
+        @Override
+        public int hashCode() {
+            return player.hashCode();
+        }
+    }
+}
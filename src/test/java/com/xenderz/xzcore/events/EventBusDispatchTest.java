@@ -0,0 +1,188 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventBusDispatchTest {
+    
+    private final Plugin owner = TestPlugins.named("XzTest");
+    private final List<String> received = new ArrayList<>();
+    private final List<String> logged = new ArrayList<>();
+    // Synchronous subscribers only, so no worker pool
+    private final EventBus bus = new EventBus(logger(), null);
+    
+    @Test
+    void testEachSubscriberRunsOncePerPost() {
+        bus.subscribe(owner, KillEvent.class, event -> received.add("a"));
+        bus.subscribe(owner, KillEvent.class, event -> received.add("b"));
+        
+        bus.post(new KillEvent());
+        bus.post(new KillEvent());
+        
+        assertEquals(List.of("a", "b", "a", "b"), received);
+    }
+    
+    @Test
+    void testSubscribersRunByPriorityThenSubscriptionOrder() {
+        bus.subscribe(owner, KillEvent.class, event -> received.add("normal-1"));
+        bus.subscribe(owner, KillEvent.class, EventPriority.MONITOR, event -> received.add("monitor"));
+        bus.subscribe(owner, KillEvent.class, EventPriority.LOWEST, event -> received.add("lowest"));
+        bus.subscribe(owner, KillEvent.class, event -> received.add("normal-2"));
+        
+        bus.post(new KillEvent());
+        
+        assertEquals(List.of("lowest", "normal-1", "normal-2", "monitor"), received);
+    }
+    
+    @Test
+    void testSuperclassSubscriberReceivesSubclassEvents() {
+        bus.subscribe(owner, KillEvent.class, event -> received.add("kill"));
+        bus.subscribe(owner, XzEvent.class, event -> received.add("any"));
+        bus.subscribe(owner, HeadshotEvent.class, event -> received.add("headshot"));
+        
+        bus.post(new HeadshotEvent());
+        bus.post(new KillEvent());
+        
+        assertEquals(List.of("kill", "any", "headshot", "kill", "any"), received);
+    }
+    
+    @Test
+    void testInterfaceSubscriberReceivesImplementingEvents() {
+        bus.subscribe(owner, PlayerScoped.class, event -> received.add("scoped:" + event.getPlayerName()));
+        
+        bus.post(new HeadshotEvent());
+        bus.post(new KillEvent());
+        
+        assertEquals(List.of("scoped:alex"), received);
+    }
+    
+    @Test
+    void testPriorityOrderSpansTheWholeHierarchy() {
+        bus.subscribe(owner, XzEvent.class, EventPriority.MONITOR, event -> received.add("any-monitor"));
+        bus.subscribe(owner, HeadshotEvent.class, EventPriority.LOW, event -> received.add("headshot-low"));
+        bus.subscribe(owner, PlayerScoped.class, EventPriority.HIGH, event -> received.add("scoped-high"));
+        bus.subscribe(owner, KillEvent.class, EventPriority.LOWEST, event -> received.add("kill-lowest"));
+        bus.subscribe(owner, XzEvent.class, EventPriority.LOW, event -> received.add("any-low"));
+        
+        bus.post(new HeadshotEvent());
+        
+        assertEquals(List.of("kill-lowest", "headshot-low", "any-low", "scoped-high", "any-monitor"), received);
+    }
+    
+    @Test
+    void testCachedSubscribersAreRebuiltAfterSubscribeAndUnsubscribe() {
+        // Given: a resolved dispatch array
+        bus.subscribe(owner, KillEvent.class, event -> received.add("kill"));
+        bus.post(new HeadshotEvent());
+        assertTrue(bus.isResolved(HeadshotEvent.class));
+        
+        // When: a supertype subscriber is added
+        Subscription any = bus.subscribe(owner, XzEvent.class, event -> received.add("any"));
+        bus.post(new HeadshotEvent());
+        
+        // Then: it is included, and dropped again once unsubscribed
+        any.unsubscribe();
+        bus.post(new HeadshotEvent());
+        
+        assertEquals(List.of("kill", "kill", "any", "kill"), received);
+    }
+    
+    @Test
+    void testFailingSubscriberDoesNotStopOthers() {
+        bus.subscribe(owner, KillEvent.class, event -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(owner, KillEvent.class, event -> received.add("after"));
+        
+        bus.post(new KillEvent());
+        
+        assertEquals(List.of("after"), received);
+        assertEquals(1, logged.size());
+        assertTrue(logged.get(0).contains("XzTest"), logged.get(0));
+    }
+    
+    @Test
+    void testPostWithoutSubscribersIsNoOp() {
+        bus.post(new KillEvent());
+        
+        assertTrue(received.isEmpty());
+    }
+    
+    @Test
+    void testDisablingAPluginForgetsItsBridgesAndClasses() throws Exception {
+        // Given: a dependent plugin with its own classloader that posted one of its events
+        TestPlugins.IsolatedLoader loader = new TestPlugins.IsolatedLoader();
+        Plugin dependent = TestPlugins.named("XzPvP", loader);
+        Class<? extends XzEvent> pluginEvent = loader.copy(PluginEvent.class).asSubclass(XzEvent.class);
+        bus.post(pluginEvent.getDeclaredConstructor().newInstance());
+        bus.post(new KillEvent());
+        bus.bridgeToBukkit(dependent, KillEvent.class, event -> null);
+        bus.bridgeToBukkit(owner, pluginEvent, event -> null);
+        bus.bridgeToBukkit(owner, PluginEvent.class, event -> null);
+        
+        // When
+        bus.onPluginDisable(new PluginDisableEvent(dependent));
+        
+        // Then: nothing refers to the dependent's classes; other entries stay
+        assertFalse(bus.isResolved(pluginEvent));
+        assertFalse(bus.isBridged(pluginEvent));
+        assertFalse(bus.isBridged(KillEvent.class));
+        assertTrue(bus.isResolved(KillEvent.class));
+        assertTrue(bus.isBridged(PluginEvent.class));
+    }
+    
+    @Test
+    void testClassesThatAreNotEventsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe(owner, String.class, event -> { }));
+    }
+    
+    private Logger logger() {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record.getMessage());
+            }
+            
+            @Override
+            public void flush() {
+            }
+            
+            @Override
+            public void close() {
+            }
+        });
+        return logger;
+    }
+    
+    static class KillEvent extends XzEvent {
+    }
+    
+    public static class PluginEvent extends XzEvent {
+    }
+    
+    interface PlayerScoped {
+        String getPlayerName();
+    }
+    
+    static class HeadshotEvent extends KillEvent implements PlayerScoped {
+        @Override
+        public String getPlayerName() {
+            return "alex";
+        }
+    }
+}
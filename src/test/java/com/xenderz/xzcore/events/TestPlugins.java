@@ -0,0 +1,55 @@
+package com.xenderz.xzcore.events;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+
+/**
+ * Plugin stand-ins for subscription owners.
+ */
+final class TestPlugins {
+    
+    private TestPlugins() {
+    }
+    
+    /**
+     * A plugin that only answers {@code getName()}, {@code equals} and {@code hashCode}.
+     */
+    static Plugin named(String name) {
+        return named(name, TestPlugins.class.getClassLoader());
+    }
+    
+    /**
+     * A named plugin whose class is defined by {@code loader}, as a real
+     * plugin's class is defined by its own plugin classloader.
+     */
+    static Plugin named(String name, ClassLoader loader) {
+        return (Plugin) Proxy.newProxyInstance(loader, new Class<?>[] {Plugin.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getName", "toString" -> name;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "isEnabled" -> true;
+                default -> null;
+            });
+    }
+    
+    /**
+     * Stand-in for a plugin classloader: defines its own copies of test classes.
+     */
+    static final class IsolatedLoader extends ClassLoader {
+        
+        IsolatedLoader() {
+            super(TestPlugins.class.getClassLoader());
+        }
+        
+        Class<?> copy(Class<?> type) throws IOException {
+            try (InputStream in = getParent().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+                byte[] bytes = in.readAllBytes();
+                return defineClass(type.getName(), bytes, 0, bytes.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.xenderz.xzcore.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RankedSetTest {
+    
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingLong(Entry::score).reversed()
+        .thenComparing(Comparator.comparingLong(Entry::tiebreak).reversed())
+        .thenComparing(Entry::uuid);
+    
+    private final Random random = new Random(42);
+    
+    @Test
+    void testRankAndOrderAfterInserts() {
+        RankedSet set = new RankedSet();
+        List<Entry> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Narrow score range so ties exercise the tiebreak and UUID order
+            Entry entry = new Entry(UUID.randomUUID(), random.nextInt(50), random.nextInt(3));
+            set.put(entry.uuid(), "p" + i, entry.score(), entry.tiebreak());
+            expected.add(entry);
+        }
+        
+        assertMatches(expected, set);
+    }
+    
+    @Test
+    void testRankAndOrderAfterDeletes() {
+        // Given
+        RankedSet set = new RankedSet();
+        List<Entry> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Entry entry = new Entry(UUID.randomUUID(), random.nextInt(1000), 0);
+            set.put(entry.uuid(), "p" + i, entry.score(), entry.tiebreak());
+            expected.add(entry);
+        }
+        
+        // When
+        for (int i = 0; i < 1000; i++) {
+            Entry entry = expected.remove(random.nextInt(expected.size()));
+            assertTrue(set.remove(entry.uuid()));
+        }
+        
+        // Then
+        assertFalse(set.remove(UUID.randomUUID()));
+        assertMatches(expected, set);
+    }
+    
+    @Test
+    void testScoreUpdatesMoveEntries() {
+        // Given
+        RankedSet set = new RankedSet();
+        List<Entry> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Entry entry = new Entry(UUID.randomUUID(), random.nextInt(1000), 0);
+            set.put(entry.uuid(), "p" + i, entry.score(), entry.tiebreak());
+            expected.add(entry);
+        }
+        
+        // When
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(expected.size());
+            Entry updated = new Entry(expected.get(index).uuid(), random.nextInt(1000), random.nextInt(2));
+            expected.set(index, updated);
+            set.put(updated.uuid(), "moved", updated.score(), updated.tiebreak());
+        }
+        
+        // Then
+        assertMatches(expected, set);
+    }
+    
+    @Test
+    void testSameScoreOnlyUpdatesUsername() {
+        RankedSet set = new RankedSet();
+        UUID uuid = UUID.randomUUID();
+        set.put(uuid, "old", 10, 1);
+        RankedSet.Node node = set.get(uuid);
+        
+        set.put(uuid, "new", 10, 1);
+        
+        assertSame(node, set.get(uuid));
+        assertEquals("new", node.username);
+        assertEquals(1, set.size());
+    }
+    
+    @Test
+    void testEmptySet() {
+        RankedSet set = new RankedSet();
+        
+        assertNull(set.last());
+        assertThrows(IndexOutOfBoundsException.class, () -> set.at(0));
+    }
+    
+    @Test
+    void testClear() {
+        RankedSet set = new RankedSet();
+        set.put(UUID.randomUUID(), "a", 1, 0);
+        
+        set.clear();
+        
+        assertEquals(0, set.size());
+        assertNull(set.last());
+    }
+    
+    private static void assertMatches(List<Entry> expected, RankedSet set) {
+        List<Entry> sorted = new ArrayList<>(expected);
+        sorted.sort(ORDER);
+        
+        assertEquals(sorted.size(), set.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            RankedSet.Node node = set.at(i);
+            assertEquals(sorted.get(i).uuid(), node.uuid, "entry at " + i);
+            assertEquals(i, set.rank(set.get(node.uuid)), "rank of entry " + i);
+        }
+        assertEquals(sorted.get(sorted.size() - 1).uuid(), set.last().uuid);
+        assertThrows(IndexOutOfBoundsException.class, () -> set.at(sorted.size()));
+    }
+    
+    private record Entry(UUID uuid, long score, long tiebreak) {
+    }
+}
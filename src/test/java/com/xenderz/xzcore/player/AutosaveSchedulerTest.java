@@ -0,0 +1,101 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.SqlDialect;
+import com.xenderz.xzcore.database.SqlFunction;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutosaveSchedulerTest {
+    
+    private static final long TARGET_LATENCY_MILLIS = 20;
+    
+    private final RecordingConnection conn = new RecordingConnection((sql, params) -> List.of());
+    private final Queue<Runnable> writes = new ArrayDeque<>();
+    private final PlayerSaveQueue queue = new PlayerSaveQueue(null, Logger.getAnonymousLogger(), Runnable::run,
+        new PlayerSaveQueue.Writer() {
+            @Override
+            public <T> CompletableFuture<T> write(SqlFunction<Connection, T> work) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                writes.add(() -> {
+                    try {
+                        future.complete(work.apply(conn.connection()));
+                    } catch (SQLException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+                return future;
+            }
+        },
+        new PlayerDataRepository(SqlDialect.SQLITE, new StatRegistry()), 100L, 1000);
+    private final PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+    // One shard, so every slot that is not deferred saves the player
+    private final AutosaveScheduler autosave = new AutosaveScheduler(null, queue, () -> List.of(data),
+        300L, 1, 600L, TARGET_LATENCY_MILLIS);
+    
+    @Test
+    void testSlotIsDeferredWhileShardIsBeingWritten() {
+        // Given
+        data.setLastJoin(1000L);
+        autosave.runSlot();
+        
+        // When: the write has not committed yet
+        data.setLastJoin(2000L);
+        autosave.runSlot();
+        
+        // Then
+        assertEquals(1, writes.size());
+        commitWrites(0);
+        assertEquals(1, queue.getTotalSaved());
+    }
+    
+    @Test
+    void testRotationRecoversAfterOneSlowFlush() {
+        // Given: a flush five times slower than the target
+        data.setLastJoin(1000L);
+        autosave.runSlot();
+        commitWrites(5 * TARGET_LATENCY_MILLIS);
+        double slow = autosave.getLatencyMillis();
+        assertTrue(slow > TARGET_LATENCY_MILLIS, "latency " + slow);
+        
+        // When: the next slot is deferred
+        data.setLastJoin(2000L);
+        autosave.runSlot();
+        
+        // Then: nothing was written, but the latency decayed
+        assertTrue(writes.isEmpty());
+        assertTrue(autosave.getLatencyMillis() < slow, "latency " + autosave.getLatencyMillis());
+        
+        // And within a few slots the rotation saves again
+        for (int slot = 0; slot < 10 && writes.isEmpty(); slot++) {
+            autosave.runSlot();
+        }
+        assertEquals(1, writes.size());
+        commitWrites(0);
+        assertEquals(2, queue.getTotalSaved());
+    }
+    
+    private void commitWrites(long delayMillis) {
+        Runnable write;
+        while ((write = writes.poll()) != null) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            write.run();
+        }
+    }
+}
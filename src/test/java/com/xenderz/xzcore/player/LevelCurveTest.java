@@ -0,0 +1,58 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LevelCurveTest {
+    
+    @Test
+    void testLevelStartsAtItsThreshold() {
+        // 100 * level^2: level 2 at 400, level 3 at 900, level 4 at 1600
+        LevelCurve curve = LevelCurve.power(100, 2.0, 5);
+        
+        assertEquals(1, curve.getLevel(0));
+        assertEquals(1, curve.getLevel(399));
+        assertEquals(2, curve.getLevel(400));
+        assertEquals(2, curve.getLevel(899));
+        assertEquals(3, curve.getLevel(900));
+        assertEquals(4, curve.getLevel(1600));
+    }
+    
+    @Test
+    void testLevelIsClampedToCurve() {
+        LevelCurve curve = LevelCurve.power(100, 2.0, 5);
+        
+        assertEquals(1, curve.getLevel(-50));
+        assertEquals(5, curve.getLevel(Long.MAX_VALUE));
+        assertEquals(0, curve.getXpForLevel(1));
+        assertEquals(0, curve.getXpForLevel(-3));
+        assertEquals(2500, curve.getXpForLevel(5));
+        assertEquals(2500, curve.getXpForLevel(99));
+    }
+    
+    @Test
+    void testFlatStretchResolvesToHighestLevel() {
+        // Levels 2 to 4 all start at 10 XP
+        LevelCurve curve = LevelCurve.table(5, level -> level <= 4 ? 10 : 20);
+        
+        assertEquals(1, curve.getLevel(9));
+        assertEquals(4, curve.getLevel(10));
+        assertEquals(5, curve.getLevel(20));
+    }
+    
+    @Test
+    void testSingleLevelCurve() {
+        LevelCurve curve = LevelCurve.table(1, level -> 100);
+        
+        assertEquals(1, curve.getMaxLevel());
+        assertEquals(1, curve.getLevel(1_000_000));
+    }
+    
+    @Test
+    void testDecreasingFormulaIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LevelCurve.table(5, level -> level == 3 ? 50 : level * 100L));
+        assertThrows(IllegalArgumentException.class, () -> LevelCurve.table(0, level -> 0));
+    }
+}
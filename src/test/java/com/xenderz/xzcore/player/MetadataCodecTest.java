@@ -0,0 +1,180 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetadataCodecTest {
+    
+    @Test
+    void testRoundTripScalars() {
+        List<Object> values = List.of(
+            true,
+            false,
+            0,
+            -1,
+            Integer.MIN_VALUE,
+            Integer.MAX_VALUE,
+            Long.MIN_VALUE,
+            Long.MAX_VALUE,
+            1.5f,
+            Float.NaN,
+            -0.0,
+            Double.MAX_VALUE,
+            "",
+            "h\u00e9llo w\u00f6rld \u2713",
+            UUID.fromString("123e4567-e89b-12d3-a456-426614174000")
+        );
+        
+        for (Object value : values) {
+            assertEquals(value, MetadataCodec.decode(MetadataCodec.encode(value)), "round trip of " + value);
+        }
+    }
+    
+    @Test
+    void testRoundTripKeepsIntegerAndLongApart() {
+        assertEquals(Integer.class, MetadataCodec.decode(MetadataCodec.encode(42)).getClass());
+        assertEquals(Long.class, MetadataCodec.decode(MetadataCodec.encode(42L)).getClass());
+    }
+    
+    @Test
+    void testRoundTripBytes() {
+        byte[] bytes = {0, 1, -1, 127, -128};
+        
+        assertArrayEquals(bytes, (byte[]) MetadataCodec.decode(MetadataCodec.encode(bytes)));
+    }
+    
+    @Test
+    void testRoundTripNestedCollections() {
+        // Given
+        Map<String, Object> inner = new LinkedHashMap<>();
+        inner.put("z", 1L);
+        inner.put("a", List.of("x", "y"));
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("kills", 12);
+        value.put("homes", List.of(inner, List.of(), true));
+        value.put("owner", UUID.randomUUID());
+        
+        // When
+        Object decoded = MetadataCodec.decode(MetadataCodec.encode(value));
+        
+        // Then
+        assertEquals(value, decoded);
+        assertEquals(List.of("kills", "homes", "owner"), List.copyOf(((Map<?, ?>) decoded).keySet()));
+    }
+    
+    @Test
+    void testLargeValuesAreCompressed() {
+        // Given
+        String value = "a".repeat(MetadataCodec.COMPRESSION_THRESHOLD * 8);
+        
+        // When
+        byte[] encoded = MetadataCodec.encode(value);
+        
+        // Then
+        assertTrue(encoded.length < value.length() / 4, "expected compression, got " + encoded.length + " bytes");
+        assertEquals(MetadataCodec.VERSION << 4 | 1, encoded[0] & 0xff);
+        assertEquals(value, MetadataCodec.decode(encoded));
+    }
+    
+    @Test
+    void testIncompressibleValuesStayRaw() {
+        byte[] random = new byte[MetadataCodec.COMPRESSION_THRESHOLD * 2];
+        new java.util.Random(7).nextBytes(random);
+        
+        byte[] encoded = MetadataCodec.encode(random);
+        
+        assertEquals(MetadataCodec.VERSION << 4, encoded[0] & 0xff);
+        assertArrayEquals(random, (byte[]) MetadataCodec.decode(encoded));
+    }
+    
+    @Test
+    void testIsSupported() {
+        assertTrue(MetadataCodec.isSupported(Map.of("a", List.of(1, "b"))));
+        assertFalse(MetadataCodec.isSupported(new Object()));
+        assertFalse(MetadataCodec.isSupported(Map.of(1, "a")));
+        assertFalse(MetadataCodec.isSupported(List.of(new StringBuilder())));
+    }
+    
+    @Test
+    void testEncodeRejectsUnsupportedValues() {
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.encode(new Object()));
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.encode(Map.of(1, "a")));
+    }
+    
+    @Test
+    void testDecodeRejectsMalformedInput() {
+        byte[] encoded = MetadataCodec.encode("hello");
+        
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(new byte[] {MetadataCodec.VERSION << 4, 99}));
+    }
+    
+    @Test
+    void testDecodeRejectsOversizedInflatedLength() {
+        // Given: a deflated header claiming far more than the limit
+        byte[] encoded = MetadataCodec.encode("a".repeat(MetadataCodec.COMPRESSION_THRESHOLD * 8));
+        byte[] forged = new byte[encoded.length + 5];
+        forged[0] = encoded[0];
+        int n = 1;
+        for (long length = Integer.MAX_VALUE; (length & ~0x7fL) != 0; length >>>= 7) {
+            forged[n++] = (byte) (length & 0x7f | 0x80);
+        }
+        forged[n++] = 0x07;
+        
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(forged));
+        assertTrue(e.getMessage().contains("exceeds limit"), e.getMessage());
+    }
+    
+    @Test
+    void testNestingDepthIsBounded() {
+        // Given
+        Object deepest = "leaf";
+        for (int i = 0; i < MetadataCodec.MAX_DEPTH; i++) {
+            deepest = List.of(deepest);
+        }
+        Object tooDeep = List.of(deepest);
+        
+        // Then
+        assertEquals(deepest, MetadataCodec.decode(MetadataCodec.encode(deepest)));
+        assertFalse(MetadataCodec.isSupported(tooDeep));
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.encode(tooDeep));
+    }
+    
+    @Test
+    void testDecodeRejectsDeepNestingWithoutOverflowingTheStack() {
+        // Given: 100k nested single-element lists, far past the limit
+        byte[] bytes = new byte[1 + 200_000 + 1];
+        bytes[0] = MetadataCodec.VERSION << 4;
+        for (int i = 1; i < bytes.length - 1; i += 2) {
+            bytes[i] = 9;
+            bytes[i + 1] = 1;
+        }
+        bytes[bytes.length - 1] = 1;
+        
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(bytes));
+        assertTrue(e.getMessage().contains("nested"), e.getMessage());
+    }
+    
+    @Test
+    void testDecodeRejectsNewerVersion() {
+        byte[] encoded = MetadataCodec.encode(1);
+        encoded[0] = (byte) ((MetadataCodec.VERSION + 1) << 4);
+        
+        assertThrows(IllegalArgumentException.class, () -> MetadataCodec.decode(encoded));
+    }
+}
@@ -0,0 +1,182 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflinePlayerCacheTest {
+    
+    private final List<PlayerData> saved = new ArrayList<>();
+    
+    @Test
+    void testRejectsRarelyRequestedCandidate() {
+        // Given
+        OfflinePlayerCache cache = new OfflinePlayerCache(2, 0, 0, saved::add);
+        PlayerData a = player("a");
+        PlayerData b = player("b");
+        cache.put(a);
+        cache.put(b);
+        requestTimes(cache, a, 3);
+        requestTimes(cache, b, 3);
+        
+        // When
+        PlayerData c = player("c");
+        cache.put(c);
+        
+        // Then
+        assertEquals(List.of(c), saved);
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get(a.getUuid()));
+        assertSame(b, cache.get(b.getUuid()));
+    }
+    
+    @Test
+    void testAdmitsFrequentlyRequestedCandidateOverLeastRecentlyUsed() {
+        // Given
+        OfflinePlayerCache cache = new OfflinePlayerCache(2, 0, 0, saved::add);
+        PlayerData a = player("a");
+        PlayerData b = player("b");
+        PlayerData c = player("c");
+        cache.put(a);
+        cache.put(b);
+        requestTimes(cache, a, 3);
+        requestTimes(cache, b, 3);
+        // Misses still count towards c's popularity
+        requestTimes(cache, c, 6);
+        
+        // When
+        cache.put(c);
+        
+        // Then: a is the least recently used entry
+        assertEquals(List.of(a), saved);
+        assertNull(cache.get(a.getUuid()));
+        assertSame(b, cache.get(b.getUuid()));
+        assertSame(c, cache.get(c.getUuid()));
+    }
+    
+    @Test
+    void testPutIfAbsentKeepsCachedInstance() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(10, 0, 0, saved::add);
+        PlayerData cached = player("a");
+        PlayerData loaded = new PlayerData(cached.getUuid(), "a");
+        cache.put(cached);
+        
+        assertSame(cached, cache.putIfAbsent(loaded));
+        assertSame(cached, cache.get(cached.getUuid()));
+        assertTrue(saved.isEmpty());
+    }
+    
+    @Test
+    void testPutReplacesAndReportsPreviousInstance() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(10, 0, 0, saved::add);
+        PlayerData old = player("a");
+        PlayerData current = new PlayerData(old.getUuid(), "a");
+        cache.put(old);
+        
+        cache.put(current);
+        
+        assertEquals(List.of(old), saved);
+        assertSame(current, cache.get(old.getUuid()));
+    }
+    
+    @Test
+    void testExpiredEntriesAreRemoved() throws InterruptedException {
+        // Given
+        OfflinePlayerCache cache = new OfflinePlayerCache(10, 0, 1, saved::add);
+        PlayerData a = player("a");
+        cache.put(a);
+        
+        // When
+        Thread.sleep(5);
+        cache.cleanUp();
+        
+        // Then
+        assertEquals(List.of(a), saved);
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    void testRejectedCandidateIsSavedWhenModified() {
+        // Given: a clean instance the cache turns away, still held by the caller
+        OfflinePlayerCache cache = new OfflinePlayerCache(2, 0, 0, saved::add);
+        PlayerData a = player("a");
+        PlayerData b = player("b");
+        cache.put(a);
+        cache.put(b);
+        requestTimes(cache, a, 3);
+        requestTimes(cache, b, 3);
+        PlayerData c = player("c");
+        c.markClean();
+        cache.put(c);
+        assertTrue(saved.isEmpty());
+        
+        // When
+        c.setMetadata("banned-by", "admin");
+        c.addExperience(10);
+        
+        // Then: queued once when it became dirty
+        assertEquals(List.of(c), saved);
+        
+        // And queued again for changes after that save
+        c.markPersisted(c.snapshot());
+        c.setMetadata("banned-by", "console");
+        assertEquals(List.of(c, c), saved);
+    }
+    
+    @Test
+    void testDisabledCacheSavesLaterChanges() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(0, 0, 0, saved::add);
+        PlayerData a = player("a");
+        a.markClean();
+        
+        cache.put(a);
+        a.setPlayTime(1000);
+        
+        assertEquals(List.of(a), saved);
+    }
+    
+    @Test
+    void testAdmittedInstanceIsNotSavedOnChange() {
+        // Given: an instance that was rejected once, then admitted
+        OfflinePlayerCache cache = new OfflinePlayerCache(0, 0, 0, saved::add);
+        PlayerData a = player("a");
+        a.markClean();
+        cache.put(a);
+        OfflinePlayerCache other = new OfflinePlayerCache(10, 0, 0, saved::add);
+        other.put(a);
+        
+        // When
+        a.setPlayTime(1000);
+        
+        // Then: left to autosave
+        assertTrue(saved.isEmpty());
+    }
+    
+    @Test
+    void testZeroSizeDisablesCache() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(0, 0, 0, saved::add);
+        PlayerData a = player("a");
+        
+        cache.put(a);
+        
+        assertEquals(List.of(a), saved);
+        assertNull(cache.get(a.getUuid()));
+    }
+    
+    private static PlayerData player(String name) {
+        return new PlayerData(UUID.randomUUID(), name);
+    }
+    
+    private static void requestTimes(OfflinePlayerCache cache, PlayerData data, int times) {
+        for (int i = 0; i < times; i++) {
+            cache.get(data.getUuid());
+        }
+    }
+}
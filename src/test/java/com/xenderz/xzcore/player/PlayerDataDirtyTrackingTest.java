@@ -0,0 +1,129 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerDataDirtyTrackingTest {
+    
+    @Test
+    void testSnapshotCarriesOnlyChangedColumns() {
+        PlayerData data = clean();
+        
+        data.addPlayTime(1000);
+        data.setLevel(3);
+        
+        assertEquals(PlayerSnapshot.PLAY_TIME | PlayerSnapshot.LEVEL, data.snapshot().changedColumns());
+    }
+    
+    @Test
+    void testFieldChangedDuringSaveStaysDirty() {
+        // Given
+        PlayerData data = clean();
+        data.addPlayTime(1000);
+        data.setLevel(3);
+        PlayerSnapshot snapshot = data.snapshot();
+        
+        // When: play time changes again while the snapshot is written
+        data.addPlayTime(500);
+        data.markPersisted(snapshot);
+        
+        // Then: only play time is saved again, with its new value
+        PlayerSnapshot next = data.snapshot();
+        assertEquals(PlayerSnapshot.PLAY_TIME, next.changedColumns());
+        assertEquals(1500, next.playTime());
+    }
+    
+    @Test
+    void testSaveWithoutConcurrentChangesCleans() {
+        PlayerData data = clean();
+        data.setUsername("alex");
+        data.setMetadata("rank", "vip");
+        
+        data.markPersisted(data.snapshot());
+        
+        assertFalse(data.isDirty());
+    }
+    
+    @Test
+    void testMetadataKeyChangedDuringSaveStaysDirty() {
+        // Given
+        PlayerData data = clean();
+        data.setMetadata("rank", "vip");
+        data.setMetadata("kills", 1);
+        PlayerSnapshot snapshot = data.snapshot();
+        
+        // When
+        data.setMetadata("kills", 2);
+        data.markPersisted(snapshot);
+        
+        // Then: rank was saved, kills must be written again
+        List<PlayerSnapshot.MetadataChange> changes = data.snapshot().metadataChanges();
+        assertEquals(1, changes.size());
+        assertEquals("kills", changes.get(0).key());
+        assertEquals(2, MetadataCodec.decode(changes.get(0).value()));
+    }
+    
+    @Test
+    void testOlderSnapshotDoesNotCleanNewerChange() {
+        // Given: two saves in flight, the older one commits last
+        PlayerData data = clean();
+        data.setTotalExperience(10);
+        PlayerSnapshot older = data.snapshot();
+        data.setTotalExperience(20);
+        PlayerSnapshot newer = data.snapshot();
+        
+        // When
+        data.markPersisted(newer);
+        data.setTotalExperience(30);
+        data.markPersisted(older);
+        
+        // Then
+        assertTrue(data.isDirty());
+        assertEquals(30, data.snapshot().totalExperience());
+    }
+    
+    @Test
+    void testConcurrentUpdatesAreNeverLostBySaves() throws Exception {
+        // Given: a writer thread racing a save loop
+        PlayerData data = clean();
+        int updates = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < updates; i++) {
+                data.addPlayTime(1);
+                data.setMetadata("last", i);
+            }
+        });
+        
+        // When
+        writer.start();
+        long persistedPlayTime = 0;
+        Object persistedLast = null;
+        while (writer.isAlive() || data.isDirty()) {
+            PlayerSnapshot snapshot = data.snapshot();
+            if ((snapshot.changedColumns() & PlayerSnapshot.PLAY_TIME) != 0) {
+                persistedPlayTime = snapshot.playTime();
+            }
+            for (PlayerSnapshot.MetadataChange change : snapshot.metadataChanges()) {
+                persistedLast = MetadataCodec.decode(change.value());
+            }
+            data.markPersisted(snapshot);
+        }
+        writer.join();
+        
+        // Then: the last save wrote the final values
+        assertEquals(updates, persistedPlayTime);
+        assertEquals(updates - 1, persistedLast);
+    }
+    
+    private static PlayerData clean() {
+        PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+        data.markClean();
+        return data;
+    }
+}
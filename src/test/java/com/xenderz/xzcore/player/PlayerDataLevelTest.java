@@ -0,0 +1,117 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerDataLevelTest {
+    
+    private final List<String> levelChanges = new ArrayList<>();
+    
+    @Test
+    void testMultiLevelJumpReportsOneChange() {
+        // Given
+        PlayerData data = player(new PlayerData(UUID.randomUUID(), "steve"));
+        data.setLevelCurve(LevelCurve.power(100, 2.0, 10));
+        
+        // When: 1000 XP reaches level 3 directly
+        data.addExperience(1000);
+        
+        // Then
+        assertEquals(3, data.getLevel());
+        assertEquals(List.of("1->3"), levelChanges);
+        assertFalse(data.checkLevelUp());
+    }
+    
+    @Test
+    void testCheckLevelUpAfterSetTotalExperience() {
+        PlayerData data = player(new PlayerData(UUID.randomUUID(), "steve"));
+        data.setLevelCurve(LevelCurve.power(100, 2.0, 10));
+        
+        data.setTotalExperience(1600);
+        
+        assertEquals(1, data.getLevel());
+        assertTrue(data.checkLevelUp());
+        assertEquals(4, data.getLevel());
+        assertEquals(List.of("1->4"), levelChanges);
+    }
+    
+    @Test
+    void testNegativeExperienceNeverLowersLevel() {
+        PlayerData data = player(new PlayerData(UUID.randomUUID(), "steve"));
+        data.setLevelCurve(LevelCurve.power(100, 2.0, 10));
+        data.addExperience(1000);
+        
+        data.addExperience(-1000);
+        
+        assertEquals(3, data.getLevel());
+        assertEquals(List.of("1->3"), levelChanges);
+    }
+    
+    @Test
+    void testGetXpForLevelOverrideIsHonored() {
+        // Given: 10 XP per level, far below the configured curve
+        PlayerData data = player(new FlatPlayerData());
+        
+        // When
+        data.addExperience(35);
+        
+        // Then
+        assertEquals(4, data.getLevel());
+        assertEquals(30, data.getLevelCurve().getXpForLevel(4));
+        assertEquals(List.of("1->4"), levelChanges);
+    }
+    
+    @Test
+    void testDecreasingOverrideIsFlattened() {
+        PlayerData data = player(new DippingPlayerData());
+        
+        data.addExperience(25);
+        
+        // Level 3 dips to 5 XP and is treated as starting at level 2's 20 XP
+        assertEquals(20, data.getLevelCurve().getXpForLevel(3));
+        assertEquals(3, data.getLevel());
+    }
+    
+    private PlayerData player(PlayerData data) {
+        data.setProgressListener(new PlayerData.ProgressListener() {
+            @Override
+            public void progressChanged(PlayerData changed) {
+            }
+            
+            @Override
+            public void levelChanged(PlayerData changed, int oldLevel, int newLevel) {
+                levelChanges.add(oldLevel + "->" + newLevel);
+            }
+        });
+        return data;
+    }
+    
+    private static final class FlatPlayerData extends PlayerData {
+        private FlatPlayerData() {
+            super(UUID.randomUUID(), "flat");
+        }
+        
+        @Override
+        protected int getXpForLevel(int level) {
+            return (level - 1) * 10;
+        }
+    }
+    
+    private static final class DippingPlayerData extends PlayerData {
+        private DippingPlayerData() {
+            super(UUID.randomUUID(), "dipping");
+        }
+        
+        @Override
+        protected int getXpForLevel(int level) {
+            return level == 3 ? 5 : level * 10;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.SqlDialect;
+import com.xenderz.xzcore.database.Uuids;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerDataRepositoryTest {
+    
+    private final PlayerDataRepository repository = new PlayerDataRepository(SqlDialect.SQLITE, new StatRegistry());
+    private final Map<UUID, Object[]> players = new HashMap<>();
+    private final List<String> queries = new ArrayList<>();
+    private final List<Integer> queryParams = new ArrayList<>();
+    private final RecordingConnection conn = new RecordingConnection((sql, params) -> {
+        queries.add(sql);
+        queryParams.add(params.size());
+        List<Object[]> rows = new ArrayList<>();
+        if (sql.startsWith("SELECT p.uuid")) {
+            for (Object param : params) {
+                Object[] row = players.get(Uuids.fromBytes((byte[]) param));
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    });
+    
+    @Test
+    void testLoadReadsPlayerAndExperienceInOneQuery() throws SQLException {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        players.put(uuid, new Object[] {Uuids.toBytes(uuid), "steve", 10L, 20L, 30L, 500L, 4});
+        
+        // When
+        PlayerData data = repository.load(conn.connection(), uuid);
+        
+        // Then: one player query, one metadata query
+        assertEquals(2, queries.size());
+        assertTrue(queries.get(0).contains("LEFT JOIN xzcore_experience"), queries.get(0));
+        assertEquals("steve", data.getUsername());
+        assertEquals(30L, data.getPlayTime());
+        assertEquals(500L, data.getTotalExperience());
+        assertEquals(4, data.getLevel());
+        assertFalse(data.isDirty());
+    }
+    
+    @Test
+    void testPlayerWithoutExperienceRowKeepsDefaults() throws SQLException {
+        UUID uuid = UUID.randomUUID();
+        players.put(uuid, new Object[] {Uuids.toBytes(uuid), "alex", 10L, 20L, 30L, null, null});
+        
+        PlayerData data = repository.load(conn.connection(), uuid);
+        
+        assertEquals(0L, data.getTotalExperience());
+        assertEquals(1, data.getLevel());
+        assertFalse(data.isDirty());
+    }
+    
+    @Test
+    void testLoadOfUnknownPlayerReturnsNull() throws SQLException {
+        assertNull(repository.load(conn.connection(), UUID.randomUUID()));
+        // No metadata query for a missing player
+        assertEquals(1, queries.size());
+    }
+    
+    @Test
+    void testLoadManyChunksByBindLimit() throws SQLException {
+        // Given: more players than fit in one IN list
+        int limit = SqlDialect.SQLITE.getMaxRowsPerStatement(1);
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < limit + 10; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            if (i % 2 == 0) {
+                players.put(uuid, new Object[] {Uuids.toBytes(uuid), "p" + i, 0L, 0L, 0L, (long) i, 1});
+            }
+        }
+        
+        // When
+        Map<UUID, PlayerData> loaded = repository.loadMany(conn.connection(), uuids);
+        
+        // Then: two player queries, then metadata for the players found
+        assertEquals(players.size(), loaded.size());
+        assertEquals(List.of(limit, 10), queryParams.subList(0, 2));
+        assertEquals(players.size(), queryParams.stream().skip(2).mapToInt(Integer::intValue).sum());
+        for (UUID uuid : players.keySet()) {
+            assertEquals((long) players.get(uuid)[5], loaded.get(uuid).getTotalExperience());
+        }
+    }
+    
+    @Test
+    void testLoadManyOfNothingRunsNoQuery() throws SQLException {
+        assertTrue(repository.loadMany(conn.connection(), List.of()).isEmpty());
+        assertTrue(queries.isEmpty());
+    }
+}
@@ -0,0 +1,289 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.SqlDialect;
+import com.xenderz.xzcore.database.SqlFunction;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerSaveQueueTest {
+    
+    private static final int MAX_BATCH_SIZE = 3;
+    
+    private final RecordingConnection conn = new RecordingConnection(PlayerSaveQueueTest::query);
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Queue<Runnable> writes = new ArrayDeque<>();
+    private final Queue<CompletableFuture<?>> writeFutures = new ArrayDeque<>();
+    private final PlayerSaveQueue queue = new PlayerSaveQueue(null, Logger.getAnonymousLogger(), tasks::add,
+        new PlayerSaveQueue.Writer() {
+            @Override
+            public <T> CompletableFuture<T> write(SqlFunction<Connection, T> work) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                writeFutures.add(future);
+                writes.add(() -> {
+                    try {
+                        future.complete(work.apply(conn.connection()));
+                    } catch (SQLException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+                return future;
+            }
+        },
+        new PlayerDataRepository(SqlDialect.SQLITE, new StatRegistry()), 100L, MAX_BATCH_SIZE);
+    
+    @Test
+    void testRepeatedSavesOfOneInstanceShareAnEntry() throws Exception {
+        // Given
+        PlayerData data = dirty(UUID.randomUUID(), "steve");
+        
+        // When
+        CompletableFuture<Void> first = queue.enqueue(data);
+        CompletableFuture<Void> second = queue.enqueue(data);
+        queue.flush();
+        runTasks();
+        commitWrites();
+        
+        // Then
+        assertSame(first, second);
+        assertTrue(second.isDone());
+        assertEquals(List.of("steve"), savedUsernames());
+        assertFalse(data.isDirty());
+    }
+    
+    @Test
+    void testSecondInstanceOfSamePlayerIsWrittenByNextFlush() throws Exception {
+        // Given: two instances of one player, e.g. one rejected by the offline cache
+        UUID uuid = UUID.randomUUID();
+        PlayerData first = dirty(uuid, "steve");
+        PlayerData second = dirty(uuid, "steve2");
+        CompletableFuture<Void> firstSaved = queue.enqueue(first);
+        CompletableFuture<Void> secondSaved = queue.enqueue(second);
+        
+        // When
+        queue.flush();
+        runTasks();
+        commitWrites();
+        
+        // Then: only the first is written; the second stays queued
+        assertTrue(firstSaved.isDone());
+        assertFalse(secondSaved.isDone());
+        assertSame(second, queue.getUnsaved(uuid));
+        
+        queue.flush();
+        runTasks();
+        commitWrites();
+        
+        assertTrue(secondSaved.isDone());
+        assertEquals(List.of("steve", "steve2"), savedUsernames());
+        assertFalse(first.isDirty());
+        assertFalse(second.isDirty());
+        assertEquals(0, queue.getPendingCount());
+    }
+    
+    @Test
+    void testUnsavedDataIsVisibleUntilCommitted() {
+        // Given
+        PlayerData data = dirty(UUID.randomUUID(), "steve");
+        queue.enqueue(data);
+        assertSame(data, queue.getUnsaved(data.getUuid()));
+        
+        // When: drained, but not committed
+        queue.flush();
+        runTasks();
+        
+        // Then
+        assertEquals(0, queue.getPendingCount());
+        assertTrue(queue.isFlushing());
+        assertSame(data, queue.getUnsaved(data.getUuid()));
+        
+        commitWrites();
+        assertNull(queue.getUnsaved(data.getUuid()));
+    }
+    
+    @Test
+    void testFailedFlushIsRequeued() {
+        // Given
+        PlayerData data = dirty(UUID.randomUUID(), "steve");
+        CompletableFuture<Void> saved = queue.enqueue(data);
+        queue.flush();
+        runTasks();
+        
+        // When
+        failWrites(new SQLException("database is locked"));
+        
+        // Then: the caller sees the failure, and the data is written by the next flush
+        ExecutionException error = assertThrows(ExecutionException.class, saved::get);
+        assertInstanceOf(SQLException.class, error.getCause());
+        assertTrue(data.isDirty());
+        assertEquals(1, queue.getPendingCount());
+        assertSame(data, queue.getUnsaved(data.getUuid()));
+        
+        queue.flush();
+        runTasks();
+        commitWrites();
+        
+        assertEquals(List.of("steve"), savedUsernames());
+        assertFalse(data.isDirty());
+    }
+    
+    @Test
+    void testFailedSnapshotIsRequeued() {
+        // Given: a metadata list that is modified while the flush encodes it
+        PlayerData data = dirty(UUID.randomUUID(), "steve");
+        AtomicBoolean modifying = new AtomicBoolean(true);
+        data.setMetadata("quests", new ArrayList<>(List.of("mine")) {
+            @Override
+            public Iterator<String> iterator() {
+                if (modifying.get()) {
+                    throw new ConcurrentModificationException();
+                }
+                return super.iterator();
+            }
+        });
+        CompletableFuture<Void> saved = queue.enqueue(data);
+        
+        // When
+        queue.flush();
+        runTasks();
+        
+        // Then: the failure reaches the caller and the data is queued again
+        assertTrue(saved.isDone());
+        ExecutionException error = assertThrows(ExecutionException.class, saved::get);
+        assertInstanceOf(ConcurrentModificationException.class, error.getCause());
+        assertFalse(queue.isFlushing());
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(0, queue.getTotalSaved());
+        assertSame(data, queue.getUnsaved(data.getUuid()));
+        
+        modifying.set(false);
+        CompletableFuture<Void> retried = queue.enqueue(data);
+        queue.flush();
+        runTasks();
+        commitWrites();
+        
+        assertTrue(retried.isDone());
+        assertEquals(List.of("steve"), savedUsernames());
+        assertFalse(data.isDirty());
+        assertNull(queue.getUnsaved(data.getUuid()));
+    }
+    
+    @Test
+    void testBatchSizeTriggerDoesNotSnapshotOnCallingThread() {
+        // When: the queue reaches the batch size, then grows past it
+        for (int i = 0; i < MAX_BATCH_SIZE + 2; i++) {
+            queue.enqueue(dirty(UUID.randomUUID(), "player" + i));
+        }
+        
+        // Then: one flush is handed to the executor and nothing is drained yet
+        assertEquals(1, tasks.size());
+        assertEquals(MAX_BATCH_SIZE + 2, queue.getPendingCount());
+        assertFalse(queue.isFlushing());
+        
+        // The flush takes one batch
+        runTasks();
+        assertEquals(2, queue.getPendingCount());
+        commitWrites();
+        assertEquals(MAX_BATCH_SIZE, savedUsernames().size());
+        assertEquals(MAX_BATCH_SIZE, queue.getLastBatchSize());
+    }
+    
+    @Test
+    void testFlushAllWritesEveryBatch() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(dirty(UUID.randomUUID(), "player" + i));
+        }
+        tasks.clear();
+        
+        // When
+        CompletableFuture<Void> done = queue.flushAll(2);
+        while (!done.isDone()) {
+            runTasks();
+            commitWrites();
+        }
+        
+        // Then: three transactions of at most two players
+        done.get();
+        assertEquals(5, savedUsernames().size());
+        assertEquals(3, queue.getTotalFlushes());
+        assertEquals(5, queue.getTotalSaved());
+        assertEquals(0, queue.getPendingCount());
+    }
+    
+    /**
+     * Answer metadata key lookups with ids in parameter order.
+     */
+    private static List<Object[]> query(String sql, List<Object> params) {
+        if (!sql.startsWith("SELECT id, name")) {
+            return List.of();
+        }
+        List<Object[]> rows = new ArrayList<>(params.size());
+        for (int i = 0; i < params.size(); i++) {
+            rows.add(new Object[] {i + 1, params.get(i)});
+        }
+        return rows;
+    }
+    
+    private static PlayerData dirty(UUID uuid, String username) {
+        PlayerData data = new PlayerData(uuid, username);
+        data.setLastJoin(1000L);
+        return data;
+    }
+    
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+    
+    private void commitWrites() {
+        Runnable write;
+        while ((write = writes.poll()) != null) {
+            writeFutures.poll();
+            write.run();
+        }
+        runTasks();
+    }
+    
+    private void failWrites(SQLException error) {
+        CompletableFuture<?> future;
+        while ((future = writeFutures.poll()) != null) {
+            writes.poll();
+            future.completeExceptionally(error);
+        }
+    }
+    
+    private List<String> savedUsernames() {
+        List<String> usernames = new ArrayList<>();
+        for (RecordingConnection.Statement statement : conn.executed()) {
+            if (statement.sql().startsWith("INSERT INTO xzcore_players")) {
+                for (int i = 1; i < statement.params().size(); i += 5) {
+                    usernames.add((String) statement.params().get(i));
+                }
+            }
+        }
+        return usernames;
+    }
+}
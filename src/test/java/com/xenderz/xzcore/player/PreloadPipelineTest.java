@@ -0,0 +1,213 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreloadPipelineTest {
+    
+    private static final Logger LOGGER = Logger.getLogger("PreloadPipelineTest");
+    
+    static {
+        LOGGER.setUseParentHandlers(false);
+    }
+    
+    private final BlockingQueue<Load> loads = new LinkedBlockingQueue<>();
+    private PreloadPipeline pipeline;
+    
+    @AfterEach
+    void stopPipeline() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+    
+    @Test
+    void testLoadsWithinTheWindowShareABatch() throws Exception {
+        // Given
+        start(500, 100, 2);
+        UUID steve = UUID.randomUUID();
+        UUID alex = UUID.randomUUID();
+        
+        // When
+        CompletableFuture<PlayerData> steveLoaded = pipeline.load(steve);
+        CompletableFuture<PlayerData> alexLoaded = pipeline.load(alex);
+        Load load = nextLoad();
+        load.result.complete(Map.of(steve, new PlayerData(steve, "steve")));
+        
+        // Then: one query for both; a player without a row gets null
+        assertEquals(Set.of(steve, alex), load.uuids);
+        assertEquals("steve", steveLoaded.get(5, TimeUnit.SECONDS).getUsername());
+        assertNull(alexLoaded.get(5, TimeUnit.SECONDS));
+        assertNull(loads.poll(100, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    void testFullBatchIsDispatchedBeforeTheWindowEnds() throws Exception {
+        // Given: a window far longer than the test
+        start(60_000, 2, 2);
+        
+        // When
+        for (int i = 0; i < 4; i++) {
+            pipeline.load(UUID.randomUUID());
+        }
+        
+        // Then
+        assertEquals(2, nextLoad().uuids.size());
+        assertEquals(2, nextLoad().uuids.size());
+    }
+    
+    @Test
+    void testConcurrentBatchesAreLimited() throws Exception {
+        // Given: one batch at a time, one player per batch
+        start(0, 1, 1);
+        CompletableFuture<PlayerData> first = pipeline.load(UUID.randomUUID());
+        CompletableFuture<PlayerData> second = pipeline.load(UUID.randomUUID());
+        Load firstLoad = nextLoad();
+        
+        // When: the first batch is still running
+        assertNull(loads.poll(200, TimeUnit.MILLISECONDS));
+        assertTrue(pipeline.getStats().contains("In flight: 1/1"), pipeline.getStats());
+        
+        // Then: the second is dispatched once the first completes
+        firstLoad.result.complete(Map.of());
+        assertNull(first.get(5, TimeUnit.SECONDS));
+        nextLoad().result.complete(Map.of());
+        assertNull(second.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testFailureReachesEveryRequestInTheBatch() throws Exception {
+        // Given
+        start(500, 3, 1);
+        List<CompletableFuture<PlayerData>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(pipeline.load(UUID.randomUUID()));
+        }
+        SQLException error = new SQLException("database is locked");
+        
+        // When
+        Load load = nextLoad();
+        load.result.completeExceptionally(error);
+        
+        // Then
+        assertEquals(3, load.uuids.size());
+        for (CompletableFuture<PlayerData> future : futures) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(error, thrown.getCause());
+        }
+        assertTrue(pipeline.getStats().contains("Failed: 3"), pipeline.getStats());
+    }
+    
+    @Test
+    void testLoaderThatThrowsFailsTheBatch() throws Exception {
+        // Given
+        pipeline = new PreloadPipeline(LOGGER, uuids -> {
+            throw new IllegalStateException("pool closed");
+        }, 0, 1, 1);
+        pipeline.start();
+        
+        // When
+        CompletableFuture<PlayerData> future = pipeline.load(UUID.randomUUID());
+        
+        // Then: the permit is released, so later loads still run
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        CompletableFuture<PlayerData> next = pipeline.load(UUID.randomUUID());
+        assertThrows(ExecutionException.class, () -> next.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testLoadAfterStopFails() {
+        start(0, 1, 1);
+        pipeline.stop();
+        
+        CompletableFuture<PlayerData> future = pipeline.load(UUID.randomUUID());
+        
+        ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+    }
+    
+    @Test
+    void testLoadRacingWithStopNeverHangs() throws Exception {
+        // Given: loads that complete as soon as they are dispatched
+        pipeline = new PreloadPipeline(LOGGER, uuids -> CompletableFuture.completedFuture(Map.of()), 1, 8, 2);
+        pipeline.start();
+        List<CompletableFuture<PlayerData>> futures = new ArrayList<>();
+        CountDownLatch posting = new CountDownLatch(4);
+        List<Thread> posters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread poster = new Thread(() -> {
+                posting.countDown();
+                for (int i = 0; i < 2000; i++) {
+                    CompletableFuture<PlayerData> future = pipeline.load(UUID.randomUUID());
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            });
+            posters.add(poster);
+            poster.start();
+        }
+        
+        // When: stopped while loads are still arriving
+        assertTrue(posting.await(5, TimeUnit.SECONDS));
+        pipeline.stop();
+        for (Thread poster : posters) {
+            poster.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        
+        // Then: every load was either dispatched or rejected
+        synchronized (futures) {
+            assertEquals(8000, futures.size());
+            for (CompletableFuture<PlayerData> future : futures) {
+                assertTrue(future.isDone());
+                if (future.isCompletedExceptionally()) {
+                    ExecutionException thrown = assertThrows(ExecutionException.class, future::get);
+                    assertInstanceOf(RejectedExecutionException.class, thrown.getCause());
+                }
+            }
+        }
+        assertEquals(0, pipeline.getQueuedCount());
+    }
+    
+    private void start(long batchWindowMillis, int maxBatchSize, int maxConcurrentBatches) {
+        pipeline = new PreloadPipeline(LOGGER, uuids -> {
+            Load load = new Load(uuids, new CompletableFuture<>());
+            loads.add(load);
+            return load.result;
+        }, batchWindowMillis, maxBatchSize, maxConcurrentBatches);
+        pipeline.start();
+    }
+    
+    private Load nextLoad() throws InterruptedException {
+        Load load = loads.poll(5, TimeUnit.SECONDS);
+        assertNotNull(load, "no batch was dispatched");
+        return load;
+    }
+    
+    private record Load(Set<UUID> uuids, CompletableFuture<Map<UUID, PlayerData>> result) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.xenderz.xzcore.player;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * JDBC connection that records every executed statement with its parameters
+ * and answers queries from a function.
+ */
+final class RecordingConnection {
+    
+    private final List<Statement> executed = new ArrayList<>();
+    private final BiFunction<String, List<Object>, List<Object[]>> queries;
+    
+    /**
+     * @param queries rows for a query, given its SQL and parameters
+     */
+    RecordingConnection(BiFunction<String, List<Object>, List<Object[]>> queries) {
+        this.queries = queries;
+    }
+    
+    /**
+     * Statements executed so far, one per execution or batch entry.
+     */
+    List<Statement> executed() {
+        return executed;
+    }
+    
+    Connection connection() {
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement((String) args[0]);
+            case "getAutoCommit", "isClosed" -> false;
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+    
+    private PreparedStatement statement(String sql) {
+        Map<Integer, Object> params = new HashMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer index) {
+                params.put(index, args[1]);
+                return null;
+            }
+            return switch (name) {
+                case "executeUpdate", "addBatch" -> {
+                    executed.add(new Statement(sql, ordered(params)));
+                    yield name.equals("executeUpdate") ? 1 : null;
+                }
+                case "executeBatch" -> new int[0];
+                case "executeQuery" -> resultSet(queries.apply(sql, ordered(params)));
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+    
+    private static ResultSet resultSet(List<Object[]> rows) {
+        int[] row = {-1};
+        Object[] last = {null};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("next")) {
+                return ++row[0] < rows.size();
+            }
+            if (name.equals("wasNull")) {
+                return last[0] == null;
+            }
+            if (name.startsWith("get") && args != null && args.length == 1 && args[0] instanceof Integer column) {
+                Object value = rows.get(row[0])[column - 1];
+                last[0] = value;
+                if (value == null) {
+                    return defaultValue(method.getReturnType());
+                }
+                return switch (name) {
+                    case "getInt" -> ((Number) value).intValue();
+                    case "getLong" -> ((Number) value).longValue();
+                    default -> value;
+                };
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+    
+    private static List<Object> ordered(Map<Integer, Object> params) {
+        List<Object> values = new ArrayList<>(params.size());
+        for (int i = 1; i <= params.size(); i++) {
+            values.add(params.get(i));
+        }
+        return values;
+    }
+    
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(RecordingConnection.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+    
+    record Statement(String sql, List<Object> params) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.xenderz.xzcore.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightLoadsTest {
+    
+    private final UUID uuid = UUID.randomUUID();
+    private final List<CompletableFuture<PlayerData>> started = new ArrayList<>();
+    private final AtomicInteger adopted = new AtomicInteger();
+    private final SingleFlightLoads loads = new SingleFlightLoads(uuid -> {
+        CompletableFuture<PlayerData> load = new CompletableFuture<>();
+        synchronized (started) {
+            started.add(load);
+        }
+        return load;
+    });
+    
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        // Given
+        CompletableFuture<PlayerData> first = loads.load(uuid, this::adopt);
+        CompletableFuture<PlayerData> second = loads.load(uuid, this::adopt);
+        
+        // When
+        PlayerData data = new PlayerData(uuid, "steve");
+        started.get(0).complete(data);
+        
+        // Then: one database load, adopted once, same instance for both
+        assertEquals(1, started.size());
+        assertSame(first, second);
+        assertSame(data, second.get());
+        assertEquals(1, adopted.get());
+        assertNull(loads.get(uuid));
+    }
+    
+    @Test
+    void testThreadsRacingForSamePlayerShareOneLoad() throws Exception {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<PlayerData>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            CompletableFuture<CompletableFuture<PlayerData>> result = new CompletableFuture<>();
+            results.add(result);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    result.complete(loads.load(uuid, this::adopt));
+                } catch (InterruptedException e) {
+                    result.completeExceptionally(e);
+                }
+            }).start();
+        }
+        
+        start.countDown();
+        CompletableFuture<PlayerData> shared = results.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<CompletableFuture<PlayerData>> result : results) {
+            assertSame(shared, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, started.size());
+    }
+    
+    @Test
+    void testCallerDuringAdoptionJoinsTheLoad() throws Exception {
+        // Given: a caller that arrives while the loaded data is being adopted
+        List<CompletableFuture<PlayerData>> during = new ArrayList<>();
+        CompletableFuture<PlayerData> first = loads.load(uuid, data -> {
+            during.add(loads.load(uuid, this::adopt));
+            return adopt(data);
+        });
+        
+        // When
+        PlayerData data = new PlayerData(uuid, "steve");
+        started.get(0).complete(data);
+        
+        // Then: it shares the running load rather than starting a second one
+        assertEquals(1, started.size());
+        assertSame(first, during.get(0));
+        assertSame(data, during.get(0).get());
+        assertEquals(1, adopted.get());
+        assertNull(loads.get(uuid));
+    }
+    
+    @Test
+    void testCompletedLoadIsNotReused() {
+        loads.load(uuid, this::adopt);
+        started.get(0).complete(new PlayerData(uuid, "steve"));
+        
+        loads.load(uuid, this::adopt);
+        
+        assertEquals(2, started.size());
+    }
+    
+    @Test
+    void testMissingPlayerIsNotAdopted() throws Exception {
+        CompletableFuture<PlayerData> load = loads.load(uuid, this::adopt);
+        
+        started.get(0).complete(null);
+        
+        assertNull(load.get());
+        assertEquals(0, adopted.get());
+    }
+    
+    @Test
+    void testFailureReachesEveryCallerAndAllowsRetry() {
+        // Given
+        CompletableFuture<PlayerData> first = loads.load(uuid, this::adopt);
+        CompletableFuture<PlayerData> second = loads.load(uuid, this::adopt);
+        
+        // When
+        started.get(0).completeExceptionally(new SQLException("connection reset"));
+        
+        // Then
+        for (CompletableFuture<PlayerData> load : List.of(first, second)) {
+            ExecutionException error = assertThrows(ExecutionException.class, load::get);
+            assertInstanceOf(SQLException.class, error.getCause());
+        }
+        assertNull(loads.get(uuid));
+        loads.load(uuid, this::adopt);
+        assertEquals(2, started.size());
+    }
+    
+    @Test
+    void testLoaderThatThrowsFailsTheLoad() {
+        SingleFlightLoads failing = new SingleFlightLoads(uuid -> {
+            throw new IllegalStateException("Preload pipeline stopped");
+        });
+        
+        CompletableFuture<PlayerData> load = failing.load(uuid, this::adopt);
+        
+        ExecutionException error = assertThrows(ExecutionException.class, load::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, failing.size());
+    }
+    
+    private PlayerData adopt(PlayerData data) {
+        adopted.incrementAndGet();
+        return data;
+    }
+}
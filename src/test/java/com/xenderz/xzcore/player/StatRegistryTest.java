@@ -0,0 +1,179 @@
+package com.xenderz.xzcore.player;
+
+import com.xenderz.xzcore.database.SqlDialect;
+import com.xenderz.xzcore.database.Uuids;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatRegistryTest {
+    
+    private final StatRegistry registry = new StatRegistry();
+    
+    @Test
+    void testRegisteringAgainReturnsSameKey() {
+        LongStatKey kills = registry.registerLong("test:kills");
+        StatKey<Double> ratio = registry.registerDouble("test:ratio");
+        
+        assertSame(kills, registry.registerLong("test:kills"));
+        assertSame(ratio, registry.registerDouble("test:ratio"));
+        assertEquals(0, kills.getIndex());
+        assertEquals(1, ratio.getIndex());
+        assertEquals(2, registry.size());
+        assertSame(ratio, registry.get(1));
+        assertNull(registry.get(2));
+    }
+    
+    @Test
+    void testReregisteringWithAnotherTypeFails() {
+        registry.registerLong("test:kills");
+        registry.registerInt("test:deaths");
+        
+        assertThrows(IllegalArgumentException.class, () -> registry.registerInt("test:kills"));
+        assertThrows(IllegalArgumentException.class, () -> registry.registerDouble("test:kills"));
+        // Same value type, but only registerLong returns the allocation-free key
+        assertThrows(IllegalArgumentException.class, () -> registry.registerLong("test:deaths"));
+        assertThrows(IllegalArgumentException.class, () -> registry.registerBoolean("test:deaths"));
+        assertEquals(2, registry.size());
+    }
+    
+    @Test
+    void testInvalidNamesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> registry.registerLong(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.registerLong(" "));
+        assertThrows(IllegalArgumentException.class, () -> registry.registerLong("x".repeat(StatRegistry.MAX_NAME_LENGTH + 1)));
+        assertEquals(0, registry.size());
+    }
+    
+    @Test
+    void testStatChangedDuringSaveStaysDirty() {
+        // Given
+        LongStatKey kills = registry.registerLong("test:kills");
+        PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+        data.addStat(kills, 1);
+        PlayerSnapshot snapshot = data.snapshot();
+        
+        // When: the stat changes while the snapshot is being written
+        data.addStat(kills, 1);
+        data.markPersisted(snapshot);
+        
+        // Then: the next save carries the new value
+        assertTrue(data.isDirty());
+        assertEquals(List.of(new PlayerSnapshot.StatChange(0, 2)), data.snapshot().statChanges());
+    }
+    
+    @Test
+    void testStatSavedUnchangedIsClean() {
+        LongStatKey kills = registry.registerLong("test:kills");
+        StatKey<Boolean> flag = registry.registerBoolean("test:flag");
+        PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+        data.addStat(kills, 3);
+        data.setStat(flag, true);
+        
+        data.markPersisted(data.snapshot());
+        
+        assertFalse(data.isDirty());
+        assertEquals(List.of(), data.snapshot().statChanges());
+    }
+    
+    @Test
+    void testMarkDirtySkipsZeroStats() {
+        // Given: both stats share a page, one of them is zero
+        LongStatKey kills = registry.registerLong("test:kills");
+        LongStatKey deaths = registry.registerLong("test:deaths");
+        PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+        data.setStat(kills, 5);
+        data.setStat(deaths, 0);
+        data.markClean();
+        
+        // When
+        data.markDirty();
+        
+        // Then
+        assertEquals(List.of(new PlayerSnapshot.StatChange(kills.getIndex(), 5)), data.snapshot().statChanges());
+    }
+    
+    @Test
+    void testStatKeysAreReservedInMetadata() {
+        PlayerData data = new PlayerData(UUID.randomUUID(), "steve");
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> data.setMetadata(StatRegistry.KEY_PREFIX + "test:kills", 1L));
+    }
+    
+    @Test
+    void testStatsRoundTripThroughMetadata() throws SQLException {
+        // Given: stats saved under "stat:" metadata keys
+        LongStatKey kills = registry.registerLong("test:kills");
+        StatKey<Double> ratio = registry.registerDouble("test:ratio");
+        PlayerData saved = new PlayerData(UUID.randomUUID(), "steve");
+        saved.addStat(kills, 42);
+        saved.setStat(ratio, 1.5);
+        List<Object[]> metadataRows = save(saved);
+        
+        // When: loaded by a server where only one of the stats is registered yet
+        StatRegistry loadingRegistry = new StatRegistry();
+        LongStatKey loadedKills = loadingRegistry.registerLong("test:kills");
+        PlayerData loaded = load(loadingRegistry, saved, metadataRows);
+        
+        // Then
+        assertEquals(42, loaded.getStat(loadedKills));
+        assertEquals(1.5, loaded.getStat(loadingRegistry.registerDouble("test:ratio")), 0.0);
+        assertFalse(loaded.isDirty());
+    }
+    
+    /**
+     * Save the player's stats and return the metadata rows as the load query
+     * returns them: uuid, key id, key name, value.
+     */
+    private List<Object[]> save(PlayerData data) throws SQLException {
+        PlayerDataRepository repository = new PlayerDataRepository(SqlDialect.SQLITE, registry);
+        List<PlayerSnapshot> snapshots = List.of(data.snapshot());
+        Set<String> keys = repository.unresolvedMetadataKeys(snapshots);
+        assertEquals(Set.of("stat:test:kills", "stat:test:ratio"), keys);
+        
+        Map<Integer, String> names = new HashMap<>();
+        Map<String, Integer> ids = new HashMap<>();
+        for (String key : keys) {
+            ids.put(key, ids.size() + 1);
+            names.put(ids.get(key), key);
+        }
+        repository.cacheMetadataKeyIds(ids);
+        
+        RecordingConnection conn = new RecordingConnection((sql, params) -> List.of());
+        repository.saveBatch(conn.connection(), snapshots);
+        
+        List<Object[]> rows = new ArrayList<>();
+        for (RecordingConnection.Statement statement : conn.executed()) {
+            if (!statement.sql().startsWith("INSERT INTO xzcore_player_metadata")) {
+                continue;
+            }
+            List<Object> params = statement.params();
+            for (int i = 0; i < params.size(); i += 3) {
+                int keyId = (Integer) params.get(i + 1);
+                rows.add(new Object[] {params.get(i), keyId, names.get(keyId), params.get(i + 2)});
+            }
+        }
+        return rows;
+    }
+    
+    private static PlayerData load(StatRegistry stats, PlayerData player, List<Object[]> metadataRows) throws SQLException {
+        Object[] playerRow = {Uuids.toBytes(player.getUuid()), player.getUsername(), 0L, 0L, 0L, null, null};
+        RecordingConnection conn = new RecordingConnection((sql, params) ->
+            sql.contains("xzcore_player_metadata") ? metadataRows : List.<Object[]>of(playerRow));
+        return new PlayerDataRepository(SqlDialect.SQLITE, stats).load(conn.connection(), player.getUuid());
+    }
+}
@@ -0,0 +1,125 @@
+package com.xenderz.xzcore.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTest {
+    
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new MpscRingBuffer<>(8).capacity());
+        assertEquals(128, new MpscRingBuffer<>(100).capacity());
+        assertEquals(4, new MpscRingBuffer<>(1).capacity());
+    }
+    
+    @Test
+    void testEmptyPollReturnsNull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+    
+    @Test
+    void testRejectsOfferWhenFull() {
+        // Given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        
+        // When / Then
+        assertFalse(buffer.offer(8));
+        assertEquals(8, buffer.size());
+        
+        // A freed slot can be reused
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(8));
+        assertFalse(buffer.offer(9));
+    }
+    
+    @Test
+    void testWraparoundWhenFullKeepsFifoOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        int next = 0;
+        int expected = 0;
+        
+        // Fill to capacity and drain part of it, many laps around the ring
+        for (int lap = 0; lap < 100; lap++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            assertEquals(8, buffer.size());
+            
+            for (int i = 0; i < 3 + lap % 5; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            assertEquals(expected++, element);
+        }
+        assertEquals(next, expected);
+        assertEquals(0, buffer.size());
+    }
+    
+    @Test
+    void testConcurrentProducersKeepPerProducerOrder() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        
+        // When
+        start.countDown();
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // Then
+            assertEquals(nextExpected[(int) element[0]]++, element[1]);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertNull(buffer.poll());
+        for (long count : nextExpected) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.xenderz.xzcore.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickJobTest {
+    
+    @Test
+    void testHigherPriorityRunsFirstThenOldest() {
+        // Given
+        TickJob lowOld = job("low-old", TickWorkScheduler.Priority.LOW, 0);
+        TickJob normal = job("normal", TickWorkScheduler.Priority.NORMAL, 1);
+        TickJob high = job("high", TickWorkScheduler.Priority.HIGH, 2);
+        TickJob lowNew = job("low-new", TickWorkScheduler.Priority.LOW, 3);
+        List<TickJob> jobs = new ArrayList<>(List.of(lowNew, high, lowOld, normal));
+        
+        // When
+        jobs.sort(TickWorkScheduler.ORDER);
+        
+        // Then
+        assertEquals(List.of(high, normal, lowOld, lowNew), jobs);
+    }
+    
+    @Test
+    void testSliceStopsAtDeadlineAndResumes() {
+        // Given: steps of about 1ms, 5 in total
+        AtomicInteger remaining = new AtomicInteger(5);
+        TickJob job = new TickJob("slow", TickWorkScheduler.Priority.NORMAL, () -> {
+            sleep(1);
+            return remaining.decrementAndGet() > 0;
+        }, 5, 0);
+        
+        // When: a budget that only fits part of the work
+        boolean more = job.runSlice(System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(1500));
+        
+        // Then
+        assertTrue(more);
+        assertTrue(job.getCompleted() >= 1 && job.getCompleted() < 5, "completed " + job.getCompleted());
+        assertEquals(1, job.getTicks());
+        assertFalse(job.isDone());
+        
+        // When: later ticks finish the job
+        while (job.runSlice(System.nanoTime() + TimeUnit.SECONDS.toNanos(1))) {
+        }
+        
+        // Then
+        assertEquals(5, job.getCompleted());
+        assertTrue(job.isDone());
+        assertFalse(job.getCompletion().isCompletedExceptionally());
+    }
+    
+    @Test
+    void testStepAlwaysRunsOnceEvenPastDeadline() {
+        AtomicInteger runs = new AtomicInteger();
+        TickJob job = new TickJob("late", TickWorkScheduler.Priority.NORMAL, () -> runs.incrementAndGet() < 3, -1, 0);
+        
+        assertTrue(job.runSlice(System.nanoTime() - 1));
+        
+        assertEquals(1, runs.get());
+    }
+    
+    @Test
+    void testCancelledJobRunsNoMoreSteps() {
+        AtomicInteger runs = new AtomicInteger();
+        TickJob job = new TickJob("cancelled", TickWorkScheduler.Priority.NORMAL, () -> {
+            runs.incrementAndGet();
+            return true;
+        }, -1, 0);
+        job.runSlice(System.nanoTime() - 1);
+        
+        job.cancel();
+        
+        assertFalse(job.runSlice(System.nanoTime() + TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(1, runs.get());
+        assertTrue(job.getCompletion().isCompletedExceptionally());
+    }
+    
+    private static TickJob job(String name, TickWorkScheduler.Priority priority, long sequence) {
+        return new TickJob(name, priority, () -> false, -1, sequence);
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}